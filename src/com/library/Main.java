@@ -3,25 +3,30 @@ package com.library;
 import com.library.enums.*;
 import com.library.model.*;
 import com.library.gui.LendifyGUI;
+import com.library.search.SearchCache;
 
 import java.text.SimpleDateFormat;
 import java.util.*;
 import java.util.concurrent.TimeUnit; // sistem login
+import java.util.function.Function;
 import javax.swing.SwingUtilities;
 import javax.swing.UIManager;
 
 public class Main {
     private static Scanner scanner = new Scanner(System.in);
     private static SimpleDateFormat dateFormat = new SimpleDateFormat("dd-MM-yyyy");
+    private static final int RESULT_PAGE_SIZE = 10;
+    private static final int RANKED_RESULT_LIMIT = 20;
     
     // objek global
     private static Library library;
     private static Librarian currentLibrarian;
     private static List<Member> members = new ArrayList<>();
     private static Map<String, BookCategory> categories = new HashMap<>();
-    private static Map<String, Book> books = new HashMap<>();
     private static Map<String, BookItem> bookItems = new HashMap<>();
-    private static Map<String, BookLoan> loans = new HashMap<>();
+    private static LoanRepository loanRepository = new LoanRepository();
+    private static OverdueSweeper overdueSweeper = new OverdueSweeper(loanRepository);
+    private static ReservationExpiryEngine reservationExpiryEngine = new ReservationExpiryEngine();
     private static Map<String, Reservation> reservations = new HashMap<>();
     
     // akses sistem
@@ -86,23 +91,17 @@ public class Main {
                         gui.getCategories().put(category.getName(), category);
                     }
                     
-                    for (Book book : books.values()) {
-                        gui.getBooks().put(book.getISBN(), book);
-                    }
-                    
                     for (BookItem item : bookItems.values()) {
                         gui.getBookItems().put(item.getBarcode(), item);
                     }
                     
-                    for (BookLoan loan : loans.values()) {
-                        gui.getLoans().put(loan.getLoanId(), loan);
-                    }
-                    
                     for (Reservation reservation : reservations.values()) {
                         gui.getReservations().put(reservation.getReservationId(), reservation);
                     }
                     
-                    gui.getMembers().addAll(members);
+                    for (Member member : members) {
+                        gui.addMember(member);
+                    }
                     
                     // refresh data pada semua panel
                     gui.showMainPanel();
@@ -125,8 +124,17 @@ public class Main {
      * menjalankan aplikasi dalam mode Terminal
      */
     private static void runTerminalMode() {
+        overdueSweeper.addListener(loan -> System.out.println("[Pemberitahuan] Peminjaman " + loan.getLoanId() +
+                " (" + loan.getBookItem().getBook().getTitle() + ") telah melewati jatuh tempo."));
+        reservationExpiryEngine.addListener(reservation -> System.out.println("[Pemberitahuan] Reservasi " +
+                reservation.getReservationId() + " (" + reservation.getBook().getTitle() + ") oleh " +
+                reservation.getMember().getName() + " telah kedaluwarsa."));
+        
         boolean exit = false;
         while (!exit) {
+            // perbarui peminjaman dan reservasi yang lewat batas waktu sejak menu terakhir
+            overdueSweeper.sweep();
+            reservationExpiryEngine.expireDue();
             displayMainMenu();
             int choice = getIntInput("Pilih menu: ");
             
@@ -713,7 +721,7 @@ public class Main {
                         book.getTitle(), 
                         book.getAuthor(), 
                         book.getISBN(), 
-                        book.getAvailableItems().size());
+                        book.getAvailableCount());
             }
         }
     }
@@ -729,6 +737,11 @@ public class Main {
         try {
             System.out.print("ISBN: ");
             String isbn = scanner.nextLine();
+            Book existing = library.findBookByIsbn(isbn);
+            if (existing != null) {
+                System.out.println("Buku dengan ISBN tersebut sudah ada: " + existing.getTitle());
+                return;
+            }
             System.out.print("Judul: ");
             String title = scanner.nextLine();
             System.out.print("Pengarang: ");
@@ -804,7 +817,6 @@ public class Main {
             
             Book book = new Book(isbn, title, author, publisher, year, description, pages, format, language);
             library.addBook(book);
-            books.put(isbn, book);
             
             System.out.println("Buku berhasil ditambahkan: " + book.getTitle());
             
@@ -1062,7 +1074,7 @@ public class Main {
         if (items.isEmpty()) {
             System.out.println("\nBuku ini belum memiliki salinan.");
         } else {
-            System.out.println("\nSalinan Buku (" + items.size() + " total, " + book.getAvailableItems().size() + " tersedia):");
+            System.out.println("\nSalinan Buku (" + items.size() + " total, " + book.getAvailableCount() + " tersedia):");
             for (int i = 0; i < items.size(); i++) {
                 BookItem item = items.get(i);
                 System.out.printf("%d. Barcode: %s - Status: %s - %s%n", 
@@ -1100,7 +1112,6 @@ public class Main {
         
         if (confirm.equals("y")) {
             library.getCollection().removeBook(book);
-            books.remove(book.getISBN());
             System.out.println("Buku berhasil dihapus.");
         } else {
             System.out.println("Penghapusan dibatalkan.");
@@ -1218,6 +1229,8 @@ public class Main {
                 
                 StudentMember studentMember = new StudentMember(member, studentId, faculty, department, yearOfStudy);
                 members.add(studentMember);
+                loanRepository.addMember(studentMember);
+                reservationExpiryEngine.addMember(studentMember);
                 
                 System.out.println("Anggota mahasiswa berhasil ditambahkan: " + studentMember.getName());
             } else {
@@ -1232,6 +1245,8 @@ public class Main {
                 
                 RegularMember regularMember = new RegularMember(member, occupation, employerName, isPremium);
                 members.add(regularMember);
+                loanRepository.addMember(regularMember);
+                reservationExpiryEngine.addMember(regularMember);
                 
                 System.out.println("Anggota reguler berhasil ditambahkan: " + regularMember.getName());
             }
@@ -1400,12 +1415,7 @@ public class Main {
         System.out.println("Total Denda yang Dibayar: Rp" + String.format("%.2f", member.getTotalFinesPaid()));
         
         // tampilkan peminjaman aktif
-        List<BookLoan> activeLoans = new ArrayList<>();
-        for (BookLoan loan : member.getBookLoans()) {
-            if (loan.getStatus() == LoanStatus.ACTIVE || loan.getStatus() == LoanStatus.OVERDUE) {
-                activeLoans.add(loan);
-            }
-        }
+        List<BookLoan> activeLoans = member.getActiveLoans();
         
         if (activeLoans.isEmpty()) {
             System.out.println("\nTidak ada peminjaman aktif.");
@@ -1616,8 +1626,12 @@ public class Main {
         
         Book book = bookList.get(bookIndex - 1);
         
-        // milih salinan buku
-        List<BookItem> availableItems = book.getAvailableItems();
+        // milih salinan buku (termasuk salinan di rak ambil yang disimpan untuk anggota ini)
+        List<BookItem> availableItems = new ArrayList<>(book.getAvailableItems());
+        BookItem heldItem = book.getHeldItemFor(member);
+        if (heldItem != null) {
+            availableItems.add(0, heldItem);
+        }
         if (availableItems.isEmpty()) {
             System.out.println("Tidak ada salinan buku yang tersedia untuk dipinjam.");
             return;
@@ -1629,7 +1643,7 @@ public class Main {
             System.out.printf("%d. Barcode: %s - %s%n", 
                     i + 1, 
                     item.getBarcode(), 
-                    item.isReferenceOnly() ? "Hanya Referensi" : "Dapat Dipinjam");
+                    item == heldItem ? "Disimpan untuk Reservasi" : item.isReferenceOnly() ? "Hanya Referensi" : "Dapat Dipinjam");
         }
         
         int itemIndex = getIntInput("Pilih nomor salinan buku yang akan dipinjam (0 untuk batal): ");
@@ -1642,7 +1656,7 @@ public class Main {
         
         try {
             BookLoan loan = currentLibrarian.issueBook(member, bookItem);
-            loans.put(loan.getLoanId(), loan);
+            loanRepository.add(loan);
             System.out.println("Buku berhasil dipinjamkan:");
             System.out.println("ID Peminjaman: " + loan.getLoanId());
             System.out.println("Buku: " + book.getTitle());
@@ -1658,7 +1672,7 @@ public class Main {
         // tampilkan daftar peminjaman aktif
         viewActiveLoans();
         
-        if (loans.isEmpty()) {
+        if (loanRepository.getOpenLoanCount() == 0) {
             System.out.println("Tidak ada peminjaman yang aktif.");
             return;
         }
@@ -1669,7 +1683,7 @@ public class Main {
             return;
         }
         
-        BookLoan loan = loans.get(loanId);
+        BookLoan loan = loanRepository.findByLoanId(loanId);
         if (loan == null) {
             System.out.println("ID peminjaman tidak valid.");
             return;
@@ -1703,17 +1717,7 @@ public class Main {
     }
     
     private static void viewActiveLoans() {
-        List<BookLoan> activeLoans = new ArrayList<>();
-        
-        // kumpulkan semua peminjaman aktif dari semua anggota
-        for (Member member : members) {
-            for (BookLoan loan : member.getBookLoans()) {
-                if (loan.getStatus() == LoanStatus.ACTIVE || loan.getStatus() == LoanStatus.OVERDUE) {
-                    activeLoans.add(loan);
-                    loans.put(loan.getLoanId(), loan); // pastikan ada di map loans
-                }
-            }
-        }
+        List<BookLoan> activeLoans = loanRepository.getOpenLoans();
         
         if (activeLoans.isEmpty()) {
             System.out.println("Tidak ada peminjaman aktif.");
@@ -1733,12 +1737,7 @@ public class Main {
     }
     
     private static void viewLoanHistory() {
-        List<BookLoan> allLoans = new ArrayList<>();
-        
-        // kumpulkan semua peminjaman dari semua anggota
-        for (Member member : members) {
-            allLoans.addAll(member.getBookLoans());
-        }
+        List<BookLoan> allLoans = loanRepository.getLoans();
         
         if (allLoans.isEmpty()) {
             System.out.println("Tidak ada riwayat peminjaman.");
@@ -1766,7 +1765,7 @@ public class Main {
         // tampilkan daftar peminjaman aktif
         viewActiveLoans();
         
-        if (loans.isEmpty()) {
+        if (loanRepository.getOpenLoanCount() == 0) {
             System.out.println("Tidak ada peminjaman yang aktif.");
             return;
         }
@@ -1777,7 +1776,7 @@ public class Main {
             return;
         }
         
-        BookLoan loan = loans.get(loanId);
+        BookLoan loan = loanRepository.findByLoanId(loanId);
         if (loan == null) {
             System.out.println("ID peminjaman tidak valid.");
             return;
@@ -1873,7 +1872,7 @@ public class Main {
         Book book = bookList.get(bookIndex - 1);
         
         // cek ketersediaan buku
-        if (!book.getAvailableItems().isEmpty()) {
+        if (book.hasAvailableItems()) {
             System.out.println("Buku ini sudah tersedia. Reservasi tidak diperlukan.");
             return;
         }
@@ -1954,8 +1953,9 @@ public class Main {
         
         Reservation reservation = pendingReservations.get(index - 1);
         
+        // salinan yang disimpan di rak ambil untuk anggota ini tidak terhitung tersedia
         Book book = reservation.getBook();
-        if (book.getAvailableItems().isEmpty()) {
+        if (!book.hasAvailableItems() && book.getHeldItemFor(reservation.getMember()) == null) {
             System.out.println("Tidak ada salinan buku yang tersedia untuk reservasi ini.");
             System.out.println("Reservasi tidak dapat diproses saat ini.");
             return;
@@ -2015,20 +2015,30 @@ public class Main {
         System.out.println("1. Cari berdasarkan Judul");
         System.out.println("2. Cari berdasarkan Pengarang");
         System.out.println("3. Cari berdasarkan Kategori");
+        System.out.println("4. Cari berdasarkan Relevansi (judul, pengarang, deskripsi)");
+        System.out.println("5. Cari dengan query terstruktur");
         System.out.println("0. Kembali ke Menu Utama");
         
         int choice = getIntInput("Pilih metode pencarian: ");
         
         switch (choice) {
             case 1:
-                searchByTitle();
+                searchByQuery(getStringInput("Masukkan judul buku atau kata kunci: "), "title");
                 break;
             case 2:
-                searchByAuthor();
+                searchByQuery(getStringInput("Masukkan nama pengarang atau kata kunci: "), "author");
                 break;
             case 3:
                 searchByCategory();
                 break;
+            case 4:
+                searchByRelevance();
+                break;
+            case 5:
+                System.out.println("Contoh: author:pramoedya year:1980..1995 lang:INDONESIAN format:PAPERBACK \"bumi manusia\"");
+                System.out.println("Field: title, author, publisher, isbn, year, lang, format, category");
+                searchByQuery(getStringInput("Masukkan query: "), null);
+                break;
             case 0:
                 return;
             default:
@@ -2036,17 +2046,50 @@ public class Main {
         }
     }
     
-    private static void searchByTitle() {
-        String title = getStringInput("Masukkan judul buku atau kata kunci: ");
+    /**
+     * @param query teks query
+     * @param defaultField field yang dicari sebagai satu frasa, null berarti query terstruktur
+     */
+    private static void searchByQuery(String query, String defaultField) {
+        SearchPage firstPage;
+        try {
+            firstPage = library.query(query, defaultField, RESULT_PAGE_SIZE, null);
+        } catch (IllegalArgumentException e) {
+            System.out.println("Query tidak valid: " + e.getMessage());
+            return;
+        }
+        
+        if (firstPage.getBooks().isEmpty() && defaultField != null) {
+            // tidak ada hasil persis, coba pencarian yang toleran salah ketik
+            List<Book> results = new ArrayList<>();
+            String suggestion = null;
+            if ("title".equals(defaultField)) {
+                suggestion = library.didYouMeanTitle(query);
+                results = library.fuzzySearchByTitle(query);
+            } else if ("author".equals(defaultField)) {
+                // varian ejaan nama (Soekarno/Sukarno) dicoba sebelum pencarian mirip
+                results = library.phoneticSearchByAuthor(query);
+                if (results.isEmpty()) {
+                    suggestion = library.didYouMeanAuthor(query);
+                    results = library.fuzzySearchByAuthor(query);
+                }
+            }
+            if (suggestion != null && !results.isEmpty()) {
+                System.out.println("Tidak ada hasil persis. Apakah maksud Anda: \"" + suggestion + "\"?");
+            }
+            displaySearchResults(results);
+            return;
+        }
         
-        List<Book> results = library.searchByTitle(title);
-        displaySearchResults(results);
+        // halaman berikutnya baru dihitung jika pengguna memintanya
+        displaySearchResults(cursor -> cursor == null ? firstPage
+                : library.query(query, defaultField, RESULT_PAGE_SIZE, cursor));
     }
     
-    private static void searchByAuthor() {
-        String author = getStringInput("Masukkan nama pengarang atau kata kunci: ");
+    private static void searchByRelevance() {
+        String keyword = getStringInput("Masukkan kata kunci: ");
         
-        List<Book> results = library.searchByAuthor(author);
+        List<Book> results = library.searchRanked(keyword, RANKED_RESULT_LIMIT);
         displaySearchResults(results);
     }
     
@@ -2066,24 +2109,48 @@ public class Main {
         
         BookCategory category = categoryList.get(index - 1);
         
-        List<Book> results = library.searchByCategory(category);
-        displaySearchResults(results);
+        searchByQuery(category.getName(), "category");
     }
     
     private static void displaySearchResults(List<Book> results) {
-        if (results.isEmpty()) {
+        displaySearchResults(cursor -> SearchPage.of(results, RESULT_PAGE_SIZE, cursor));
+    }
+    
+    /**
+     * Tampilkan hasil pencarian per halaman
+     *
+     * @param pages pengambil halaman berdasarkan cursor (null untuk halaman pertama)
+     */
+    private static void displaySearchResults(Function<String, SearchPage> pages) {
+        SearchPage page = pages.apply(null);
+        List<Book> results = new ArrayList<>();
+        
+        if (page.getBooks().isEmpty()) {
             System.out.println("Tidak ditemukan buku yang sesuai dengan kriteria pencarian.");
         } else {
-            System.out.println("\nHasil Pencarian (" + results.size() + " buku ditemukan):");
-            for (int i = 0; i < results.size(); i++) {
-                Book book = results.get(i);
-                System.out.printf("%d. %s oleh %s (%s) - %d salinan tersedia%n", 
-                        i + 1, 
-                        book.getTitle(), 
-                        book.getAuthor(), 
-                        book.getISBN(), 
-                        book.getAvailableItems().size());
+            System.out.println("\nHasil Pencarian:");
+            while (true) {
+                for (Book book : page.getBooks()) {
+                    results.add(book);
+                    System.out.printf("%d. %s oleh %s (%s) - %d salinan tersedia%n", 
+                            results.size(), 
+                            book.getTitle(), 
+                            book.getAuthor(), 
+                            book.getISBN(), 
+                            book.getAvailableCount());
+                }
+                if (!page.hasMore()) {
+                    break;
+                }
+                
+                System.out.print("Tampilkan halaman berikutnya? (y/n): ");
+                if (!scanner.nextLine().trim().equalsIgnoreCase("y")) {
+                    break;
+                }
+                page = pages.apply(page.getNextCursor());
             }
+            System.out.println("(" + results.size() + " buku ditampilkan" +
+                    (page.hasMore() ? ", masih ada hasil lain)" : ")"));
             
             System.out.print("Apakah ingin melihat detail buku? (y/n): ");
             String viewDetail = scanner.nextLine().trim().toLowerCase();
@@ -2109,7 +2176,7 @@ public class Main {
                     if (items.isEmpty()) {
                         System.out.println("\nBuku ini belum memiliki salinan.");
                     } else {
-                        System.out.println("\nSalinan Buku (" + items.size() + " total, " + book.getAvailableItems().size() + " tersedia):");
+                        System.out.println("\nSalinan Buku (" + items.size() + " total, " + book.getAvailableCount() + " tersedia):");
                         for (int i = 0; i < items.size(); i++) {
                             BookItem item = items.get(i);
                             System.out.printf("%d. Barcode: %s - Status: %s - %s%n", 
@@ -2134,15 +2201,7 @@ public class Main {
         System.out.println("Jumlah Anggota: " + members.size());
         
         // Hitung jumlah peminjaman aktif
-        int activeLoans = 0;
-        for (Member member : members) {
-            for (BookLoan loan : member.getBookLoans()) {
-                if (loan.getStatus() == LoanStatus.ACTIVE || loan.getStatus() == LoanStatus.OVERDUE) {
-                    activeLoans++;
-                }
-            }
-        }
-        System.out.println("Jumlah Peminjaman Aktif: " + activeLoans);
+        System.out.println("Jumlah Peminjaman Aktif: " + loanRepository.getOpenLoanCount());
         
         // Hitung jumlah reservasi pending
         int pendingReservations = 0;
@@ -2161,6 +2220,19 @@ public class Main {
             totalFines += member.getTotalFinesPaid();
         }
         System.out.println("Total Denda yang Terkumpul: Rp" + String.format("%.2f", totalFines));
+        
+        // denda semua peminjaman per hari ini, dihitung sekaligus
+        FineReport fineReport = new FineBatchEngine(loanRepository).compute(EpochDays.today());
+        System.out.println("Total Denda per " + dateFormat.format(EpochDays.toDate(fineReport.getAsOfDay())) +
+                ": Rp" + String.format("%.2f", fineReport.getTotalFines()) +
+                " (" + fineReport.getMemberTotals().size() + " anggota)");
+        for (Map.Entry<BookCategory, Double> entry : fineReport.getCategoryTotals().entrySet()) {
+            System.out.println("  - " + entry.getKey().getName() + ": Rp" + String.format("%.2f", entry.getValue()));
+        }
+        SearchCache<int[]> searchCache = library.getCollection().getSearchCache();
+        System.out.println("Cache Pencarian: " + searchCache.getHitCount() + " hit, " +
+                searchCache.getMissCount() + " miss (hit rate " +
+                String.format("%.1f%%", searchCache.getHitRate() * 100) + ")");
     }
     
     private static void runDemoMode() {
@@ -2176,12 +2248,12 @@ public class Main {
         
         try {
             // bersihkan data yang ada
-            library.getCollection().getBooks().clear();
-            library.getCollection().getCategories().clear();
+            library.getCollection().clear();
             members.clear();
-            books.clear();
             bookItems.clear();
-            loans.clear();
+            loanRepository.clear();
+            overdueSweeper.clear();
+            reservationExpiryEngine.clear();
             reservations.clear();
             
             // buat kategori
@@ -2294,8 +2366,10 @@ public class Main {
                                         book11, book12, book13, book14, book15, book16, book17, book18, book19, book20);
             
             for (Book book : allBooks) {
-                library.addBook(book);
-                books.put(book.getISBN(), book);
+                // ISBN yang sudah terdaftar (ISBN-10 atau ISBN-13) tidak diimpor ulang
+                if (library.findBookByIsbn(book.getISBN()) == null) {
+                    library.addBook(book);
+                }
             }
             
             // kategorikan buku
@@ -2421,6 +2495,8 @@ public class Main {
                     );
                     memberList.add(regularMember);
                     members.add(regularMember);
+                    loanRepository.addMember(regularMember);
+                    reservationExpiryEngine.addMember(regularMember);
                 } else { // 5 anggota mahasiswa
                     StudentMember studentMember = new StudentMember(
                         member,
@@ -2431,6 +2507,8 @@ public class Main {
                     );
                     memberList.add(studentMember);
                     members.add(studentMember);
+                    loanRepository.addMember(studentMember);
+                    reservationExpiryEngine.addMember(studentMember);
                 }
             }
             
@@ -2457,26 +2535,22 @@ public class Main {
                         try {
                             BookLoan loan = currentLibrarian.issueBook(member, availableCopy);
                             loanList.add(loan);
-                            loans.put(loan.getLoanId(), loan);
+                            loanRepository.add(loan);
                             
                             // 10% peminjaman sudah jatuh tempo (overdue)
                             if (Math.random() < 0.1) {
                                 // gunakan reflection untuk memodifikasi tanggal peminjaman menjadi lebih lama
-                                Calendar pastCalendar = Calendar.getInstance();
-                                pastCalendar.add(Calendar.DAY_OF_MONTH, -45); // 45 hari yang lalu
+                                int pastDay = EpochDays.today() - 45; // 45 hari yang lalu
                                 
                                 try {
-                                    java.lang.reflect.Field issueDateField = BookLoan.class.getDeclaredField("issueDate");
-                                    issueDateField.setAccessible(true);
-                                    issueDateField.set(loan, pastCalendar.getTime());
-                                    
-                                    java.lang.reflect.Field dueDateField = BookLoan.class.getDeclaredField("dueDate");
-                                    dueDateField.setAccessible(true);
+                                    java.lang.reflect.Field issueDayField = BookLoan.class.getDeclaredField("issueDay");
+                                    issueDayField.setAccessible(true);
+                                    issueDayField.setInt(loan, pastDay);
                                     
-                                    Calendar dueDateCalendar = Calendar.getInstance();
-                                    dueDateCalendar.setTime(pastCalendar.getTime());
-                                    dueDateCalendar.add(Calendar.DAY_OF_MONTH, member.getMaxLoanDays());
-                                    dueDateField.set(loan, dueDateCalendar.getTime());
+                                    java.lang.reflect.Field dueDayField = BookLoan.class.getDeclaredField("dueDay");
+                                    dueDayField.setAccessible(true);
+                                    dueDayField.setInt(loan, pastDay + member.getMaxLoanDays());
+                                    loanRepository.refreshDueDate(loan);
                                 } catch (Exception e) {
                                     System.out.println("Tidak dapat memodifikasi tanggal: " + e.getMessage());
                                 }
@@ -2512,7 +2586,7 @@ public class Main {
                     
                     // pilih buku secara acak yang semua salinannya sedang dipinjam
                     for (Book book : allBooks) {
-                        if (book.getAvailableItems().isEmpty() && !book.getItems().isEmpty()) {
+                        if (!book.hasAvailableItems() && !book.getItems().isEmpty()) {
                             try {
                                 Reservation reservation = member.reserveBook(book);
                                 reservations.put(reservation.getReservationId(), reservation);
@@ -2529,7 +2603,7 @@ public class Main {
             System.out.println("- " + allBooks.size() + " buku dengan " + bookItems.size() + " salinan");
             System.out.println("- " + categories.size() + " kategori");
             System.out.println("- " + members.size() + " anggota");
-            System.out.println("- " + loans.size() + " peminjaman");
+            System.out.println("- " + loanRepository.size() + " peminjaman");
             System.out.println("- " + reservations.size() + " reservasi");
         } catch (Exception e) {
             System.out.println("Terjadi kesalahan saat menjalankan demo: " + e.getMessage());
@@ -0,0 +1,14 @@
+package com.library.enums;
+
+public enum BookField {
+    ISBN,
+    TITLE,
+    AUTHOR,
+    PUBLISHER,
+    PUBLICATION_YEAR,
+    DESCRIPTION,
+    NUMBER_OF_PAGES,
+    FORMAT,
+    LANGUAGE,
+    ITEMS
+}
\ No newline at end of file
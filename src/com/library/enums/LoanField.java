@@ -0,0 +1,7 @@
+package com.library.enums;
+
+public enum LoanField {
+    STATUS,
+    DUE_DATE,
+    FINE
+}
\ No newline at end of file
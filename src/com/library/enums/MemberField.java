@@ -0,0 +1,10 @@
+package com.library.enums;
+
+public enum MemberField {
+    NAME,
+    EMAIL,
+    PHONE_NUMBER,
+    ACTIVE,
+    LOANS,
+    RESERVATIONS
+}
\ No newline at end of file
@@ -0,0 +1,6 @@
+package com.library.enums;
+
+public enum ReservationField {
+    STATUS,
+    HOLD_DATE
+}
\ No newline at end of file
@@ -5,17 +5,21 @@ import com.library.enums.Language;
 import com.library.enums.LibrarianPermission;
 import com.library.gui.utils.DialogUtils;
 import com.library.gui.utils.GUIUtils;
+import com.library.gui.utils.SearchWorker;
 import com.library.gui.utils.TableModels.BookTableModel;
 import com.library.gui.utils.TableModels.BookItemTableModel;
 import com.library.model.Book;
 import com.library.model.BookCategory;
 import com.library.model.BookItem;
+import com.library.model.LibraryCollection;
+import com.library.model.SearchPage;
 
 import javax.swing.*;
 import javax.swing.table.TableRowSorter;
 import java.awt.*;
 import java.awt.event.*;
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
 
 
@@ -25,6 +29,7 @@ import java.util.List;
 
 public class BookPanel extends JPanel {
     private static final long serialVersionUID = 1L;
+    private static final int PAGE_SIZE = 100;
     private LendifyGUI mainWindow;
     
     // Panel untuk daftar buku
@@ -32,6 +37,8 @@ public class BookPanel extends JPanel {
     private JTable bookTable;
     private BookTableModel bookTableModel;
     private JTextField bookSearchField;
+    private SearchWorker currentSearch;
+    private String currentKeyword;
     
     // Panel untuk detail buku yang dipilih
     private JPanel bookDetailsPanel;
@@ -113,6 +120,7 @@ public class BookPanel extends JPanel {
         
         // Set initial button states
         updateButtonStates();
+        loadNextPage(null);
     }
     
     /**
@@ -134,7 +142,8 @@ public class BookPanel extends JPanel {
         panel.add(searchPanel, BorderLayout.NORTH);
         
         // Panel tabel
-        bookTableModel = new BookTableModel(new ArrayList<>(mainWindow.getLibrary().getCollection().getBooks()));
+        // baris dimuat per halaman, halaman berikutnya dimuat saat tabel digulir ke bawah
+        bookTableModel = new BookTableModel(new ArrayList<>());
         bookTable = new JTable(bookTableModel);
         bookTable.setSelectionMode(ListSelectionModel.SINGLE_SELECTION);
         bookTable.setRowHeight(25);
@@ -165,6 +174,13 @@ public class BookPanel extends JPanel {
         });
         
         JScrollPane tableScrollPane = new JScrollPane(bookTable);
+        BoundedRangeModel scrollModel = tableScrollPane.getVerticalScrollBar().getModel();
+        scrollModel.addChangeListener(e -> {
+            boolean nearBottom = scrollModel.getValue() + scrollModel.getExtent() >= scrollModel.getMaximum() - bookTable.getRowHeight() * 5;
+            if (nearBottom && currentSearch == null && bookTableModel.hasMorePages()) {
+                loadNextPage(bookTableModel.getNextCursor());
+            }
+        });
         panel.add(tableScrollPane, BorderLayout.CENTER);
         
         // Panel tombol
@@ -289,9 +305,12 @@ public class BookPanel extends JPanel {
      * Refresh data panel
      */
     public void refreshData() {
-        bookTableModel.setBooks(new ArrayList<>(mainWindow.getLibrary().getCollection().getBooks()));
+        cancelSearch();
+        currentKeyword = null;
+        bookTableModel.setBooks(new ArrayList<>());
         updateButtonStates();
         clearBookDetails();
+        loadNextPage(null);
     }
     
     /**
@@ -318,24 +337,60 @@ public class BookPanel extends JPanel {
      * Cari buku berdasarkan keyword
      */
     private void searchBooks() {
-        String keyword = bookSearchField.getText().trim().toLowerCase();
+        String keyword = bookSearchField.getText().trim();
         if (keyword.isEmpty()) {
             refreshData();
             return;
         }
         
-        ArrayList<Book> filteredList = new ArrayList<>();
-        for (Book book : mainWindow.getLibrary().getCollection().getBooks()) {
-            if (book.getTitle().toLowerCase().contains(keyword) ||
-                book.getAuthor().toLowerCase().contains(keyword) ||
-                book.getISBN().toLowerCase().contains(keyword) ||
-                book.getPublisher().toLowerCase().contains(keyword)) {
-                filteredList.add(book);
+        // pencarian sebelumnya yang belum selesai digantikan pencarian ini
+        cancelSearch();
+        currentKeyword = keyword;
+        bookTableModel.setBooks(new ArrayList<>());
+        clearBookDetails();
+        loadNextPage(null);
+    }
+    
+    /**
+     * Muat satu halaman buku (sesuai kata kunci pencarian aktif) di background.
+     * Kata kunci dicocokkan lewat indeks koleksi, atau langsung lewat registri ISBN.
+     */
+    private void loadNextPage(String cursor) {
+        LibraryCollection collection = mainWindow.getLibrary().getCollection();
+        String keyword = currentKeyword;
+        SearchPage[] loaded = new SearchPage[1];
+        
+        currentSearch = new SearchWorker(
+            sink -> {
+                Book isbnMatch = keyword != null && cursor == null ? collection.findBookByIsbn(keyword) : null;
+                if (keyword == null) {
+                    loaded[0] = collection.getBooks(null, PAGE_SIZE, cursor);
+                } else if (isbnMatch != null) {
+                    loaded[0] = new SearchPage(Collections.singletonList(isbnMatch), null);
+                } else {
+                    loaded[0] = collection.search(keyword, PAGE_SIZE, cursor);
+                }
+                sink.accept(loaded[0].getBooks());
+            },
+            bookTableModel::addBooks,
+            total -> {
+                currentSearch = null;
+                bookTableModel.setNextCursor(loaded[0].getNextCursor());
+                updateButtonStates();
+            },
+            ex -> {
+                currentSearch = null;
+                GUIUtils.errorDialog(this, ex.getMessage(), "Error");
             }
+        );
+        currentSearch.execute();
+    }
+    
+    private void cancelSearch() {
+        if (currentSearch != null) {
+            currentSearch.cancel(true);
+            currentSearch = null;
         }
-        
-        bookTableModel.setBooks(filteredList);
-        clearBookDetails();
     }
     
     /**
@@ -417,6 +472,11 @@ public class BookPanel extends JPanel {
                     throw new IllegalArgumentException("ISBN, Judul, dan Pengarang tidak boleh kosong!");
                 }
                 
+                Book existing = mainWindow.findBookByIsbn(isbnField.getText().trim());
+                if (existing != null) {
+                    throw new IllegalArgumentException("Buku dengan ISBN tersebut sudah ada: " + existing.getTitle());
+                }
+                
                 int year = 0;
                 try {
                     year = Integer.parseInt(yearField.getText().trim());
@@ -612,7 +672,7 @@ public class BookPanel extends JPanel {
                 // Update kategori
                 // Hapus semua kategori
                 for (BookCategory category : new ArrayList<>(book.getCategories())) {
-                    category.removeBook(book);
+                    mainWindow.removeBookFromCategory(book, category);
                 }
                 
                 // Tambahkan kategori yang dipilih
@@ -18,11 +18,13 @@ public class LendifyGUI extends JFrame {
     
     // Map untuk data
     private Map<String, BookCategory> categories;
-    private Map<String, Book> books;
     private Map<String, BookItem> bookItems;
-    private Map<String, BookLoan> loans;
     private Map<String, Reservation> reservations;
     private java.util.List<Member> members;
+    private MemberIndex memberIndex;
+    private LoanRepository loanRepository;
+    private OverdueSweeper overdueSweeper;
+    private ReservationExpiryEngine reservationExpiryEngine;
     
     // Panel-panel utama
     private JPanel cardPanel;
@@ -47,22 +49,55 @@ public class LendifyGUI extends JFrame {
         
         // Inisialisasi data
         this.categories = new HashMap<>();
-        this.books = new HashMap<>();
         this.bookItems = new HashMap<>();
-        this.loans = new HashMap<>();
         this.reservations = new HashMap<>();
         this.members = new ArrayList<>();
+        this.memberIndex = new MemberIndex();
+        this.loanRepository = new LoanRepository();
+        
+        // Status OVERDUE diperbarui otomatis di EDT saat peminjaman melewati jatuh tempo,
+        // tabel peminjaman cukup dimuat ulang sekali per sapuan
+        this.overdueSweeper = new OverdueSweeper(loanRepository);
+        overdueSweeper.addListener(new OverdueListener() {
+            @Override
+            public void loanOverdue(BookLoan loan) {
+                // GUI tidak mengirim notifikasi per peminjaman
+            }
+            
+            @Override
+            public void sweepCompleted(int transitions) {
+                if (loanPanel != null && loanPanel.isShowing()) {
+                    loanPanel.refreshData();
+                }
+            }
+        });
+        overdueSweeper.start(SwingUtilities::invokeLater);
+        
+        // Reservasi yang tidak diambil atau terlalu lama menunggu dikedaluwarsakan tiap tengah malam,
+        // tabel reservasi cukup dimuat ulang sekali per batch
+        this.reservationExpiryEngine = new ReservationExpiryEngine();
+        reservationExpiryEngine.addListener(new ReservationExpiryListener() {
+            @Override
+            public void reservationExpired(Reservation reservation) {
+                // GUI tidak mengirim notifikasi per reservasi
+            }
+            
+            @Override
+            public void expiryCompleted(java.util.List<Reservation> expired) {
+                if (reservationPanel != null && reservationPanel.isShowing()) {
+                    reservationPanel.refreshData();
+                }
+            }
+        });
+        reservationExpiryEngine.start(SwingUtilities::invokeLater);
         
         // Tambahkan kategori yang sudah ada ke map
         for (BookCategory category : library.getCollection().getCategories()) {
             categories.put(category.getName(), category);
         }
         
-        // Tambahkan buku yang sudah ada ke map
+        // Tambahkan salinan buku yang sudah ada ke map (buku sendiri dicari lewat registri ISBN koleksi)
         for (Book book : library.getCollection().getBooks()) {
-            books.put(book.getISBN(), book);
-            
-            // Tambahkan juga book items
             for (BookItem item : book.getItems()) {
                 bookItems.put(item.getBarcode(), item);
             }
@@ -161,12 +196,13 @@ public class LendifyGUI extends JFrame {
             setCursor(Cursor.getPredefinedCursor(Cursor.WAIT_CURSOR));
             
             // Bersihkan data yang ada
-            library.getCollection().getBooks().clear();
-            library.getCollection().getCategories().clear();
+            library.getCollection().clear();
             members.clear();
-            books.clear();
+            memberIndex.clear();
+            loanRepository.clear();
+            overdueSweeper.clear();
+            reservationExpiryEngine.clear();
             bookItems.clear();
-            loans.clear();
             reservations.clear();
             
             // Buat kategori
@@ -279,7 +315,10 @@ public class LendifyGUI extends JFrame {
                                         book11, book12, book13, book14, book15, book16, book17, book18, book19, book20);
             
             for (Book book : allBooks) {
-                addBook(book);
+                // ISBN yang sudah terdaftar (ISBN-10 atau ISBN-13) tidak diimpor ulang
+                if (findBookByIsbn(book.getISBN()) == null) {
+                    addBook(book);
+                }
             }
             
             // kategorikan buku
@@ -417,7 +456,7 @@ public class LendifyGUI extends JFrame {
                             isPremium
                         );
                         memberList.add(regularMember);
-                        members.add(regularMember);
+                        addMember(regularMember);
                     } else { // 5 anggota mahasiswa
                         StudentMember studentMember = new StudentMember(
                             member,
@@ -427,7 +466,7 @@ public class LendifyGUI extends JFrame {
                             (int)(Math.random() * 4) + 1 // Tahun 1-4
                         );
                         memberList.add(studentMember);
-                        members.add(studentMember);
+                        addMember(studentMember);
                     }
                 }
                 
@@ -459,21 +498,17 @@ public class LendifyGUI extends JFrame {
                                     // 10% peminjaman sudah jatuh tempo (overdue)
                                     if (Math.random() < 0.1) {
                                         // Gunakan reflection untuk memodifikasi tanggal peminjaman menjadi lebih lama
-                                        Calendar pastCalendar = Calendar.getInstance();
-                                        pastCalendar.add(Calendar.DAY_OF_MONTH, -45); // 45 hari yang lalu
+                                        int pastDay = EpochDays.today() - 45; // 45 hari yang lalu
                                         
                                         try {
-                                            java.lang.reflect.Field issueDateField = BookLoan.class.getDeclaredField("issueDate");
-                                            issueDateField.setAccessible(true);
-                                            issueDateField.set(loan, pastCalendar.getTime());
-                                            
-                                            java.lang.reflect.Field dueDateField = BookLoan.class.getDeclaredField("dueDate");
-                                            dueDateField.setAccessible(true);
+                                            java.lang.reflect.Field issueDayField = BookLoan.class.getDeclaredField("issueDay");
+                                            issueDayField.setAccessible(true);
+                                            issueDayField.setInt(loan, pastDay);
                                             
-                                            Calendar dueDateCalendar = Calendar.getInstance();
-                                            dueDateCalendar.setTime(pastCalendar.getTime());
-                                            dueDateCalendar.add(Calendar.DAY_OF_MONTH, member.getMaxLoanDays());
-                                            dueDateField.set(loan, dueDateCalendar.getTime());
+                                            java.lang.reflect.Field dueDayField = BookLoan.class.getDeclaredField("dueDay");
+                                            dueDayField.setAccessible(true);
+                                            dueDayField.setInt(loan, pastDay + member.getMaxLoanDays());
+                                            loanRepository.refreshDueDate(loan);
                                         } catch (Exception e) {
                                             System.err.println("Tidak dapat memodifikasi tanggal: " + e.getMessage());
                                         }
@@ -496,15 +531,9 @@ public class LendifyGUI extends JFrame {
                         if (Math.random() < 0.5) {
                             double fine = 5000 + (Math.random() * 20000);
                             
-                            // Set fine melalui reflection karena setFine() mungkin tidak langsung tersedia
-                            try {
-                                java.lang.reflect.Field fineField = BookLoan.class.getDeclaredField("fine");
-                                fineField.setAccessible(true);
-                                fineField.set(loan, fine);
-                                loan.getMember().payFine(fine);
-                            } catch (Exception e) {
-                                System.err.println("Tidak dapat mengatur denda: " + e.getMessage());
-                            }
+                            // Set fine lewat setFine() agar saldo denda anggota ikut diperbarui
+                            loan.setFine(fine);
+                            loan.getMember().payFine(fine);
                         }
                     } catch (Exception e) {
                         System.err.println("Gagal mengembalikan buku: " + e.getMessage());
@@ -518,7 +547,7 @@ public class LendifyGUI extends JFrame {
                         
                         // Pilih buku secara acak yang semua salinannya sedang dipinjam
                         for (Book book : allBooks) {
-                            if (book.getAvailableItems().isEmpty() && !book.getItems().isEmpty()) {
+                            if (!book.hasAvailableItems() && !book.getItems().isEmpty()) {
                                 try {
                                     Reservation reservation = member.reserveBook(book);
                                     reservations.put(reservation.getReservationId(), reservation);
@@ -541,10 +570,10 @@ public class LendifyGUI extends JFrame {
             JOptionPane.showMessageDialog(
                 this,
                 "Demo mode berhasil dijalankan. Data sampel telah dibuat:\n" +
-                "- " + books.size() + " buku dengan " + bookItems.size() + " salinan\n" +
+                "- " + library.getCollection().getTotalBooks() + " buku dengan " + bookItems.size() + " salinan\n" +
                 "- " + categories.size() + " kategori\n" +
                 "- " + members.size() + " anggota\n" +
-                "- " + loans.size() + " peminjaman\n" +
+                "- " + loanRepository.size() + " peminjaman\n" +
                 "- " + reservations.size() + " reservasi\n\n" +
                 "Silakan jelajahi data melalui menu yang tersedia.",
                 "Demo Mode Berhasil",
@@ -577,18 +606,17 @@ public class LendifyGUI extends JFrame {
         return categories;
     }
     
-    public Map<String, Book> getBooks() {
-        return books;
+    /**
+     * Cari buku berdasarkan ISBN-10/13, dengan atau tanpa tanda hubung
+     */
+    public Book findBookByIsbn(String isbn) {
+        return library.findBookByIsbn(isbn);
     }
     
     public Map<String, BookItem> getBookItems() {
         return bookItems;
     }
     
-    public Map<String, BookLoan> getLoans() {
-        return loans;
-    }
-    
     public Map<String, Reservation> getReservations() {
         return reservations;
     }
@@ -597,6 +625,22 @@ public class LendifyGUI extends JFrame {
         return members;
     }
     
+    public MemberIndex getMemberIndex() {
+        return memberIndex;
+    }
+    
+    public LoanRepository getLoanRepository() {
+        return loanRepository;
+    }
+    
+    public OverdueSweeper getOverdueSweeper() {
+        return overdueSweeper;
+    }
+    
+    public ReservationExpiryEngine getReservationExpiryEngine() {
+        return reservationExpiryEngine;
+    }
+    
     // Switch panel methods
     
     public void showLoginPanel() {
@@ -661,20 +705,25 @@ public class LendifyGUI extends JFrame {
     
     public void addBook(Book book) {
         library.addBook(book);
-        books.put(book.getISBN(), book);
     }
     
     public void removeBook(Book book) {
         library.getCollection().removeBook(book);
-        books.remove(book.getISBN());
     }
     
     public void addBookToCategory(Book book, BookCategory category) {
         library.addBookToCategory(book, category);
     }
     
+    public void removeBookFromCategory(Book book, BookCategory category) {
+        library.removeBookFromCategory(book, category);
+    }
+    
     public void addMember(Member member) {
         members.add(member);
+        memberIndex.add(member);
+        loanRepository.addMember(member);
+        reservationExpiryEngine.addMember(member);
     }
     
     public BookItem addBookItem(Book book, String barcode) throws Exception {
@@ -685,7 +734,7 @@ public class LendifyGUI extends JFrame {
     
     public BookLoan issueBook(Member member, BookItem bookItem) throws Exception {
         BookLoan loan = currentLibrarian.issueBook(member, bookItem);
-        loans.put(loan.getLoanId(), loan);
+        loanRepository.add(loan);
         return loan;
     }
     
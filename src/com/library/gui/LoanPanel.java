@@ -8,6 +8,8 @@ import com.library.gui.utils.TableModels.LoanTableModel;
 import com.library.model.Book;
 import com.library.model.BookItem;
 import com.library.model.BookLoan;
+import com.library.model.EpochDays;
+import com.library.model.LoanRepository;
 import com.library.model.Member;
 
 import javax.swing.*;
@@ -16,6 +18,7 @@ import java.awt.*;
 import java.awt.event.*;
 import java.text.SimpleDateFormat;
 import java.util.ArrayList;
+import java.util.HashSet;
 import java.util.List;
 
 /**
@@ -23,6 +26,8 @@ import java.util.List;
  */
 public class LoanPanel extends JPanel {
     private static final long serialVersionUID = 1L;
+    private static final String[] ACTIVE_VIEWS = {"Semua", "Terlambat", "Jatuh Tempo 7 Hari"};
+    private static final int DUE_SOON_DAYS = 7;
     private LendifyGUI mainWindow;
     private JTabbedPane tabbedPane;
     private JTable activeLoansTable;
@@ -30,6 +35,7 @@ public class LoanPanel extends JPanel {
     private LoanTableModel activeLoansTableModel;
     private LoanTableModel loanHistoryTableModel;
     private JTextField searchActiveField;
+    private JComboBox<String> activeViewCombo;
     private JTextField searchHistoryField;
     private JButton issueButton;
     private JButton returnButton;
@@ -105,7 +111,11 @@ public class LoanPanel extends JPanel {
         searchActiveField = new JTextField(20);
         JButton searchButton = new JButton("Cari");
         searchButton.addActionListener(e -> searchActiveLoans());
+        activeViewCombo = new JComboBox<>(ACTIVE_VIEWS);
+        activeViewCombo.addActionListener(e -> searchActiveLoans());
         
+        searchPanel.add(new JLabel("Tampilkan: "));
+        searchPanel.add(activeViewCombo);
         searchPanel.add(new JLabel("Cari: "));
         searchPanel.add(searchActiveField);
         searchPanel.add(searchButton);
@@ -202,30 +212,29 @@ public class LoanPanel extends JPanel {
      * Refresh data panel
      */
     public void refreshData() {
-        // Kumpulkan semua data peminjaman dari anggota
-        List<BookLoan> allLoans = new ArrayList<>();
-        List<BookLoan> activeLoans = new ArrayList<>();
-        List<BookLoan> completedLoans = new ArrayList<>();
-        
-        for (Member member : mainWindow.getMembers()) {
-            for (BookLoan loan : member.getBookLoans()) {
-                allLoans.add(loan);
-                mainWindow.getLoans().put(loan.getLoanId(), loan);
-                
-                if (loan.getStatus() == LoanStatus.ACTIVE || loan.getStatus() == LoanStatus.OVERDUE) {
-                    activeLoans.add(loan);
-                } else {
-                    completedLoans.add(loan);
-                }
-            }
-        }
-        
-        activeLoansTableModel.setLoans(activeLoans);
-        loanHistoryTableModel.setLoans(allLoans);
+        LoanRepository loanRepository = mainWindow.getLoanRepository();
+        activeLoansTableModel.setLoans(activeLoansInView());
+        loanHistoryTableModel.setLoans(loanRepository.getLoans());
         
         updateButtonStates();
     }
     
+    /**
+     * Peminjaman aktif sesuai pilihan tampilan, langsung dari indeks tanggal jatuh tempo
+     */
+    private List<BookLoan> activeLoansInView() {
+        LoanRepository loanRepository = mainWindow.getLoanRepository();
+        int today = EpochDays.today();
+        switch (activeViewCombo.getSelectedIndex()) {
+            case 1:
+                return loanRepository.getOverdueLoans(today);
+            case 2:
+                return loanRepository.getLoansDueBetween(today, today + DUE_SOON_DAYS);
+            default:
+                return loanRepository.getOpenLoans();
+        }
+    }
+    
     /**
      * Update status tombol berdasarkan tab yang aktif dan seleksi
      */
@@ -251,20 +260,16 @@ public class LoanPanel extends JPanel {
      * Cari peminjaman aktif berdasarkan keyword
      */
     private void searchActiveLoans() {
-        String keyword = searchActiveField.getText().trim().toLowerCase();
+        String keyword = searchActiveField.getText().trim();
         if (keyword.isEmpty()) {
             refreshData();
             return;
         }
         
-        ArrayList<BookLoan> filteredList = new ArrayList<>();
-        for (BookLoan loan : collectActiveLoans()) {
-            if (loan.getLoanId().toLowerCase().contains(keyword) ||
-                loan.getBookItem().getBook().getTitle().toLowerCase().contains(keyword) ||
-                loan.getMember().getName().toLowerCase().contains(keyword) ||
-                loan.getBookItem().getBarcode().toLowerCase().contains(keyword)) {
-                filteredList.add(loan);
-            }
+        List<BookLoan> filteredList = mainWindow.getLoanRepository().searchOpenLoans(
+            keyword, matchingMembers(keyword), matchingBooks(keyword));
+        if (activeViewCombo.getSelectedIndex() != 0) {
+            filteredList.retainAll(new HashSet<>(activeLoansInView()));
         }
         
         activeLoansTableModel.setLoans(filteredList);
@@ -275,50 +280,31 @@ public class LoanPanel extends JPanel {
      * Cari riwayat peminjaman berdasarkan keyword
      */
     private void searchLoanHistory() {
-        String keyword = searchHistoryField.getText().trim().toLowerCase();
+        String keyword = searchHistoryField.getText().trim();
         if (keyword.isEmpty()) {
             refreshData();
             return;
         }
         
-        ArrayList<BookLoan> filteredList = new ArrayList<>();
-        for (BookLoan loan : collectAllLoans()) {
-            if (loan.getLoanId().toLowerCase().contains(keyword) ||
-                loan.getBookItem().getBook().getTitle().toLowerCase().contains(keyword) ||
-                loan.getMember().getName().toLowerCase().contains(keyword) ||
-                loan.getBookItem().getBarcode().toLowerCase().contains(keyword)) {
-                filteredList.add(loan);
-            }
-        }
+        List<BookLoan> filteredList = mainWindow.getLoanRepository().search(
+            keyword, matchingMembers(keyword), matchingBooks(keyword));
         
         loanHistoryTableModel.setLoans(filteredList);
         updateButtonStates();
     }
     
     /**
-     * Collect all active loans
+     * Anggota yang namanya memuat keyword, diambil dari indeks anggota
      */
-    private List<BookLoan> collectActiveLoans() {
-        List<BookLoan> activeLoans = new ArrayList<>();
-        for (Member member : mainWindow.getMembers()) {
-            for (BookLoan loan : member.getBookLoans()) {
-                if (loan.getStatus() == LoanStatus.ACTIVE || loan.getStatus() == LoanStatus.OVERDUE) {
-                    activeLoans.add(loan);
-                }
-            }
-        }
-        return activeLoans;
+    private List<Member> matchingMembers(String keyword) {
+        return mainWindow.getMemberIndex().search(keyword);
     }
     
     /**
-     * Collect all loans
+     * Buku yang judulnya memuat keyword, diambil dari indeks koleksi
      */
-    private List<BookLoan> collectAllLoans() {
-        List<BookLoan> allLoans = new ArrayList<>();
-        for (Member member : mainWindow.getMembers()) {
-            allLoans.addAll(member.getBookLoans());
-        }
-        return allLoans;
+    private List<Book> matchingBooks(String keyword) {
+        return mainWindow.getLibrary().searchByTitle(keyword);
     }
     
     /**
@@ -372,8 +358,12 @@ public class LoanPanel extends JPanel {
             return; // User canceled
         }
         
-        // Pilih salinan buku yang tersedia dan bisa dipinjam
+        // Pilih salinan buku yang tersedia dan bisa dipinjam, termasuk yang disimpan untuk anggota ini
         List<BookItem> availableItems = new ArrayList<>();
+        BookItem heldItem = book.getHeldItemFor(member);
+        if (heldItem != null) {
+            availableItems.add(heldItem);
+        }
         for (BookItem item : book.getItems()) {
             if (item.isAvailable() && !item.isReferenceOnly()) {
                 availableItems.add(item);
@@ -17,6 +17,7 @@ import java.awt.event.*;
 import java.text.SimpleDateFormat;
 import java.util.ArrayList;
 import java.util.Calendar;
+import java.util.List;
 
 /**
  * Panel untuk kelola anggota perpustakaan
@@ -259,15 +260,8 @@ public class MemberPanel extends JPanel {
             return;
         }
         
-        ArrayList<Member> filteredList = new ArrayList<>();
-        for (Member member : mainWindow.getMembers()) {
-            if (member.getName().toLowerCase().contains(keyword) ||
-                member.getMemberId().toLowerCase().contains(keyword) ||
-                member.getEmail().toLowerCase().contains(keyword) ||
-                member.getPhoneNumber().toLowerCase().contains(keyword)) {
-                filteredList.add(member);
-            }
-        }
+        // nama lewat indeks trigram, memberId/email/telepon lewat map exact
+        List<Member> filteredList = mainWindow.getMemberIndex().search(keyword);
         
         tableModel.setMembers(filteredList);
         updateButtonStates();
@@ -277,28 +271,16 @@ public class MemberPanel extends JPanel {
      * Filter anggota berdasarkan tipe dan status
      */
     private void filterMembers(String type, Boolean active) {
-        ArrayList<Member> filteredList = new ArrayList<>();
-        for (Member member : mainWindow.getMembers()) {
-            boolean typeMatch = true;
-            boolean statusMatch = true;
-            
-            if (type != null) {
-                if (type.equals("student") && !(member instanceof StudentMember)) {
-                    typeMatch = false;
-                } else if (type.equals("regular") && !(member instanceof RegularMember)) {
-                    typeMatch = false;
-                }
-            }
-            
-            if (active != null && member.isActive() != active) {
-                statusMatch = false;
-            }
-            
-            if (typeMatch && statusMatch) {
-                filteredList.add(member);
-            }
+        Class<? extends Member> memberType = null;
+        if ("student".equals(type)) {
+            memberType = StudentMember.class;
+        } else if ("regular".equals(type)) {
+            memberType = RegularMember.class;
         }
         
+        // irisan bitmap tipe dan status, tanpa instanceof per anggota
+        List<Member> filteredList = mainWindow.getMemberIndex().filter(memberType, active);
+        
         tableModel.setMembers(filteredList);
         updateButtonStates();
     }
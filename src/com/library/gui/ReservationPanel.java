@@ -282,7 +282,7 @@ public class ReservationPanel extends JPanel {
         // Pilih buku
         List<Book> unavailableBooks = new ArrayList<>();
         for (Book book : mainWindow.getLibrary().getCollection().getBooks()) {
-            if (book.getAvailableItems().isEmpty() && !book.getItems().isEmpty()) {
+            if (!book.hasAvailableItems() && !book.getItems().isEmpty()) {
                 unavailableBooks.add(book);
             }
         }
@@ -369,8 +369,9 @@ public class ReservationPanel extends JPanel {
             return;
         }
         
+        // salinan yang disimpan di rak ambil untuk anggota ini tidak terhitung tersedia
         Book book = reservation.getBook();
-        if (book.getAvailableItems().isEmpty()) {
+        if (!book.hasAvailableItems() && book.getHeldItemFor(reservation.getMember()) == null) {
             GUIUtils.errorDialog(
                 this, 
                 "Tidak ada salinan buku yang tersedia untuk reservasi ini.", 
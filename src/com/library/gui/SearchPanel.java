@@ -2,22 +2,39 @@ package com.library.gui;
 
 import com.library.gui.utils.DialogUtils;
 import com.library.gui.utils.GUIUtils;
+import com.library.gui.utils.SearchWorker;
 import com.library.gui.utils.TableModels.SearchResultTableModel;
+import com.library.enums.BookFormat;
+import com.library.enums.Language;
 import com.library.model.Book;
 import com.library.model.BookCategory;
+import com.library.model.BookFilter;
+import com.library.model.FacetedSearchResult;
+import com.library.model.SearchPage;
 
 import javax.swing.*;
+import javax.swing.event.DocumentEvent;
+import javax.swing.event.DocumentListener;
 import javax.swing.table.TableRowSorter;
 import java.awt.*;
 import java.awt.event.*;
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.function.Consumer;
 
 /**
  * Panel untuk pencarian buku
  */
 public class SearchPanel extends JPanel {
     private static final long serialVersionUID = 1L;
+    private static final int SUGGESTION_DELAY_MS = 250;
+    private static final int SUGGESTION_LIMIT = 8;
+    private static final int RANKED_RESULT_LIMIT = 100;
+    private static final int PAGE_SIZE = 200;
     private LendifyGUI mainWindow;
     private JTextField searchField;
     private JComboBox<String> searchTypeCombo;
@@ -28,6 +45,16 @@ public class SearchPanel extends JPanel {
     private JButton clearButton;
     private JButton viewDetailsButton;
     private JButton backButton;
+    private JPopupMenu suggestionPopup;
+    private Timer suggestionTimer;
+    private boolean applyingSuggestion;
+    private JList<FacetItem> formatFacetList;
+    private JList<FacetItem> languageFacetList;
+    private JList<FacetItem> decadeFacetList;
+    private JList<FacetItem> categoryFacetList;
+    private List<Book> lastResults = new ArrayList<>();
+    private boolean updatingFacets;
+    private SearchWorker currentSearch;
     
     /**
      * Constructor untuk SearchPanel
@@ -59,7 +86,7 @@ public class SearchPanel extends JPanel {
         JPanel inputPanel = new JPanel(new GridLayout(3, 2, 5, 5));
         
         // Tipe pencarian
-        String[] searchTypes = {"Judul", "Pengarang", "ISBN", "Kategori"};
+        String[] searchTypes = {"Judul", "Pengarang", "ISBN", "Kategori", "Relevansi", "Semua Field"};
         searchTypeCombo = new JComboBox<>(searchTypes);
         searchTypeCombo.addActionListener(e -> updateSearchFields());
         
@@ -68,7 +95,13 @@ public class SearchPanel extends JPanel {
         
         // Field pencarian
         searchField = new JTextField(20);
-        searchField.addActionListener(e -> performSearch());
+        searchField.addActionListener(e -> {
+            hideSuggestions();
+            performSearch();
+        });
+        setupAutocomplete();
+        
+        searchField.setToolTipText("Contoh: author:pramoedya year:1980..1995 lang:INDONESIAN format:PAPERBACK \"bumi manusia\"");
         
         inputPanel.add(new JLabel("Kata kunci:"));
         inputPanel.add(searchField);
@@ -133,6 +166,15 @@ public class SearchPanel extends JPanel {
         JScrollPane tableScrollPane = new JScrollPane(resultTable);
         resultPanel.add(tableScrollPane, BorderLayout.CENTER);
         
+        // Panel filter facet
+        JPanel facetPanel = new JPanel(new GridLayout(4, 1, 5, 5));
+        formatFacetList = createFacetList(facetPanel, "Format");
+        languageFacetList = createFacetList(facetPanel, "Bahasa");
+        decadeFacetList = createFacetList(facetPanel, "Dekade Terbit");
+        categoryFacetList = createFacetList(facetPanel, "Kategori");
+        facetPanel.setPreferredSize(new Dimension(200, 0));
+        resultPanel.add(facetPanel, BorderLayout.EAST);
+        
         // Panel tombol hasil
         JPanel resultButtonPanel = new JPanel(new FlowLayout(FlowLayout.CENTER, 10, 10));
         viewDetailsButton = new JButton("Lihat Detail");
@@ -152,6 +194,111 @@ public class SearchPanel extends JPanel {
         updateButtonStates();
     }
     
+    /**
+     * Setup type-ahead pada field pencarian, saran baru diambil setelah pengguna berhenti mengetik
+     */
+    private void setupAutocomplete() {
+        suggestionPopup = new JPopupMenu();
+        suggestionPopup.setFocusable(false);
+        
+        suggestionTimer = new Timer(SUGGESTION_DELAY_MS, e -> showSuggestions());
+        suggestionTimer.setRepeats(false);
+        
+        searchField.getDocument().addDocumentListener(new DocumentListener() {
+            @Override
+            public void insertUpdate(DocumentEvent e) {
+                scheduleSuggestions();
+            }
+            
+            @Override
+            public void removeUpdate(DocumentEvent e) {
+                scheduleSuggestions();
+            }
+            
+            @Override
+            public void changedUpdate(DocumentEvent e) {
+                scheduleSuggestions();
+            }
+        });
+        
+        searchField.addKeyListener(new KeyAdapter() {
+            @Override
+            public void keyPressed(KeyEvent e) {
+                if (e.getKeyCode() == KeyEvent.VK_ESCAPE) {
+                    hideSuggestions();
+                }
+            }
+        });
+        
+        searchField.addFocusListener(new FocusAdapter() {
+            @Override
+            public void focusLost(FocusEvent e) {
+                suggestionTimer.stop();
+            }
+        });
+    }
+    
+    /**
+     * Jadwalkan ulang pengambilan saran (debounce)
+     */
+    private void scheduleSuggestions() {
+        if (applyingSuggestion) {
+            return;
+        }
+        suggestionTimer.restart();
+    }
+    
+    /**
+     * Tampilkan saran judul atau pengarang di bawah field pencarian
+     */
+    private void showSuggestions() {
+        String searchType = (String) searchTypeCombo.getSelectedItem();
+        String prefix = searchField.getText().trim();
+        
+        List<String> suggestions = new ArrayList<>();
+        if (!prefix.isEmpty() && searchField.isShowing()) {
+            if ("Judul".equals(searchType)) {
+                suggestions = mainWindow.getLibrary().getCollection().suggestTitles(prefix, SUGGESTION_LIMIT);
+            } else if ("Pengarang".equals(searchType)) {
+                suggestions = mainWindow.getLibrary().getCollection().suggestAuthors(prefix, SUGGESTION_LIMIT);
+            }
+        }
+        
+        suggestionPopup.setVisible(false);
+        suggestionPopup.removeAll();
+        if (suggestions.isEmpty()) {
+            return;
+        }
+        
+        for (String suggestion : suggestions) {
+            JMenuItem item = new JMenuItem(suggestion);
+            item.addActionListener(e -> applySuggestion(suggestion));
+            suggestionPopup.add(item);
+        }
+        suggestionPopup.pack();
+        suggestionPopup.show(searchField, 0, searchField.getHeight());
+        searchField.requestFocusInWindow();
+    }
+    
+    /**
+     * Isi field pencarian dengan saran yang dipilih lalu jalankan pencarian
+     */
+    private void applySuggestion(String suggestion) {
+        applyingSuggestion = true;
+        try {
+            searchField.setText(suggestion);
+        } finally {
+            applyingSuggestion = false;
+        }
+        hideSuggestions();
+        performSearch();
+    }
+    
+    private void hideSuggestions() {
+        suggestionTimer.stop();
+        suggestionPopup.setVisible(false);
+    }
+    
     /**
      * Refresh data panel
      */
@@ -187,61 +334,140 @@ public class SearchPanel extends JPanel {
      */
     private void performSearch() {
         String searchType = (String) searchTypeCombo.getSelectedItem();
-        List<Book> results = new ArrayList<>();
+        String query;
         
         try {
-            switch (searchType) {
-                case "Judul":
-                    String titleKeyword = searchField.getText().trim();
-                    if (titleKeyword.isEmpty()) {
-                        throw new IllegalArgumentException("Kata kunci judul tidak boleh kosong!");
-                    }
-                    results = mainWindow.getLibrary().searchByTitle(titleKeyword);
-                    break;
-                
-                case "Pengarang":
-                    String authorKeyword = searchField.getText().trim();
-                    if (authorKeyword.isEmpty()) {
-                        throw new IllegalArgumentException("Kata kunci pengarang tidak boleh kosong!");
-                    }
-                    results = mainWindow.getLibrary().searchByAuthor(authorKeyword);
-                    break;
-                
-                case "ISBN":
-                    String isbn = searchField.getText().trim();
-                    if (isbn.isEmpty()) {
-                        throw new IllegalArgumentException("ISBN tidak boleh kosong!");
-                    }
-                    Book book = mainWindow.getBooks().get(isbn);
-                    if (book != null) {
-                        results.add(book);
-                    }
-                    break;
-                
-                case "Kategori":
-                    BookCategory selectedCategory = (BookCategory) categoryCombo.getSelectedItem();
-                    if (selectedCategory == null) {
-                        throw new IllegalArgumentException("Pilih kategori terlebih dahulu!");
-                    }
-                    results = mainWindow.getLibrary().searchByCategory(selectedCategory);
-                    break;
-            }
-            
-            tableModel.setBooks(results);
-            
-            if (results.isEmpty()) {
-                JOptionPane.showMessageDialog(
-                    this, 
-                    "Tidak ditemukan buku yang sesuai dengan kriteria pencarian.", 
-                    "Tidak Ditemukan", 
-                    JOptionPane.INFORMATION_MESSAGE
-                );
+            if ("Kategori".equals(searchType)) {
+                BookCategory selectedCategory = (BookCategory) categoryCombo.getSelectedItem();
+                if (selectedCategory == null) {
+                    throw new IllegalArgumentException("Pilih kategori terlebih dahulu!");
+                }
+                query = selectedCategory.getName();
+            } else {
+                query = searchField.getText().trim();
+                if (query.isEmpty()) {
+                    throw new IllegalArgumentException("Kata kunci tidak boleh kosong!");
+                }
             }
-            
-            updateButtonStates();
-            
         } catch (Exception ex) {
             GUIUtils.errorDialog(this, ex.getMessage(), "Error");
+            return;
+        }
+        
+        // pencarian sebelumnya yang belum selesai sudah tidak relevan
+        cancelSearch();
+        lastResults = new ArrayList<>();
+        clearFacetSelection();
+        tableModel.setBooks(new ArrayList<>());
+        updateButtonStates();
+        
+        String[] suggestion = new String[1];
+        currentSearch = new SearchWorker(
+            sink -> runSearch(searchType, query, suggestion, sink),
+            rows -> {
+                lastResults.addAll(rows);
+                // facet bisa dipilih saat hasil masih mengalir, baris baru ikut disaring
+                BookFilter filter = selectedFilter();
+                tableModel.addBooks(filter.isEmpty() ? rows : mainWindow.getLibrary().getCollection().filter(rows, filter));
+            },
+            total -> {
+                applyFacets();
+                showSearchSummary(total, suggestion[0]);
+            },
+            ex -> GUIUtils.errorDialog(this, ex.getMessage(), "Error")
+        );
+        currentSearch.execute();
+    }
+    
+    /**
+     * Jalankan pencarian sesuai tipe, dipanggil dari thread background.
+     * Hasil query dikirim per halaman sehingga pencarian yang dibatalkan berhenti di halaman berjalan.
+     */
+    private void runSearch(String searchType, String query, String[] suggestion, Consumer<List<Book>> sink) {
+        if ("Relevansi".equals(searchType)) {
+            // hanya buku paling relevan yang ditampilkan
+            sink.accept(mainWindow.getLibrary().searchRanked(query, RANKED_RESULT_LIMIT));
+            return;
+        }
+        
+        if ("ISBN".equals(searchType)) {
+            // ISBN-10/13 dengan atau tanpa tanda hubung, langsung lewat registri ISBN
+            Book book = mainWindow.getLibrary().findBookByIsbn(query);
+            sink.accept(book != null ? Collections.singletonList(book) : Collections.emptyList());
+            return;
+        }
+        
+        // "Semua Field" memakai sintaks field:nilai, tipe lain mencari teks utuh sebagai frasa
+        String field = defaultFieldFor(searchType);
+        SearchPage page = mainWindow.getLibrary().query(query, field, PAGE_SIZE, null);
+        if (!page.getBooks().isEmpty()) {
+            sink.accept(page.getBooks());
+            while (page.hasMore()) {
+                page = mainWindow.getLibrary().query(query, field, PAGE_SIZE, page.getNextCursor());
+                sink.accept(page.getBooks());
+            }
+            return;
+        }
+        
+        // tidak ada hasil persis, coba pencarian yang toleran salah ketik
+        if ("Judul".equals(searchType)) {
+            suggestion[0] = mainWindow.getLibrary().didYouMeanTitle(query);
+            sink.accept(mainWindow.getLibrary().fuzzySearchByTitle(query));
+        } else if ("Pengarang".equals(searchType)) {
+            // varian ejaan nama (Soekarno/Sukarno) dicoba sebelum pencarian mirip
+            List<Book> results = mainWindow.getLibrary().phoneticSearchByAuthor(query);
+            if (results.isEmpty()) {
+                suggestion[0] = mainWindow.getLibrary().didYouMeanAuthor(query);
+                results = mainWindow.getLibrary().fuzzySearchByAuthor(query);
+            }
+            sink.accept(results);
+        }
+    }
+    
+    /**
+     * Tampilkan pesan setelah pencarian selesai
+     */
+    private void showSearchSummary(int total, String suggestion) {
+        if (total == 0) {
+            JOptionPane.showMessageDialog(
+                this, 
+                "Tidak ditemukan buku yang sesuai dengan kriteria pencarian.", 
+                "Tidak Ditemukan", 
+                JOptionPane.INFORMATION_MESSAGE
+            );
+        } else if (suggestion != null) {
+            JOptionPane.showMessageDialog(
+                this, 
+                "Tidak ada hasil persis. Apakah maksud Anda: \"" + suggestion + "\"?\n" +
+                "Menampilkan " + total + " buku yang mirip.", 
+                "Apakah Maksud Anda", 
+                JOptionPane.INFORMATION_MESSAGE
+            );
+        }
+    }
+    
+    private void cancelSearch() {
+        if (currentSearch != null) {
+            currentSearch.cancel(true);
+            currentSearch = null;
+        }
+    }
+    
+    /**
+     * Field yang dicari sesuai tipe pencarian, null untuk query terstruktur
+     */
+    private String defaultFieldFor(String searchType) {
+        switch (searchType) {
+            case "Judul":
+                return "title";
+            case "Pengarang":
+                return "author";
+            case "ISBN":
+                return "isbn";
+            case "Kategori":
+                return "category";
+            default:
+                return null;
         }
     }
     
@@ -249,13 +475,113 @@ public class SearchPanel extends JPanel {
      * Bersihkan hasil pencarian
      */
     private void clearSearch() {
+        cancelSearch();
         searchField.setText("");
+        hideSuggestions();
         searchTypeCombo.setSelectedIndex(0);
         updateSearchFields();
-        tableModel.setBooks(new ArrayList<>());
+        lastResults = new ArrayList<>();
+        clearFacetSelection();
+        applyFacets();
+    }
+    
+    /**
+     * Membuat daftar pilihan facet (multi-pilih) dengan judul
+     */
+    private JList<FacetItem> createFacetList(JPanel container, String title) {
+        JList<FacetItem> list = new JList<>(new DefaultListModel<>());
+        list.setSelectionMode(ListSelectionModel.MULTIPLE_INTERVAL_SELECTION);
+        list.addListSelectionListener(e -> {
+            if (!e.getValueIsAdjusting()) {
+                applyFacets();
+            }
+        });
+        
+        JScrollPane scrollPane = new JScrollPane(list);
+        scrollPane.setBorder(BorderFactory.createTitledBorder(title));
+        container.add(scrollPane);
+        return list;
+    }
+    
+    /**
+     * Saring hasil pencarian terakhir dengan facet yang dipilih dan perbarui jumlah per facet
+     */
+    private void applyFacets() {
+        if (updatingFacets) {
+            return;
+        }
+        
+        BookFilter filter = selectedFilter();
+        FacetedSearchResult result = mainWindow.getLibrary().getCollection().applyFacets(lastResults, filter);
+        tableModel.setBooks(result.getBooks());
+        
+        updateFacetList(formatFacetList, result.getFormatCounts(), filter.getFormats());
+        updateFacetList(languageFacetList, result.getLanguageCounts(), filter.getLanguages());
+        updateFacetList(decadeFacetList, new TreeMap<>(result.getDecadeCounts()), filter.getDecades());
+        updateFacetList(categoryFacetList, result.getCategoryCounts(), filter.getCategories());
         updateButtonStates();
     }
     
+    /**
+     * @return filter dari nilai facet yang sedang dipilih
+     */
+    private BookFilter selectedFilter() {
+        BookFilter filter = new BookFilter();
+        for (FacetItem item : formatFacetList.getSelectedValuesList()) {
+            filter.addFormat((BookFormat) item.value);
+        }
+        for (FacetItem item : languageFacetList.getSelectedValuesList()) {
+            filter.addLanguage((Language) item.value);
+        }
+        for (FacetItem item : decadeFacetList.getSelectedValuesList()) {
+            filter.addDecade((Integer) item.value);
+        }
+        for (FacetItem item : categoryFacetList.getSelectedValuesList()) {
+            filter.addCategory((BookCategory) item.value);
+        }
+        return filter;
+    }
+    
+    /**
+     * Isi ulang daftar facet dengan jumlah terbaru tanpa kehilangan pilihan
+     */
+    private void updateFacetList(JList<FacetItem> list, Map<?, Integer> counts, Set<?> selected) {
+        updatingFacets = true;
+        try {
+            DefaultListModel<FacetItem> model = new DefaultListModel<>();
+            List<Integer> selectedIndices = new ArrayList<>();
+            for (Map.Entry<?, Integer> entry : counts.entrySet()) {
+                if (selected.contains(entry.getKey())) {
+                    selectedIndices.add(model.size());
+                }
+                model.addElement(new FacetItem(entry.getKey(), entry.getValue()));
+            }
+            for (Object value : selected) {
+                if (!counts.containsKey(value)) {
+                    selectedIndices.add(model.size());
+                    model.addElement(new FacetItem(value, 0));
+                }
+            }
+            
+            list.setModel(model);
+            list.setSelectedIndices(selectedIndices.stream().mapToInt(Integer::intValue).toArray());
+        } finally {
+            updatingFacets = false;
+        }
+    }
+    
+    private void clearFacetSelection() {
+        updatingFacets = true;
+        try {
+            formatFacetList.clearSelection();
+            languageFacetList.clearSelection();
+            decadeFacetList.clearSelection();
+            categoryFacetList.clearSelection();
+        } finally {
+            updatingFacets = false;
+        }
+    }
+    
     /**
      * Lihat detail buku
      */
@@ -288,4 +614,30 @@ public class SearchPanel extends JPanel {
         boolean bookSelected = resultTable.getSelectedRow() != -1;
         viewDetailsButton.setEnabled(bookSelected);
     }
+    
+    /**
+     * Satu nilai facet beserta jumlah bukunya, misalnya "EBOOK (1,204)"
+     */
+    private static class FacetItem {
+        private final Object value;
+        private final int count;
+        
+        FacetItem(Object value, int count) {
+            this.value = value;
+            this.count = count;
+        }
+        
+        @Override
+        public String toString() {
+            String label;
+            if (value instanceof BookCategory) {
+                label = ((BookCategory) value).getName();
+            } else if (value instanceof Integer) {
+                label = value + "-an";
+            } else {
+                label = String.valueOf(value);
+            }
+            return String.format("%s (%,d)", label, count);
+        }
+    }
 }
\ No newline at end of file
@@ -4,7 +4,7 @@ import com.library.enums.LoanStatus;
 import com.library.enums.ReservationStatus;
 import com.library.model.Book;
 import com.library.model.BookCategory;
-import com.library.model.BookLoan;
+import com.library.model.LoanRepository;
 import com.library.model.Member;
 import com.library.model.RegularMember;
 import com.library.model.Reservation;
@@ -14,6 +14,7 @@ import javax.swing.*;
 import java.awt.*;
 import java.text.SimpleDateFormat;
 import java.util.List;
+import java.util.Map;
 
 /**
  * Panel untuk statistik perpustakaan
@@ -160,7 +161,7 @@ public class StatisticsPanel extends JPanel {
      * Buat panel untuk grafik dan chart
      */
     private JPanel createChartsPanel() {
-        JPanel panel = new JPanel(new GridLayout(1, 2, 10, 10));
+        JPanel panel = new JPanel(new GridLayout(1, 3, 10, 10));
         
         // Panel untuk distribusi kategori
         JPanel categoryPanel = new JPanel(new BorderLayout());
@@ -176,8 +177,16 @@ public class StatisticsPanel extends JPanel {
         // Akan diisi saat refresh data
         loanPanel.add(new JLabel("Data akan dimuat saat refresh...", SwingConstants.CENTER));
         
+        // Panel untuk distribusi tahun terbit
+        JPanel decadePanel = new JPanel(new BorderLayout());
+        decadePanel.setBorder(BorderFactory.createTitledBorder("Koleksi per Dekade Terbit"));
+        
+        // Akan diisi saat refresh data
+        decadePanel.add(new JLabel("Data akan dimuat saat refresh...", SwingConstants.CENTER));
+        
         panel.add(categoryPanel);
         panel.add(loanPanel);
+        panel.add(decadePanel);
         
         return panel;
     }
@@ -207,16 +216,8 @@ public class StatisticsPanel extends JPanel {
         }
         
         // Hitung peminjaman aktif
-        int activeLoans = 0;
-        int borrowedBooks = 0;
-        for (Member member : mainWindow.getMembers()) {
-            for (BookLoan loan : member.getBookLoans()) {
-                if (loan.getStatus() == LoanStatus.ACTIVE || loan.getStatus() == LoanStatus.OVERDUE) {
-                    activeLoans++;
-                    borrowedBooks++;
-                }
-            }
-        }
+        int activeLoans = mainWindow.getLoanRepository().getOpenLoanCount();
+        int borrowedBooks = activeLoans;
         
         // Hitung reservasi pending
         int pendingReservations = 0;
@@ -231,7 +232,7 @@ public class StatisticsPanel extends JPanel {
         // Hitung buku tersedia
         int availableBooks = 0;
         for (Book book : mainWindow.getLibrary().getCollection().getBooks()) {
-            availableBooks += book.getAvailableItems().size();
+            availableBooks += book.getAvailableCount();
         }
         
         // Update labels
@@ -251,6 +252,9 @@ public class StatisticsPanel extends JPanel {
         
         // Update panel statistik peminjaman
         updateLoanStatistics();
+        
+        // Update panel distribusi dekade terbit
+        updateDecadeChart();
     }
     
     /**
@@ -313,28 +317,11 @@ public class StatisticsPanel extends JPanel {
         loanPanel.removeAll();
         
         // Kumpulkan data peminjaman
-        int totalLoans = 0;
-        int activeLoans = 0;
-        int completedLoans = 0;
-        int overdueLoans = 0;
-        
-        for (Member member : mainWindow.getMembers()) {
-            for (BookLoan loan : member.getBookLoans()) {
-                totalLoans++;
-                
-                switch (loan.getStatus()) {
-                    case ACTIVE:
-                        activeLoans++;
-                        break;
-                    case COMPLETED:
-                        completedLoans++;
-                        break;
-                    case OVERDUE:
-                        overdueLoans++;
-                        break;
-                }
-            }
-        }
+        LoanRepository loanRepository = mainWindow.getLoanRepository();
+        int totalLoans = loanRepository.size();
+        int activeLoans = loanRepository.count(LoanStatus.ACTIVE);
+        int completedLoans = loanRepository.count(LoanStatus.COMPLETED);
+        int overdueLoans = loanRepository.count(LoanStatus.OVERDUE);
         
         // Buat tabel untuk statistik peminjaman
         String[] loanColumnNames = {"Status", "Jumlah", "Persentase"};
@@ -367,6 +354,46 @@ public class StatisticsPanel extends JPanel {
         loanPanel.repaint();
     }
     
+    /**
+     * Update distribusi buku per dekade terbit, dihitung dari indeks tahun tanpa memindai buku
+     */
+    private void updateDecadeChart() {
+        JPanel decadePanel = (JPanel) chartsPanel.getComponent(2);
+        decadePanel.removeAll();
+        
+        Map<Integer, Integer> decades = mainWindow.getLibrary().getCollection().getBooksPerDecade();
+        if (decades.isEmpty()) {
+            decadePanel.add(new JLabel("Tidak ada data buku.", SwingConstants.CENTER));
+            decadePanel.revalidate();
+            decadePanel.repaint();
+            return;
+        }
+        
+        int totalBooks = 0;
+        for (int count : decades.values()) {
+            totalBooks += count;
+        }
+        
+        String[] columnNames = {"Dekade", "Jumlah Buku", "Persentase"};
+        Object[][] data = new Object[decades.size()][3];
+        int row = 0;
+        for (Map.Entry<Integer, Integer> entry : decades.entrySet()) {
+            data[row][0] = entry.getKey() + "-an";
+            data[row][1] = entry.getValue();
+            data[row][2] = String.format("%.1f%%", (double) entry.getValue() / totalBooks * 100);
+            row++;
+        }
+        
+        JTable decadeTable = new JTable(data, columnNames);
+        decadeTable.setEnabled(false);
+        
+        decadePanel.setLayout(new BorderLayout());
+        decadePanel.add(new JScrollPane(decadeTable), BorderLayout.CENTER);
+        
+        decadePanel.revalidate();
+        decadePanel.repaint();
+    }
+    
     /**
      * Buat label judul statistik dengan style
      */
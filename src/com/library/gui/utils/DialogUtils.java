@@ -204,12 +204,7 @@ public class DialogUtils {
         panel.add(new JScrollPane(infoPanel), BorderLayout.NORTH);
         
         // Panel untuk daftar peminjaman aktif
-        List<BookLoan> activeLoans = new ArrayList<>();
-        for (BookLoan loan : member.getBookLoans()) {
-            if (loan.getStatus() == LoanStatus.ACTIVE || loan.getStatus() == LoanStatus.OVERDUE) {
-                activeLoans.add(loan);
-            }
-        }
+        List<BookLoan> activeLoans = member.getActiveLoans();
         
         if (!activeLoans.isEmpty()) {
             JPanel loansPanel = new JPanel(new BorderLayout());
@@ -457,7 +452,7 @@ public class DialogUtils {
             data[i][2] = book.getAuthor();
             data[i][3] = book.getPublisher();
             data[i][4] = book.getPublicationYear();
-            data[i][5] = book.getAvailableItems().size() + " dari " + book.getItems().size();
+            data[i][5] = book.getAvailableCount() + " dari " + book.getItems().size();
         }
         
         JTable table = new JTable(data, columnNames);
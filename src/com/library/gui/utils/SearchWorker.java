@@ -0,0 +1,90 @@
+package com.library.gui.utils;
+
+import com.library.model.Book;
+
+import javax.swing.*;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ExecutionException;
+import java.util.function.Consumer;
+
+/**
+ * Menjalankan pencarian buku di luar event dispatch thread. Hasil dikirim
+ * per halaman ke tabel sehingga halaman pertama langsung tampil, dan pencarian
+ * yang sudah digantikan pencarian baru bisa dibatalkan dengan cancel(true).
+ * Pembatalan diperiksa setiap kali satu halaman selesai, jadi halaman berikutnya
+ * tidak lagi diambil dari indeks.
+ */
+public class SearchWorker extends SwingWorker<Integer, Void> {
+    /**
+     * Pencarian yang dijalankan di background, setiap halaman hasil dikirim lewat sink.
+     * Sink melempar CancellationException jika pencarian sudah dibatalkan.
+     */
+    public interface Search {
+        void run(Consumer<List<Book>> sink) throws Exception;
+    }
+    
+    private final Search search;
+    private final Consumer<List<Book>> onRows;
+    private final Consumer<Integer> onFinished;
+    private final Consumer<Exception> onError;
+    
+    /**
+     * @param search pencarian yang dijalankan di background
+     * @param onRows dipanggil di EDT untuk setiap halaman hasil baru
+     * @param onFinished dipanggil di EDT dengan jumlah hasil jika pencarian selesai tanpa dibatalkan
+     * @param onError dipanggil di EDT jika pencarian gagal
+     */
+    public SearchWorker(Search search, Consumer<List<Book>> onRows,
+                        Consumer<Integer> onFinished, Consumer<Exception> onError) {
+        this.search = search;
+        this.onRows = onRows;
+        this.onFinished = onFinished;
+        this.onError = onError;
+    }
+    
+    @Override
+    protected Integer doInBackground() throws Exception {
+        int[] count = {0};
+        search.run(page -> {
+            if (isCancelled()) {
+                throw new CancellationException();
+            }
+            count[0] += page.size();
+            publishRows(page);
+        });
+        return count[0];
+    }
+    
+    private void publishRows(List<Book> page) {
+        if (page.isEmpty()) {
+            return;
+        }
+        
+        // invokeLater menjaga urutan: semua halaman sampai di EDT sebelum done()
+        List<Book> rows = new ArrayList<>(page);
+        SwingUtilities.invokeLater(() -> {
+            // potongan dari pencarian yang sudah digantikan tidak boleh masuk ke tabel
+            if (!isCancelled()) {
+                onRows.accept(rows);
+            }
+        });
+    }
+    
+    @Override
+    protected void done() {
+        if (isCancelled()) {
+            return;
+        }
+        
+        try {
+            onFinished.accept(get());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            onError.accept(cause instanceof Exception ? (Exception) cause : e);
+        }
+    }
+}
\ No newline at end of file
@@ -125,6 +125,7 @@ public class TableModels {
     public static class BookTableModel extends AbstractTableModel {
         private static final long serialVersionUID = 1L;
         private List<Book> books;
+        private String nextCursor;
         private final String[] columnNames = {"ISBN", "Judul", "Pengarang", "Penerbit", "Tahun", "Format", "Bahasa", "Jumlah Salinan"};
         
         public BookTableModel(List<Book> books) {
@@ -133,9 +134,34 @@ public class TableModels {
         
         public void setBooks(List<Book> books) {
             this.books = books;
+            this.nextCursor = null;
             fireTableDataChanged();
         }
         
+        public String getNextCursor() {
+            return nextCursor;
+        }
+        
+        public void setNextCursor(String nextCursor) {
+            this.nextCursor = nextCursor;
+        }
+        
+        public boolean hasMorePages() {
+            return nextCursor != null;
+        }
+        
+        /**
+         * Tambahkan baris di akhir tabel, dipakai saat hasil pencarian datang bertahap
+         */
+        public void addBooks(List<Book> moreBooks) {
+            if (moreBooks.isEmpty()) {
+                return;
+            }
+            int firstRow = books.size();
+            books.addAll(moreBooks);
+            fireTableRowsInserted(firstRow, books.size() - 1);
+        }
+        
         public Book getBookAt(int row) {
             if (row >= 0 && row < books.size()) {
                 return books.get(row);
@@ -170,7 +196,7 @@ public class TableModels {
                 case 4: return book.getPublicationYear();
                 case 5: return book.getFormat();
                 case 6: return book.getLanguage();
-                case 7: return book.getItems().size() + " (" + book.getAvailableItems().size() + " tersedia)";
+                case 7: return book.getItems().size() + " (" + book.getAvailableCount() + " tersedia)";
                 default: return null;
             }
         }
@@ -419,6 +445,18 @@ public class TableModels {
             fireTableDataChanged();
         }
         
+        /**
+         * Tambahkan baris di akhir tabel, dipakai saat hasil pencarian datang bertahap
+         */
+        public void addBooks(List<Book> moreBooks) {
+            if (moreBooks.isEmpty()) {
+                return;
+            }
+            int firstRow = books.size();
+            books.addAll(moreBooks);
+            fireTableRowsInserted(firstRow, books.size() - 1);
+        }
+        
         public Book getBookAt(int row) {
             if (row >= 0 && row < books.size()) {
                 return books.get(row);
@@ -451,7 +489,7 @@ public class TableModels {
                 case 2: return book.getAuthor();
                 case 3: return book.getPublisher();
                 case 4: return book.getPublicationYear();
-                case 5: return book.getAvailableItems().size() + " dari " + book.getItems().size() + " tersedia";
+                case 5: return book.getAvailableCount() + " dari " + book.getItems().size() + " tersedia";
                 default: return null;
             }
         }
@@ -1,12 +1,16 @@
 package com.library.model;
 
+import com.library.enums.BookField;
 import com.library.enums.BookFormat;
+import com.library.enums.BookStatus;
 import com.library.enums.Language;
 import com.library.enums.ReservationStatus;
 
 import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Date;
 import java.util.List;
-import java.util.stream.Collectors;
+import java.util.Objects;
 
 public class Book {
     private String isbn;
@@ -20,13 +24,29 @@ public class Book {
     private BookFormat format;
     private Language language;
     private List<Reservation> reservations;
+    private ReservationQueue pendingReservations;
     private List<BookCategory> categories;
     
+    // slot salinan yang tersedia (indeks di items) dan jumlahnya
+    private BitSet freeSlots;
+    private int availableCount;
+    
+    // salinan yang disimpan di rak ambil (status RESERVED) untuk reservasi terdepan
+    private BookItem heldItem;
+    private Reservation holdReservation;
+    
+    // versi perubahan dan listener untuk indeks/cache
+    private long version;
+    private List<BookChangeListener> changeListeners;
+    
     // konsruktor
     public Book() {
         this.items = new ArrayList<>();
+        this.freeSlots = new BitSet();
         this.reservations = new ArrayList<>();
+        this.pendingReservations = new ReservationQueue();
         this.categories = new ArrayList<>();
+        this.changeListeners = new ArrayList<>();
     }
     
     public Book(String isbn, String title, String author, String publisher, int year) {
@@ -36,8 +56,11 @@ public class Book {
         this.publisher = publisher;
         this.publicationYear = year;
         this.items = new ArrayList<>();
+        this.freeSlots = new BitSet();
         this.reservations = new ArrayList<>();
+        this.pendingReservations = new ReservationQueue();
         this.categories = new ArrayList<>();
+        this.changeListeners = new ArrayList<>();
     }
     
     public Book(String isbn, String title, String author, String publisher, int year, 
@@ -52,8 +75,11 @@ public class Book {
         this.format = format;
         this.language = language;
         this.items = new ArrayList<>();
+        this.freeSlots = new BitSet();
         this.reservations = new ArrayList<>();
+        this.pendingReservations = new ReservationQueue();
         this.categories = new ArrayList<>();
+        this.changeListeners = new ArrayList<>();
     }
     
     // getters and setters
@@ -62,7 +88,17 @@ public class Book {
     }
     
     public void setISBN(String isbn) {
+        String oldIsbn = this.isbn;
         this.isbn = isbn;
+        try {
+            fireChanged(BookField.ISBN, oldIsbn, isbn);
+        } catch (IllegalArgumentException e) {
+            // ISBN ditolak listener (misalnya sudah dipakai buku lain di koleksi): kembalikan nilai
+            // lama dan beri tahu listener yang sudah sempat menerima perubahan
+            this.isbn = oldIsbn;
+            fireChanged(BookField.ISBN, isbn, oldIsbn);
+            throw e;
+        }
     }
     
     public String getTitle() {
@@ -70,7 +106,9 @@ public class Book {
     }
     
     public void setTitle(String title) {
+        String oldTitle = this.title;
         this.title = title;
+        fireChanged(BookField.TITLE, oldTitle, title);
     }
     
     public String getAuthor() {
@@ -78,7 +116,9 @@ public class Book {
     }
     
     public void setAuthor(String author) {
+        String oldAuthor = this.author;
         this.author = author;
+        fireChanged(BookField.AUTHOR, oldAuthor, author);
     }
     
     public String getPublisher() {
@@ -86,7 +126,9 @@ public class Book {
     }
     
     public void setPublisher(String publisher) {
+        String oldPublisher = this.publisher;
         this.publisher = publisher;
+        fireChanged(BookField.PUBLISHER, oldPublisher, publisher);
     }
     
     public int getPublicationYear() {
@@ -94,7 +136,9 @@ public class Book {
     }
     
     public void setPublicationYear(int year) {
+        int oldYear = this.publicationYear;
         this.publicationYear = year;
+        fireChanged(BookField.PUBLICATION_YEAR, oldYear, year);
     }
     
     public String getDescription() {
@@ -102,7 +146,9 @@ public class Book {
     }
     
     public void setDescription(String description) {
+        String oldDescription = this.description;
         this.description = description;
+        fireChanged(BookField.DESCRIPTION, oldDescription, description);
     }
     
     public int getNumberOfPages() {
@@ -110,7 +156,9 @@ public class Book {
     }
     
     public void setNumberOfPages(int pages) {
+        int oldPages = this.numberOfPages;
         this.numberOfPages = pages;
+        fireChanged(BookField.NUMBER_OF_PAGES, oldPages, pages);
     }
     
     public List<BookItem> getItems() {
@@ -122,7 +170,9 @@ public class Book {
     }
     
     public void setFormat(BookFormat format) {
+        BookFormat oldFormat = this.format;
         this.format = format;
+        fireChanged(BookField.FORMAT, oldFormat, format);
     }
     
     public Language getLanguage() {
@@ -130,7 +180,9 @@ public class Book {
     }
     
     public void setLanguage(Language language) {
+        Language oldLanguage = this.language;
         this.language = language;
+        fireChanged(BookField.LANGUAGE, oldLanguage, language);
     }
     
     public List<Reservation> getReservations() {
@@ -176,33 +228,238 @@ public class Book {
         }
     }
     
+    public long getVersion() {
+        return version;
+    }
+    
+    public void addChangeListener(BookChangeListener listener) {
+        if (!changeListeners.contains(listener)) {
+            changeListeners.add(listener);
+        }
+    }
+    
+    public void removeChangeListener(BookChangeListener listener) {
+        changeListeners.remove(listener);
+    }
+    
+    private void fireChanged(BookField field, Object oldValue, Object newValue) {
+        if (Objects.equals(oldValue, newValue)) {
+            return;
+        }
+        
+        version++;
+        for (BookChangeListener listener : new ArrayList<>(changeListeners)) {
+            listener.bookChanged(this, field, oldValue, newValue);
+        }
+    }
+    
     // mutator
     public void addBookItem(BookItem item) {
+        int oldCount = items.size();
+        item.setSlot(items.size());
         items.add(item);
+        if (item.isFree()) {
+            freeSlots.set(item.getSlot());
+            availableCount++;
+            refreshHold();
+        }
+        fireChanged(BookField.ITEMS, oldCount, items.size());
     }
     
     public void removeBookItem(BookItem item) {
-        items.remove(item);
+        int oldCount = items.size();
+        if (items.remove(item)) {
+            item.setSlot(-1);
+            rebuildFreeSlots();
+        }
+        fireChanged(BookField.ITEMS, oldCount, items.size());
     }
     
     public List<BookItem> getAvailableItems() {
-        return items.stream()
-                .filter(item -> item.isAvailable() && item.isActive())
-                .collect(Collectors.toList());
+        List<BookItem> availableItems = new ArrayList<>(availableCount);
+        for (int slot = freeSlots.nextSetBit(0); slot >= 0; slot = freeSlots.nextSetBit(slot + 1)) {
+            availableItems.add(items.get(slot));
+        }
+        return availableItems;
+    }
+    
+    public int getAvailableCount() {
+        return availableCount;
+    }
+    
+    public boolean hasAvailableItems() {
+        return availableCount > 0;
+    }
+    
+    /**
+     * @return salinan yang disimpan di rak ambil untuk reservasi terdepan, atau null
+     */
+    public BookItem getHeldItem() {
+        return heldItem;
+    }
+    
+    /**
+     * @return reservasi yang menunggu salinan ini di rak ambil, atau null jika salinan tidak disimpan
+     */
+    public Reservation getHoldFor(BookItem item) {
+        return item != null && item == heldItem ? holdReservation : null;
+    }
+    
+    /**
+     * @return salinan yang disimpan untuk anggota ini, atau null
+     */
+    public BookItem getHeldItemFor(Member member) {
+        return holdReservation != null && holdReservation.getMember().equals(member) ? heldItem : null;
+    }
+    
+    // dipanggil BookItem saat status tersedia/aktif salinan berubah
+    void itemAvailabilityChanged(BookItem item, boolean free) {
+        int slot = item.getSlot();
+        if (item != heldItem && (slot < 0 || slot >= items.size() || items.get(slot) != item)) {
+            return;
+        }
+        
+        if (slot >= 0 && free && !freeSlots.get(slot)) {
+            freeSlots.set(slot);
+            availableCount++;
+        } else if (slot >= 0 && !free && freeSlots.get(slot)) {
+            freeSlots.clear(slot);
+            availableCount--;
+        } else if (item != heldItem) {
+            return;
+        }
+        refreshHold();
+    }
+    
+    // slot bergeser setelah salinan dihapus, jadi bangun ulang dari daftar items
+    private void rebuildFreeSlots() {
+        freeSlots.clear();
+        availableCount = 0;
+        for (int slot = 0; slot < items.size(); slot++) {
+            BookItem item = items.get(slot);
+            item.setSlot(slot);
+            if (item.isFree()) {
+                freeSlots.set(slot);
+                availableCount++;
+            }
+        }
+        refreshHold();
     }
     
     public void addReservation(Reservation reservation) {
         reservations.add(reservation);
+        if (reservation.getStatus() == ReservationStatus.PENDING) {
+            pendingReservations.add(reservation);
+            refreshHold();
+        }
     }
     
     public void removeReservation(Reservation reservation) {
         reservations.remove(reservation);
+        if (pendingReservations.remove(reservation)) {
+            refreshHold();
+        }
     }
     
+    /**
+     * @return reservasi PENDING, dari yang paling lama menunggu
+     */
     public List<Reservation> getPendingReservations() {
-        return reservations.stream()
-                .filter(reservation -> reservation.getStatus() == ReservationStatus.PENDING)
-                .collect(Collectors.toList());
+        return pendingReservations.toList();
+    }
+    
+    public boolean hasPendingReservations() {
+        return !pendingReservations.isEmpty();
+    }
+    
+    /**
+     * @return reservasi PENDING yang paling lama menunggu, atau null
+     */
+    public Reservation getNextReservation() {
+        return pendingReservations.peek();
+    }
+    
+    // dipanggil Reservation saat statusnya berubah
+    void reservationStatusChanged(Reservation reservation) {
+        if (reservation.getStatus() == ReservationStatus.PENDING) {
+            if (reservations.contains(reservation)) {
+                pendingReservations.add(reservation);
+            }
+        } else {
+            pendingReservations.remove(reservation);
+        }
+        refreshHold();
+    }
+    
+    /**
+     * Reservasi terdepan mendapat satu salinan yang ditandai RESERVED di rak ambil. Salinan itu
+     * tidak bisa dipinjam anggota lain, dan jendela pengambilan dihitung sejak salinan disimpan.
+     * Simpanan dilepas saat reservasi diambil, kedaluwarsa, atau dibatalkan.
+     */
+    private void refreshHold() {
+        if (holdReservation != null && (holdReservation != pendingReservations.peek() || !isHeldItemOnShelf())) {
+            releaseHold();
+        }
+        
+        Reservation next = pendingReservations.peek();
+        if (holdReservation != null || next == null || availableCount == 0) {
+            return;
+        }
+        for (int slot = freeSlots.nextSetBit(0); slot >= 0; slot = freeSlots.nextSetBit(slot + 1)) {
+            BookItem item = items.get(slot);
+            if (!item.isReferenceOnly()) {
+                // field diisi dulu karena markAsReserved memanggil kembali itemAvailabilityChanged
+                heldItem = item;
+                holdReservation = next;
+                next.startHold(new Date());
+                item.markAsReserved();
+                return;
+            }
+        }
+    }
+    
+    // dipanggil Librarian tepat sebelum salinan yang disimpan dipinjamkan ke pemesannya
+    Reservation claimHold(BookItem item) {
+        if (item == null || item != heldItem) {
+            return null;
+        }
+        Reservation reservation = holdReservation;
+        heldItem = null;
+        holdReservation = null;
+        return reservation;
+    }
+    
+    // dipanggil Librarian jika peminjaman salinan yang sudah diklaim gagal
+    void restoreHold(BookItem item, Reservation reservation) {
+        if (heldItem == null && item.getStatus() == BookStatus.RESERVED
+                && reservation == pendingReservations.peek()) {
+            heldItem = item;
+            holdReservation = reservation;
+        } else {
+            refreshHold();
+        }
+    }
+    
+    private boolean isHeldItemOnShelf() {
+        int slot = heldItem.getSlot();
+        return heldItem.getStatus() == BookStatus.RESERVED && heldItem.isActive()
+                && slot >= 0 && slot < items.size() && items.get(slot) == heldItem;
+    }
+    
+    private void releaseHold() {
+        BookItem item = heldItem;
+        Reservation reservation = holdReservation;
+        heldItem = null;
+        holdReservation = null;
+        
+        if (reservation.getStatus() == ReservationStatus.PENDING) {
+            // salinan hilang, rusak, atau dihapus: reservasi kembali menunggu mulai saat ini
+            reservation.clearHold(new Date());
+        }
+        if (item.getStatus() == BookStatus.RESERVED && item.getSlot() >= 0) {
+            // kembali ke rak, bisa langsung disimpan untuk reservasi berikutnya
+            item.setStatus(BookStatus.AVAILABLE);
+        }
     }
     
     @Override
@@ -216,7 +473,7 @@ public class Book {
                 ", format=" + format +
                 ", language=" + language +
                 ", total copies=" + items.size() +
-                ", available copies=" + getAvailableItems().size() +
+                ", available copies=" + availableCount +
                 '}';
     }
 }
\ No newline at end of file
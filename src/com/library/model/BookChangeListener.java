@@ -0,0 +1,11 @@
+package com.library.model;
+
+import com.library.enums.BookField;
+
+/**
+ * Listener yang dipanggil setiap kali field sebuah buku berubah,
+ * sehingga indeks dan cache cukup memperbarui bagian yang tersentuh saja.
+ */
+public interface BookChangeListener {
+    void bookChanged(Book book, BookField field, Object oldValue, Object newValue);
+}
\ No newline at end of file
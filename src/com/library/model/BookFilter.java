@@ -0,0 +1,85 @@
+package com.library.model;
+
+import com.library.enums.BookFormat;
+import com.library.enums.Language;
+
+import java.util.LinkedHashSet;
+import java.util.Set;
+
+/**
+ * Filter facet untuk pencarian buku. Nilai dalam satu facet digabung dengan OR,
+ * sedangkan antar facet digabung dengan AND.
+ */
+public class BookFilter {
+    private Set<BookFormat> formats;
+    private Set<Language> languages;
+    private Set<Integer> decades;
+    private Set<BookCategory> categories;
+    
+    // konstruktor
+    public BookFilter() {
+        this.formats = new LinkedHashSet<>();
+        this.languages = new LinkedHashSet<>();
+        this.decades = new LinkedHashSet<>();
+        this.categories = new LinkedHashSet<>();
+    }
+    
+    // getters
+    public Set<BookFormat> getFormats() {
+        return formats;
+    }
+    
+    public Set<Language> getLanguages() {
+        return languages;
+    }
+    
+    public Set<Integer> getDecades() {
+        return decades;
+    }
+    
+    public Set<BookCategory> getCategories() {
+        return categories;
+    }
+    
+    public boolean isEmpty() {
+        return formats.isEmpty() && languages.isEmpty() && decades.isEmpty() && categories.isEmpty();
+    }
+    
+    // mutator
+    public BookFilter addFormat(BookFormat format) {
+        formats.add(format);
+        return this;
+    }
+    
+    public BookFilter addLanguage(Language language) {
+        languages.add(language);
+        return this;
+    }
+    
+    /**
+     * @param year tahun terbit atau awal dekade, dibulatkan ke awal dekade
+     */
+    public BookFilter addDecade(int year) {
+        decades.add(decadeOf(year));
+        return this;
+    }
+    
+    public BookFilter addCategory(BookCategory category) {
+        categories.add(category);
+        return this;
+    }
+    
+    public static int decadeOf(int year) {
+        return Math.floorDiv(year, 10) * 10;
+    }
+    
+    @Override
+    public String toString() {
+        return "BookFilter{" +
+                "formats=" + formats +
+                ", languages=" + languages +
+                ", decades=" + decades +
+                ", categories=" + categories.size() +
+                '}';
+    }
+}
\ No newline at end of file
@@ -15,6 +15,7 @@ public class BookItem {
     private BookStatus status;
     private String location;
     private boolean isActive;
+    private int slot;
     
     // konstruktor
     public BookItem(Book book, String barcode) {
@@ -25,6 +26,7 @@ public class BookItem {
         this.purchaseDate = new Date();
         this.status = BookStatus.AVAILABLE;
         this.isActive = true;
+        this.slot = -1;
     }
     
     // getters and setters
@@ -41,8 +43,10 @@ public class BookItem {
     }
     
     public void setAvailable(boolean available) {
+        boolean wasFree = isFree();
         isAvailable = available;
         this.status = available ? BookStatus.AVAILABLE : BookStatus.LOANED;
+        notifyAvailability(wasFree);
     }
     
     public boolean isReferenceOnly() {
@@ -70,8 +74,10 @@ public class BookItem {
     }
     
     public void setStatus(BookStatus status) {
+        boolean wasFree = isFree();
         this.status = status;
         this.isAvailable = (status == BookStatus.AVAILABLE);
+        notifyAvailability(wasFree);
     }
     
     public String getLocation() {
@@ -87,7 +93,33 @@ public class BookItem {
     }
     
     public void setActive(boolean active) {
+        boolean wasFree = isFree();
         isActive = active;
+        notifyAvailability(wasFree);
+    }
+    
+    // posisi salinan di daftar item buku, -1 jika belum terdaftar
+    int getSlot() {
+        return slot;
+    }
+    
+    void setSlot(int slot) {
+        this.slot = slot;
+    }
+    
+    /**
+     * @return true jika salinan tersedia dan aktif (dihitung di penghitung ketersediaan buku)
+     */
+    boolean isFree() {
+        return isAvailable && isActive;
+    }
+    
+    private void notifyAvailability(boolean wasFree) {
+        boolean free = isFree();
+        // salinan yang disimpan untuk reservasi tidak tersedia, tetapi perubahannya tetap dilaporkan
+        if (book != null && (free != wasFree || book.getHoldFor(this) != null)) {
+            book.itemAvailabilityChanged(this, free);
+        }
     }
     
     // mutator
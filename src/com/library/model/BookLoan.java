@@ -1,37 +1,40 @@
 package com.library.model;
 
+import com.library.enums.LoanField;
 import com.library.enums.LoanStatus;
 
-import java.util.Calendar;
+import java.time.LocalDate;
+import java.util.ArrayList;
 import java.util.Date;
+import java.util.List;
 import java.util.Objects;
-import java.util.UUID;
 
 public class BookLoan {
     private String loanId;
     private Member member;
     private BookItem bookItem;
-    private Date issueDate;
-    private Date dueDate;
-    private Date returnDate;
+    // tanggal disimpan sebagai hari epoch (lihat EpochDays)
+    private int issueDay;
+    private int dueDay;
+    private int returnDay;
     private double fine;
     private double finePaid;
     private LoanStatus status;
+    private List<LoanChangeListener> changeListeners;
     
     // kostant
     private static final double FINE_PER_DAY = 1.0; // $1 per day
+    public static final int NOT_RETURNED = Integer.MIN_VALUE;
     
     // konstruktor
     public BookLoan(Member member, BookItem bookItem) {
-        this.loanId = "L" + UUID.randomUUID().toString().substring(0, 8);
+        this.changeListeners = new ArrayList<>();
+        this.loanId = IdGenerators.get().nextId("L");
         this.member = member;
         this.bookItem = bookItem;
-        this.issueDate = new Date();
-        
-        Calendar calendar = Calendar.getInstance();
-        calendar.setTime(this.issueDate);
-        calendar.add(Calendar.DAY_OF_MONTH, member.getMaxLoanDays());
-        this.dueDate = calendar.getTime();
+        this.issueDay = EpochDays.today();
+        this.dueDay = issueDay + member.getMaxLoanDays();
+        this.returnDay = NOT_RETURNED;
         
         this.fine = 0.0;
         this.finePaid = 0.0;
@@ -51,20 +54,51 @@ public class BookLoan {
         return bookItem;
     }
     
+    public int getIssueDay() {
+        return issueDay;
+    }
+    
+    public int getDueDay() {
+        return dueDay;
+    }
+    
+    /**
+     * @return hari epoch pengembalian, atau NOT_RETURNED jika belum dikembalikan
+     */
+    public int getReturnDay() {
+        return returnDay;
+    }
+    
+    public void setReturnDay(int returnDay) {
+        this.returnDay = returnDay;
+    }
+    
+    public LocalDate getIssueLocalDate() {
+        return EpochDays.toLocalDate(issueDay);
+    }
+    
+    public LocalDate getDueLocalDate() {
+        return EpochDays.toLocalDate(dueDay);
+    }
+    
+    public LocalDate getReturnLocalDate() {
+        return returnDay != NOT_RETURNED ? EpochDays.toLocalDate(returnDay) : null;
+    }
+    
     public Date getIssueDate() {
-        return issueDate;
+        return EpochDays.toDate(issueDay);
     }
     
     public Date getDueDate() {
-        return dueDate;
+        return EpochDays.toDate(dueDay);
     }
     
     public Date getReturnDate() {
-        return returnDate;
+        return returnDay != NOT_RETURNED ? EpochDays.toDate(returnDay) : null;
     }
     
     public void setReturnDate(Date returnDate) {
-        this.returnDate = returnDate;
+        this.returnDay = returnDate != null ? EpochDays.of(returnDate) : NOT_RETURNED;
     }
     
     public double getFine() {
@@ -72,7 +106,9 @@ public class BookLoan {
     }
     
     public void setFine(double fine) {
+        double oldFine = this.fine;
         this.fine = fine;
+        fireChanged(LoanField.FINE, oldFine, fine);
     }
     
     public double getFinePaid() {
@@ -88,35 +124,80 @@ public class BookLoan {
     }
     
     public void setStatus(LoanStatus status) {
+        LoanStatus oldStatus = this.status;
         this.status = status;
+        fireChanged(LoanField.STATUS, oldStatus, status);
+    }
+    
+    public void addChangeListener(LoanChangeListener listener) {
+        if (!changeListeners.contains(listener)) {
+            changeListeners.add(listener);
+        }
+    }
+    
+    public void removeChangeListener(LoanChangeListener listener) {
+        changeListeners.remove(listener);
+    }
+    
+    private void fireChanged(LoanField field, Object oldValue, Object newValue) {
+        if (Objects.equals(oldValue, newValue)) {
+            return;
+        }
+        
+        for (LoanChangeListener listener : new ArrayList<>(changeListeners)) {
+            listener.loanChanged(this, field, oldValue, newValue);
+        }
     }
     
     // mutator
+    /**
+     * @return true jika buku masih dipegang peminjam (ACTIVE atau OVERDUE)
+     */
+    public boolean isOpen() {
+        return status == LoanStatus.ACTIVE || status == LoanStatus.OVERDUE;
+    }
+    
     public boolean isOverdue() {
-        if (status != LoanStatus.ACTIVE) {
-            return false;
+        return isOverdue(EpochDays.today());
+    }
+    
+    /**
+     * Peminjaman terlambat mulai hari setelah tanggal jatuh tempo.
+     */
+    public boolean isOverdue(int asOfDay) {
+        if (status == LoanStatus.OVERDUE) {
+            return true;
         }
-        
-        Date currentDate = new Date();
-        return currentDate.after(dueDate);
+        return status == LoanStatus.ACTIVE && asOfDay > dueDay;
     }
     
     public double calculateFine() {
-        if (returnDate == null && !isOverdue()) {
-            return 0.0;
-        }
-        
-        long daysLate;
-        Date currentDate = new Date();
-        
-        if (returnDate != null) {
+        return calculateFine(EpochDays.today());
+    }
+    
+    /**
+     * Hitung denda per hari asOfDay. Untuk banyak peminjaman sekaligus, ambil hari sekali
+     * lalu panggil metode ini di dalam loop.
+     *
+     * @param asOfDay hari epoch acuan untuk peminjaman yang belum dikembalikan
+     */
+    public double calculateFine(int asOfDay) {
+        int endDay;
+        if (returnDay != NOT_RETURNED) {
             // buku sudah dikembalikan
-            daysLate = (returnDate.getTime() - dueDate.getTime()) / (1000 * 60 * 60 * 24);
-        } else {
+            endDay = returnDay;
+        } else if (isOpen()) {
             // buku belum dikembalikan
-            daysLate = (currentDate.getTime() - dueDate.getTime()) / (1000 * 60 * 60 * 24);
+            endDay = asOfDay;
+        } else {
+            return 0.0;
         }
-        
+        return fineUntil(endDay);
+    }
+    
+    // denda jika buku dipegang sampai endDay
+    double fineUntil(int endDay) {
+        int daysLate = endDay - dueDay;
         return daysLate > 0 ? daysLate * FINE_PER_DAY : 0.0;
     }
     
@@ -128,15 +209,14 @@ public class BookLoan {
         
         // cek apakah buku memiliki reservasi yang tertunda
         Book book = bookItem.getBook();
-        if (!book.getPendingReservations().isEmpty()) {
+        if (book.hasPendingReservations()) {
             return false;
         }
         
         // perpanjang tanggal jatuh tempo
-        Calendar calendar = Calendar.getInstance();
-        calendar.setTime(this.dueDate);
-        calendar.add(Calendar.DAY_OF_MONTH, days);
-        this.dueDate = calendar.getTime();
+        LocalDate oldDueDate = getDueLocalDate();
+        this.dueDay += days;
+        fireChanged(LoanField.DUE_DATE, oldDueDate, getDueLocalDate());
         
         return true;
     }
@@ -164,9 +244,9 @@ public class BookLoan {
                 "loanId='" + loanId + '\'' +
                 ", member=" + member.getName() +
                 ", book=" + bookItem.getBook().getTitle() +
-                ", issueDate=" + issueDate +
-                ", dueDate=" + dueDate +
-                ", returnDate=" + returnDate +
+                ", issueDate=" + getIssueLocalDate() +
+                ", dueDate=" + getDueLocalDate() +
+                ", returnDate=" + getReturnLocalDate() +
                 ", status=" + status +
                 ", fine=" + fine +
                 '}';
@@ -0,0 +1,52 @@
+package com.library.model;
+
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.util.Date;
+
+/**
+ * Konversi antara tanggal dan hari epoch (jumlah hari sejak 1970-01-01) di zona waktu sistem.
+ * Tanggal peminjaman disimpan sebagai hari epoch supaya perhitungan denda dan keterlambatan
+ * cukup berupa pengurangan int tanpa membuat objek tanggal baru.
+ */
+public final class EpochDays {
+    private static final ZoneId ZONE = ZoneId.systemDefault();
+    
+    private EpochDays() {
+    }
+    
+    /**
+     * @return hari epoch untuk hari ini
+     */
+    public static int today() {
+        return of(LocalDate.now(ZONE));
+    }
+    
+    public static int of(LocalDate date) {
+        return Math.toIntExact(date.toEpochDay());
+    }
+    
+    public static int of(Date date) {
+        return ofMillis(date.getTime());
+    }
+    
+    public static int ofMillis(long epochMillis) {
+        return of(Instant.ofEpochMilli(epochMillis).atZone(ZONE).toLocalDate());
+    }
+    
+    public static LocalDate toLocalDate(int epochDay) {
+        return LocalDate.ofEpochDay(epochDay);
+    }
+    
+    /**
+     * @return awal hari (pukul 00:00 waktu setempat) dalam milidetik epoch
+     */
+    public static long startOfDayMillis(int epochDay) {
+        return LocalDate.ofEpochDay(epochDay).atStartOfDay(ZONE).toInstant().toEpochMilli();
+    }
+    
+    public static Date toDate(int epochDay) {
+        return new Date(startOfDayMillis(epochDay));
+    }
+}
\ No newline at end of file
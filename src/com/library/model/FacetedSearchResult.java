@@ -0,0 +1,62 @@
+package com.library.model;
+
+import com.library.enums.BookFormat;
+import com.library.enums.Language;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Hasil pencarian ber-facet: daftar buku beserta jumlah buku per nilai facet.
+ * Jumlah untuk suatu facet dihitung dengan filter facet lain tetap berlaku,
+ * sehingga pilihan lain pada facet yang sama tetap terlihat.
+ */
+public class FacetedSearchResult {
+    private List<Book> books;
+    private Map<BookFormat, Integer> formatCounts;
+    private Map<Language, Integer> languageCounts;
+    private Map<Integer, Integer> decadeCounts;
+    private Map<BookCategory, Integer> categoryCounts;
+    
+    // konstruktor
+    public FacetedSearchResult(List<Book> books, Map<BookFormat, Integer> formatCounts,
+                               Map<Language, Integer> languageCounts, Map<Integer, Integer> decadeCounts,
+                               Map<BookCategory, Integer> categoryCounts) {
+        this.books = books;
+        this.formatCounts = formatCounts;
+        this.languageCounts = languageCounts;
+        this.decadeCounts = decadeCounts;
+        this.categoryCounts = categoryCounts;
+    }
+    
+    // getters
+    public List<Book> getBooks() {
+        return books;
+    }
+    
+    public Map<BookFormat, Integer> getFormatCounts() {
+        return formatCounts;
+    }
+    
+    public Map<Language, Integer> getLanguageCounts() {
+        return languageCounts;
+    }
+    
+    public Map<Integer, Integer> getDecadeCounts() {
+        return decadeCounts;
+    }
+    
+    public Map<BookCategory, Integer> getCategoryCounts() {
+        return categoryCounts;
+    }
+    
+    @Override
+    public String toString() {
+        return "FacetedSearchResult{" +
+                "books=" + books.size() +
+                ", formatCounts=" + formatCounts +
+                ", languageCounts=" + languageCounts +
+                ", decadeCounts=" + decadeCounts +
+                '}';
+    }
+}
\ No newline at end of file
@@ -0,0 +1,156 @@
+package com.library.model;
+
+import java.time.Instant;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+
+/**
+ * Perhitungan denda semua peminjaman sekaligus terhadap satu hari acuan, misalnya laporan
+ * "denda per pukul 23:59" untuk akuntansi. Berbeda dengan memanggil
+ * Member.calculateTotalFines() per anggota, jam sistem hanya dibaca sekali, jadi hasilnya
+ * tidak bergeser jika perhitungan melewati tengah malam.
+ *
+ * Daftar peminjaman diambil sekali dari LoanRepository, lalu dibagi ke beberapa core dengan
+ * fork/join. Setiap bagian mengumpulkan total per anggota dan per kategori, lalu hasilnya
+ * digabung. Peminjaman terbuka dihitung dengan calculateFine(asOfDay), peminjaman yang sudah
+ * selesai memakai denda yang tercatat (getFine()), sama seperti Member.calculateTotalFines().
+ *
+ * Laporan untuk hari yang sudah lewat mengikuti keadaan pada hari itu: peminjaman yang dibuat
+ * setelah asOfDay dilewati, dan peminjaman yang dikembalikan setelah asOfDay dihitung seolah
+ * masih dipinjam pada asOfDay.
+ */
+public class FineBatchEngine {
+    private static final int PARTITION_SIZE = 1024;
+    
+    private LoanRepository loanRepository;
+    private ForkJoinPool pool;
+    
+    // konstruktor
+    public FineBatchEngine(LoanRepository loanRepository) {
+        this(loanRepository, ForkJoinPool.commonPool());
+    }
+    
+    public FineBatchEngine(LoanRepository loanRepository, ForkJoinPool pool) {
+        this.loanRepository = loanRepository;
+        this.pool = pool;
+    }
+    
+    // metode
+    public FineReport compute(Instant asOf) {
+        return compute(EpochDays.ofMillis(asOf.toEpochMilli()));
+    }
+    
+    /**
+     * Hitung denda semua peminjaman per hari asOfDay. Panggil dari thread yang sama dengan
+     * yang mengubah peminjaman (misalnya EDT) supaya daftar peminjaman yang diambil konsisten.
+     */
+    public FineReport compute(int asOfDay) {
+        List<BookLoan> snapshot = loanRepository.getLoans();
+        BookLoan[] loans = snapshot.toArray(new BookLoan[0]);
+        Totals totals = pool.invoke(new FineTask(loans, 0, loans.length, asOfDay));
+        
+        Map<Member, Double> memberTotals = new IdentityHashMap<>();
+        for (Map.Entry<Member, double[]> entry : totals.members.entrySet()) {
+            memberTotals.put(entry.getKey(), entry.getValue()[0]);
+        }
+        Map<BookCategory, Double> categoryTotals = new IdentityHashMap<>();
+        for (Map.Entry<BookCategory, double[]> entry : totals.categories.entrySet()) {
+            categoryTotals.put(entry.getKey(), entry.getValue()[0]);
+        }
+        return new FineReport(asOfDay, totals.loanCount, totals.total, totals.uncategorized, memberTotals, categoryTotals);
+    }
+    
+    // hitung satu rentang peminjaman, belah dua selama rentangnya masih besar
+    private static class FineTask extends RecursiveTask<Totals> {
+        private static final long serialVersionUID = 1L;
+        
+        private final BookLoan[] loans;
+        private final int from;
+        private final int to;
+        private final int asOfDay;
+        
+        FineTask(BookLoan[] loans, int from, int to, int asOfDay) {
+            this.loans = loans;
+            this.from = from;
+            this.to = to;
+            this.asOfDay = asOfDay;
+        }
+        
+        @Override
+        protected Totals compute() {
+            if (to - from <= PARTITION_SIZE) {
+                Totals totals = new Totals();
+                for (int i = from; i < to; i++) {
+                    totals.add(loans[i], asOfDay);
+                }
+                return totals;
+            }
+            
+            int mid = (from + to) >>> 1;
+            FineTask left = new FineTask(loans, from, mid, asOfDay);
+            left.fork();
+            Totals right = new FineTask(loans, mid, to, asOfDay).compute();
+            return left.join().merge(right);
+        }
+    }
+    
+    // akumulator per bagian; nilai disimpan di double[1] supaya tidak ada boxing per peminjaman
+    private static class Totals {
+        private int loanCount;
+        private double total;
+        private double uncategorized;
+        private Map<Member, double[]> members = new IdentityHashMap<>();
+        private Map<BookCategory, double[]> categories = new IdentityHashMap<>();
+        
+        void add(BookLoan loan, int asOfDay) {
+            if (loan.getIssueDay() > asOfDay) {
+                return;
+            }
+            loanCount++;
+            
+            double fine;
+            int returnDay = loan.getReturnDay();
+            if (returnDay != BookLoan.NOT_RETURNED && returnDay > asOfDay) {
+                fine = loan.fineUntil(asOfDay);
+            } else {
+                fine = loan.isOpen() ? loan.calculateFine(asOfDay) : loan.getFine();
+            }
+            if (fine <= 0.0) {
+                return;
+            }
+            
+            total += fine;
+            members.computeIfAbsent(loan.getMember(), k -> new double[1])[0] += fine;
+            List<BookCategory> bookCategories = loan.getBookItem().getBook().getCategories();
+            if (bookCategories.isEmpty()) {
+                uncategorized += fine;
+            }
+            for (BookCategory category : bookCategories) {
+                categories.computeIfAbsent(category, k -> new double[1])[0] += fine;
+            }
+        }
+        
+        Totals merge(Totals other) {
+            loanCount += other.loanCount;
+            total += other.total;
+            uncategorized += other.uncategorized;
+            mergeInto(members, other.members);
+            mergeInto(categories, other.categories);
+            return this;
+        }
+        
+        private static <K> void mergeInto(Map<K, double[]> target, Map<K, double[]> source) {
+            for (Map.Entry<K, double[]> entry : source.entrySet()) {
+                double[] sum = target.get(entry.getKey());
+                if (sum == null) {
+                    target.put(entry.getKey(), entry.getValue());
+                } else {
+                    sum[0] += entry.getValue()[0];
+                }
+            }
+        }
+    }
+}
\ No newline at end of file
@@ -0,0 +1,93 @@
+package com.library.model;
+
+import java.time.LocalDate;
+import java.util.Collections;
+import java.util.Map;
+
+/**
+ * Hasil satu perhitungan denda massal oleh FineBatchEngine. Semua angka dihitung terhadap
+ * hari acuan yang sama, jadi total per anggota, per kategori, dan total keseluruhan konsisten
+ * satu sama lain.
+ */
+public class FineReport {
+    private final int asOfDay;
+    private final int loanCount;
+    private final double totalFines;
+    private final double uncategorizedFines;
+    private final Map<Member, Double> memberTotals;
+    private final Map<BookCategory, Double> categoryTotals;
+    
+    // konstruktor
+    FineReport(int asOfDay, int loanCount, double totalFines, double uncategorizedFines,
+               Map<Member, Double> memberTotals, Map<BookCategory, Double> categoryTotals) {
+        this.asOfDay = asOfDay;
+        this.loanCount = loanCount;
+        this.totalFines = totalFines;
+        this.uncategorizedFines = uncategorizedFines;
+        this.memberTotals = Collections.unmodifiableMap(memberTotals);
+        this.categoryTotals = Collections.unmodifiableMap(categoryTotals);
+    }
+    
+    // getters
+    public int getAsOfDay() {
+        return asOfDay;
+    }
+    
+    public LocalDate getAsOfDate() {
+        return EpochDays.toLocalDate(asOfDay);
+    }
+    
+    /**
+     * @return jumlah peminjaman yang dihitung
+     */
+    public int getLoanCount() {
+        return loanCount;
+    }
+    
+    public double getTotalFines() {
+        return totalFines;
+    }
+    
+    /**
+     * @return denda dari buku yang tidak punya kategori
+     */
+    public double getUncategorizedFines() {
+        return uncategorizedFines;
+    }
+    
+    /**
+     * @return total denda per anggota, hanya anggota yang dendanya lebih dari nol
+     */
+    public Map<Member, Double> getMemberTotals() {
+        return memberTotals;
+    }
+    
+    /**
+     * Buku dengan beberapa kategori dihitung di setiap kategorinya, jadi jumlah semua
+     * kategori bisa melebihi total keseluruhan.
+     *
+     * @return total denda per kategori, hanya kategori yang dendanya lebih dari nol
+     */
+    public Map<BookCategory, Double> getCategoryTotals() {
+        return categoryTotals;
+    }
+    
+    public double getMemberTotal(Member member) {
+        return memberTotals.getOrDefault(member, 0.0);
+    }
+    
+    public double getCategoryTotal(BookCategory category) {
+        return categoryTotals.getOrDefault(category, 0.0);
+    }
+    
+    @Override
+    public String toString() {
+        return "FineReport{" +
+                "asOfDate=" + getAsOfDate() +
+                ", loans=" + loanCount +
+                ", totalFines=" + totalFines +
+                ", members=" + memberTotals.size() +
+                ", categories=" + categoryTotals.size() +
+                '}';
+    }
+}
\ No newline at end of file
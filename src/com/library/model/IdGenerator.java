@@ -0,0 +1,13 @@
+package com.library.model;
+
+/**
+ * Pembuat ID untuk peminjaman dan reservasi. Implementasi yang dipakai bisa diganti lewat
+ * IdGenerators.set(), misalnya untuk ID yang bisa ditebak saat demo.
+ */
+public interface IdGenerator {
+    /**
+     * @param prefix awalan ID, misalnya "L" untuk peminjaman
+     * @return ID baru yang belum pernah dikeluarkan generator ini
+     */
+    String nextId(String prefix);
+}
\ No newline at end of file
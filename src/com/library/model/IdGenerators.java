@@ -0,0 +1,23 @@
+package com.library.model;
+
+/**
+ * Tempat generator ID yang dipakai BookLoan dan Reservation. Bawaannya SnowflakeIdGenerator
+ * dengan nomor node dari properti sistem "lendify.node" (0 jika tidak diisi).
+ */
+public final class IdGenerators {
+    private static volatile IdGenerator current = new SnowflakeIdGenerator(Integer.getInteger("lendify.node", 0));
+    
+    private IdGenerators() {
+    }
+    
+    public static IdGenerator get() {
+        return current;
+    }
+    
+    public static void set(IdGenerator generator) {
+        if (generator == null) {
+            throw new IllegalArgumentException("Generator ID tidak boleh null");
+        }
+        current = generator;
+    }
+}
\ No newline at end of file
@@ -111,15 +111,31 @@ public class Librarian extends Person {
             throw new ReferenceOnlyException("Tidak dapat menerbitkan buku referensi: " + bookItem.getBook().getTitle());
         }
         
+        // salinan di rak ambil hanya boleh dipinjam anggota yang memesannya
+        Book book = bookItem.getBook();
+        Reservation hold = book.getHoldFor(bookItem);
+        if (hold != null && !hold.getMember().equals(member)) {
+            throw new InvalidOperationException("Salinan ini disimpan untuk reservasi " + hold.getMember().getName() + ": " + book.getTitle());
+        }
+        
         // periksa apakah buku ada
-        if (!bookItem.isAvailable()) {
-            throw new InvalidOperationException("Buku tidak tersedia untuk pembayaran: " + bookItem.getBook().getTitle());
+        if (hold == null && !bookItem.isAvailable()) {
+            throw new InvalidOperationException("Buku tidak tersedia untuk pembayaran: " + book.getTitle());
         }
         
+        book.claimHold(bookItem);
         try {
             BookLoan bookLoan = member.checkoutBook(bookItem);
+            // peminjaman oleh pemesan memenuhi reservasinya, baik dari rak ambil maupun salinan lain
+            Reservation reservation = hold != null ? hold : findPendingReservation(book, member);
+            if (reservation != null) {
+                reservation.markAsFulfilled();
+            }
             return bookLoan;
         } catch (Exception e) {
+            if (hold != null) {
+                book.restoreHold(bookItem, hold);
+            }
             throw new InvalidOperationException("Terjadi kesalahan saat menerbitkan buku: " + e.getMessage());
         }
     }
@@ -133,20 +149,21 @@ public class Librarian extends Person {
         BookItem returnedItem = bookLoan.getBookItem();
         member.returnBook(bookLoan);
         
-        // cek apakah ada reservasi yang menunggu
+        // cek apakah ada reservasi yang menunggu (antrean urut yang paling lama menunggu)
         Book book = returnedItem.getBook();
-        for (Reservation reservation : book.getReservations()) {
-            if (reservation.getStatus() == ReservationStatus.PENDING) {
-                try {
-                    // Coba pinjamkan buku ke anggota yang melakukan reservasi
-                    BookLoan newLoan = issueBook(reservation.getMember(), returnedItem);
-                    reservation.setStatus(ReservationStatus.FULFILLED);
-                    System.out.println("Reservasi yang tertunda sedang diproses untuk: " + reservation.getMember().getName());
-                    System.out.println("Buku yang diterbitkan dengan ID pinjaman: " + newLoan.getLoanId());
-                    break; // Hanya proses satu reservasi (yang paling lama menunggu)
-                } catch (Exception e) {
-                    System.out.println("Gagal memproses reservasi untuk " + reservation.getMember().getName() + ": " + e.getMessage());
-                }
+        if (!book.hasPendingReservations()) {
+            return;
+        }
+        
+        for (Reservation reservation : book.getPendingReservations()) {
+            try {
+                // Coba pinjamkan buku ke anggota yang melakukan reservasi
+                BookLoan newLoan = issueBook(reservation.getMember(), returnedItem);
+                System.out.println("Reservasi yang tertunda sedang diproses untuk: " + reservation.getMember().getName());
+                System.out.println("Buku yang diterbitkan dengan ID pinjaman: " + newLoan.getLoanId());
+                break; // Hanya proses satu reservasi (yang paling lama menunggu)
+            } catch (Exception e) {
+                System.out.println("Gagal memproses reservasi untuk " + reservation.getMember().getName() + ": " + e.getMessage());
             }
         }
     }
@@ -187,8 +204,20 @@ public class Librarian extends Person {
         }
         
         Book book = reservation.getBook();
+        // salinan yang sudah disimpan untuk reservasi ini dipinjamkan lebih dulu
+        BookItem heldItem = book.getHeldItemFor(reservation.getMember());
+        if (heldItem != null && book.getHoldFor(heldItem) == reservation) {
+            try {
+                BookLoan loan = issueBook(reservation.getMember(), heldItem);
+                System.out.println("Buku berhasil diterbitkan. ID Peminjaman: " + loan.getLoanId());
+                return;
+            } catch (ReferenceOnlyException e) {
+                throw new InvalidOperationException(e.getMessage());
+            }
+        }
+        
         // cek apakah ada buku yang tersedia
-        if (book.getAvailableItems().isEmpty()) {
+        if (!book.hasAvailableItems()) {
             // tidak ada buku tersedia, tetap dalam status PENDING
             System.out.println("Tidak ada salinan yang tersedia. Reservasi masih dalam status PENDING.");
             System.out.println("Reservasi akan diproses ketika salinannya tersedia.");
@@ -199,7 +228,6 @@ public class Librarian extends Person {
         for (BookItem bookItem : book.getAvailableItems()) {
             try {
                 BookLoan loan = issueBook(reservation.getMember(), bookItem);
-                reservation.setStatus(ReservationStatus.FULFILLED);
                 System.out.println("Buku berhasil diterbitkan. ID Peminjaman: " + loan.getLoanId());
                 return;
             } catch (Exception e) {
@@ -212,6 +240,15 @@ public class Librarian extends Person {
         throw new InvalidOperationException("Gagal menerbitkan buku untuk reservasi.");
     }
     
+    private Reservation findPendingReservation(Book book, Member member) {
+        for (Reservation reservation : book.getPendingReservations()) {
+            if (reservation.getMember().equals(member)) {
+                return reservation;
+            }
+        }
+        return null;
+    }
+    
     @Override
     public String toString() {
         return "Librarian{" +
@@ -2,7 +2,6 @@ package com.library.model;
 
 import java.util.ArrayList;
 import java.util.List;
-import java.util.stream.Collectors;
 
 public class Library {
     private String name;
@@ -53,17 +52,55 @@ public class Library {
     }
     
     public List<Book> searchByTitle(String title) {
-        String titleLower = title.toLowerCase();
-        return collection.getBooks().stream()
-                .filter(book -> book.getTitle().toLowerCase().contains(titleLower))
-                .collect(Collectors.toList());
+        return collection.searchByTitle(title);
+    }
+    
+    public List<Book> phoneticSearchByAuthor(String author) {
+        return collection.phoneticSearchByAuthor(author);
+    }
+    
+    public Book findBookByIsbn(String isbn) {
+        return collection.findBookByIsbn(isbn);
     }
     
     public List<Book> searchByAuthor(String author) {
-        String authorLower = author.toLowerCase();
-        return collection.getBooks().stream()
-                .filter(book -> book.getAuthor().toLowerCase().contains(authorLower))
-                .collect(Collectors.toList());
+        return collection.searchByAuthor(author);
+    }
+    
+    public List<Book> query(String query) {
+        return collection.query(query);
+    }
+    
+    public List<Book> query(String query, String defaultField) {
+        return collection.query(query, defaultField);
+    }
+    
+    public SearchPage query(String query, String defaultField, int pageSize, String cursorToken) {
+        return collection.query(query, defaultField, pageSize, cursorToken);
+    }
+    
+    public List<Book> searchRanked(String query, int limit) {
+        return collection.searchRanked(query, limit);
+    }
+    
+    public FacetedSearchResult searchFaceted(String query, BookFilter filter) {
+        return collection.searchFaceted(query, filter);
+    }
+    
+    public List<Book> fuzzySearchByTitle(String title) {
+        return collection.fuzzySearchByTitle(title);
+    }
+    
+    public List<Book> fuzzySearchByAuthor(String author) {
+        return collection.fuzzySearchByAuthor(author);
+    }
+    
+    public String didYouMeanTitle(String title) {
+        return collection.didYouMeanTitle(title);
+    }
+    
+    public String didYouMeanAuthor(String author) {
+        return collection.didYouMeanAuthor(author);
     }
     
     public List<Book> searchByCategory(BookCategory category) {
@@ -78,6 +115,10 @@ public class Library {
         collection.addBookToCategory(book, category);
     }
     
+    public void removeBookFromCategory(Book book, BookCategory category) {
+        collection.removeBookFromCategory(book, category);
+    }
+    
     public void addCategory(BookCategory category) {
         collection.addCategory(category);
     }
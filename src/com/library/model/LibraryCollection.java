@@ -1,39 +1,132 @@
 package com.library.model;
 
+import com.library.enums.BookField;
+import com.library.enums.BookFormat;
+import com.library.enums.Language;
+import com.library.search.AutocompleteIndex;
+import com.library.search.Bm25Ranker;
+import com.library.search.FacetIndex;
+import com.library.search.InvertedIndex;
+import com.library.search.IsbnRegistry;
+import com.library.search.OrdinalBitmap;
+import com.library.search.PhoneticIndex;
+import com.library.search.PostingList;
+import com.library.search.QueryParser;
+import com.library.search.QueryTerm;
+import com.library.search.SearchCache;
+import com.library.search.Tokenizer;
+import com.library.search.TrigramIndex;
+import com.library.search.YearIndex;
+
 import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.function.Predicate;
+import java.util.function.Supplier;
 import java.util.stream.Collectors;
 
 public class LibraryCollection {
+    private static final int SEARCH_CACHE_CAPACITY = 256;
+    
     private List<Book> books;
     private List<BookCategory> categories;
     private Map<BookCategory, List<Book>> categoryBooks;
     
+    // indeks pencarian, buku diidentifikasi dengan ordinal (urutan penambahan)
+    // metode yang membaca/mengubah indeks synchronized karena pencarian GUI berjalan di thread background
+    private List<Book> ordinalBooks;
+    private Map<Book, Integer> ordinals;
+    private InvertedIndex titleIndex;
+    private InvertedIndex authorIndex;
+    private InvertedIndex publisherIndex;
+    private InvertedIndex descriptionIndex;
+    private TrigramIndex titleGrams;
+    private TrigramIndex authorGrams;
+    private PhoneticIndex authorPhonetics;
+    private IsbnRegistry isbnRegistry;
+    private AutocompleteIndex titleSuggestions;
+    private AutocompleteIndex authorSuggestions;
+    private Bm25Ranker ranker;
+    private OrdinalBitmap allBooks;
+    private FacetIndex<BookFormat> formatFacets;
+    private FacetIndex<Language> languageFacets;
+    private FacetIndex<Integer> decadeFacets;
+    private YearIndex yearIndex;
+    private FacetIndex<BookCategory> categoryFacets;
+    private BookChangeListener indexUpdater;
+    
+    // cache hasil pencarian (ordinal), entri basi dikenali dari epoch mutasi katalog
+    private SearchCache<int[]> searchCache;
+    private long epoch;
+    
     // konstruktor
     public LibraryCollection() {
         this.books = new ArrayList<>();
         this.categories = new ArrayList<>();
         this.categoryBooks = new HashMap<>();
+        this.ordinalBooks = new ArrayList<>();
+        this.ordinals = new HashMap<>();
+        this.titleIndex = new InvertedIndex(true);
+        this.authorIndex = new InvertedIndex(true);
+        this.publisherIndex = new InvertedIndex();
+        this.descriptionIndex = new InvertedIndex();
+        this.titleGrams = new TrigramIndex();
+        this.authorGrams = new TrigramIndex();
+        this.authorPhonetics = new PhoneticIndex();
+        this.isbnRegistry = new IsbnRegistry();
+        this.titleSuggestions = new AutocompleteIndex();
+        this.authorSuggestions = new AutocompleteIndex();
+        this.ranker = new Bm25Ranker();
+        this.ranker.addField(titleIndex, 3.0);
+        this.ranker.addField(authorIndex, 2.0);
+        this.ranker.addField(descriptionIndex, 1.0);
+        this.allBooks = new OrdinalBitmap();
+        this.formatFacets = new FacetIndex<>();
+        this.languageFacets = new FacetIndex<>();
+        this.decadeFacets = new FacetIndex<>();
+        this.yearIndex = new YearIndex();
+        this.categoryFacets = new FacetIndex<>();
+        this.indexUpdater = this::updateIndexedField;
+        this.searchCache = new SearchCache<>(SEARCH_CACHE_CAPACITY);
+        this.epoch = 0;
     }
     
     // getters
-    public List<Book> getBooks() {
-        return books;
+    /**
+     * @return salinan daftar buku, aman diiterasi dari thread background
+     */
+    public synchronized List<Book> getBooks() {
+        return new ArrayList<>(books);
     }
     
     public List<BookCategory> getCategories() {
         return categories;
     }
     
+    public synchronized long getEpoch() {
+        return epoch;
+    }
+    
+    public synchronized SearchCache<int[]> getSearchCache() {
+        return searchCache;
+    }
+    
     // metode
-    public void addBook(Book book) {
+    /**
+     * @throws IllegalArgumentException jika buku lain dengan ISBN yang sama sudah ada di koleksi
+     */
+    public synchronized void addBook(Book book) {
+        checkIsbnAvailable(book);
         books.add(book);
+        indexBook(book);
     }
     
-    public void removeBook(Book book) {
+    public synchronized void removeBook(Book book) {
         books.remove(book);
+        unindexBook(book);
         
         // remove book from all categories
         for (BookCategory category : categories) {
@@ -44,19 +137,23 @@ public class LibraryCollection {
         }
     }
     
-    public void addCategory(BookCategory category) {
+    public synchronized void addCategory(BookCategory category) {
         categories.add(category);
         categoryBooks.put(category, new ArrayList<>());
     }
     
-    public void removeCategory(BookCategory category) {
+    public synchronized void removeCategory(BookCategory category) {
         categories.remove(category);
         categoryBooks.remove(category);
+        categoryFacets.removeValue(category);
+        epoch++;
     }
     
-    public void addBookToCategory(Book book, BookCategory category) {
+    public synchronized void addBookToCategory(Book book, BookCategory category) {
         if (!books.contains(book)) {
+            checkIsbnAvailable(book);
             books.add(book);
+            indexBook(book);
         }
         
         if (!categories.contains(category)) {
@@ -69,31 +166,879 @@ public class LibraryCollection {
             categoryBookList.add(book);
             category.addBook(book);
         }
+        book.addCategory(category);
+        
+        Integer ordinal = ordinals.get(book);
+        if (ordinal != null) {
+            categoryFacets.add(ordinal, category);
+        }
+        epoch++;
     }
     
-    public List<Book> getBooksInCategory(BookCategory category) {
-        return categoryBooks.getOrDefault(category, new ArrayList<>());
+    public synchronized void removeBookFromCategory(Book book, BookCategory category) {
+        List<Book> categoryBookList = categoryBooks.get(category);
+        if (categoryBookList != null) {
+            categoryBookList.remove(book);
+        }
+        book.removeCategory(category);
+        category.removeBook(book);
+        
+        Integer ordinal = ordinals.get(book);
+        if (ordinal != null) {
+            categoryFacets.remove(ordinal, category);
+        }
+        epoch++;
+    }
+    
+    // ISBN-10 dan ISBN-13 padanannya dianggap ISBN yang sama
+    private void checkIsbnAvailable(Book book) {
+        int owner = isbnRegistry.find(book.getISBN());
+        if (owner != IsbnRegistry.NOT_FOUND && ordinalBooks.get(owner) != book) {
+            throw new IllegalArgumentException("Buku dengan ISBN " + book.getISBN() + " sudah ada di koleksi");
+        }
+    }
+    
+    /**
+     * Cari buku berdasarkan ISBN-10 atau ISBN-13, dengan atau tanpa tanda hubung.
+     *
+     * @return buku dengan ISBN tersebut, atau null jika tidak ada
+     */
+    public synchronized Book findBookByIsbn(String isbn) {
+        int ordinal = isbnRegistry.find(isbn);
+        return ordinal == IsbnRegistry.NOT_FOUND ? null : ordinalBooks.get(ordinal);
+    }
+    
+    public synchronized List<Book> getBooksInCategory(BookCategory category) {
+        return new ArrayList<>(categoryBooks.getOrDefault(category, Collections.emptyList()));
+    }
+    
+    public synchronized List<Book> searchBooks(String query) {
+        String queryLower = query.toLowerCase();
+        return toBooks(cached("books:" + queryLower, () -> searchOrdinals(queryLower).toArray()));
+    }
+    
+    private int[] cached(String key, Supplier<int[]> search) {
+        int[] result = searchCache.get(key, epoch);
+        if (result == null) {
+            result = search.get();
+            searchCache.put(key, epoch, result);
+        }
+        return result;
     }
     
-    public List<Book> searchBooks(String query) {
+    /**
+     * Satu halaman hasil searchBooks dalam urutan ordinal (urutan penambahan buku).
+     * Posting list kandidat tiap field ditelusuri bersamaan mulai dari cursor dan
+     * hanya diverifikasi sampai halaman penuh, tanpa digabung lebih dulu.
+     *
+     * @param query kata kunci
+     * @param pageSize jumlah buku per halaman
+     * @param cursorToken cursor dari halaman sebelumnya, null untuk halaman pertama
+     * @throws IllegalArgumentException jika cursor atau ukuran halaman tidak valid
+     */
+    public synchronized SearchPage search(String query, int pageSize, String cursorToken) {
         String queryLower = query.toLowerCase();
+        return page(fieldCandidates(queryLower), book -> matchesQuery(book, queryLower), pageSize, cursorToken);
+    }
+    
+    private PostingList searchOrdinals(String queryLower) {
+        PostingList candidates = textCandidates(queryLower);
+        int[] candidateArray = candidates != null ? candidates.toArray() : allBooks.toArray();
+        return filterOrdinals(candidateArray, book -> matchesQuery(book, queryLower));
+    }
+    
+    /**
+     * @return kandidat dari indeks token (buku cocok jika salah satu field memuat query),
+     *         atau null jika query tanpa huruf/angka sehingga tidak bisa dijawab indeks
+     */
+    private PostingList textCandidates(String queryLower) {
+        List<PostingList> perField = fieldCandidates(queryLower);
+        if (perField == null) {
+            return null;
+        }
+        PostingList candidates = perField.get(0);
+        for (int i = 1; i < perField.size(); i++) {
+            candidates = candidates.union(perField.get(i));
+        }
+        return candidates;
+    }
+    
+    /**
+     * @return kandidat per field teks, atau null jika query tidak bisa dijawab indeks
+     */
+    private List<PostingList> fieldCandidates(String queryLower) {
+        List<PostingList> perField = new ArrayList<>();
+        for (InvertedIndex index : new InvertedIndex[] {titleIndex, authorIndex, publisherIndex, descriptionIndex}) {
+            PostingList candidates = index.candidates(queryLower);
+            if (candidates == null) {
+                return null;
+            }
+            perField.add(candidates);
+        }
+        return perField;
+    }
+    
+    /**
+     * @param candidates posting list kandidat yang terurut naik dan dibaca sebagai gabungannya,
+     *                   null berarti semua ordinal
+     */
+    private SearchPage page(List<PostingList> candidates, Predicate<Book> predicate, int pageSize, String cursorToken) {
+        SearchPage.checkPageSize(pageSize);
+        int start = SearchPage.decodeCursor(cursorToken);
         
-        return books.stream()
-                .filter(book -> 
-                        book.getTitle().toLowerCase().contains(queryLower) ||
-                        book.getAuthor().toLowerCase().contains(queryLower) ||
-                        book.getPublisher().toLowerCase().contains(queryLower) ||
-                        (book.getDescription() != null && book.getDescription().toLowerCase().contains(queryLower))
-                )
-                .collect(Collectors.toList());
+        int[] positions = null;
+        if (candidates != null) {
+            positions = new int[candidates.size()];
+            for (int i = 0; i < positions.length; i++) {
+                positions[i] = candidates.get(i).lowerBound(start);
+            }
+        }
+        
+        List<Book> results = new ArrayList<>();
+        int ordinal = start;
+        while (true) {
+            if (candidates != null) {
+                // ordinal berikutnya adalah kepala terkecil dari semua posting list
+                ordinal = Integer.MAX_VALUE;
+                for (int i = 0; i < positions.length; i++) {
+                    if (positions[i] < candidates.get(i).size()) {
+                        ordinal = Math.min(ordinal, candidates.get(i).get(positions[i]));
+                    }
+                }
+                if (ordinal == Integer.MAX_VALUE) {
+                    break;
+                }
+                for (int i = 0; i < positions.length; i++) {
+                    if (positions[i] < candidates.get(i).size() && candidates.get(i).get(positions[i]) == ordinal) {
+                        positions[i]++;
+                    }
+                }
+            } else if (ordinal >= ordinalBooks.size()) {
+                break;
+            }
+            
+            Book book = ordinalBooks.get(ordinal);
+            if (book != null && predicate.test(book)) {
+                if (results.size() == pageSize) {
+                    // masih ada hasil setelah halaman ini, halaman berikutnya mulai dari ordinal ini
+                    return new SearchPage(results, SearchPage.encodeCursor(ordinal));
+                }
+                results.add(book);
+            }
+            ordinal++;
+        }
+        return new SearchPage(results, null);
     }
     
-    public List<Book> getAvailableBooks() {
+    private PostingList filterOrdinals(int[] candidates, Predicate<Book> predicate) {
+        PostingList result = new PostingList();
+        for (int ordinal : candidates) {
+            Book book = ordinalBooks.get(ordinal);
+            if (book != null && predicate.test(book)) {
+                result.add(ordinal);
+            }
+        }
+        return result;
+    }
+    
+    /**
+     * Pencarian dengan query terstruktur, misalnya
+     * author:pramoedya year:1980..1995 lang:INDONESIAN format:PAPERBACK "bumi manusia".
+     *
+     * @param query teks query
+     * @return buku yang memenuhi semua klausa
+     * @throws IllegalArgumentException jika field atau nilainya tidak dikenal
+     */
+    public List<Book> query(String query) {
+        return query(query, null);
+    }
+    
+    /**
+     * @param query teks query
+     * @param defaultField null berarti query terstruktur di semua field teks; selain itu
+     *                     seluruh teks dicari sebagai satu frasa di field tersebut
+     */
+    public synchronized List<Book> query(String query, String defaultField) {
+        return toBooks(cached("query:" + defaultField + ":" + query.trim(), () -> queryOrdinals(query, defaultField)));
+    }
+    
+    /**
+     * Satu halaman hasil query dalam urutan ordinal. Hanya klausa paling selektif yang
+     * dievaluasi lewat indeks; ordinalnya ditelusuri mulai dari cursor dan klausa lain
+     * diverifikasi per buku sampai halaman penuh.
+     */
+    public synchronized SearchPage query(String query, String defaultField, int pageSize, String cursorToken) {
+        SearchPage.checkPageSize(pageSize);
+        int start = SearchPage.decodeCursor(cursorToken);
+        List<QueryStep> plan = plan(query, defaultField);
+        OrdinalBitmap driver = plan.isEmpty() ? allBooks : plan.get(0).evaluator.get();
+        
+        List<Book> results = new ArrayList<>(Math.min(pageSize, driver.cardinality()));
+        for (int ordinal = driver.nextOrdinal(start); ordinal >= 0; ordinal = driver.nextOrdinal(ordinal + 1)) {
+            Book book = ordinalBooks.get(ordinal);
+            if (book == null || !matchesPlan(book, plan)) {
+                continue;
+            }
+            if (results.size() == pageSize) {
+                return new SearchPage(results, SearchPage.encodeCursor(ordinal));
+            }
+            results.add(book);
+        }
+        return new SearchPage(results, null);
+    }
+    
+    private static boolean matchesPlan(Book book, List<QueryStep> plan) {
+        for (int i = 1; i < plan.size(); i++) {
+            if (!plan.get(i).verifier.test(book)) {
+                return false;
+            }
+        }
+        return true;
+    }
+    
+    private int[] queryOrdinals(String query, String defaultField) {
+        List<QueryStep> plan = plan(query, defaultField);
+        if (plan.isEmpty()) {
+            return allBooks.toArray();
+        }
+        
+        OrdinalBitmap candidates = null;
+        for (QueryStep step : plan) {
+            if (candidates == null) {
+                candidates = step.evaluator.get();
+            } else if (candidates.cardinality() <= step.estimate) {
+                // kandidat tinggal sedikit, cukup verifikasi satu per satu
+                OrdinalBitmap verified = new OrdinalBitmap();
+                for (int ordinal : candidates.toArray()) {
+                    if (step.verifier.test(ordinalBooks.get(ordinal))) {
+                        verified.add(ordinal);
+                    }
+                }
+                candidates = verified;
+            } else {
+                candidates = candidates.and(step.evaluator.get());
+            }
+            
+            if (candidates.isEmpty()) {
+                break;
+            }
+        }
+        return candidates.toArray();
+    }
+    
+    /**
+     * @return klausa query yang sudah dikompilasi, klausa paling selektif lebih dulu
+     */
+    private List<QueryStep> plan(String query, String defaultField) {
+        List<QueryStep> plan = new ArrayList<>();
+        if (defaultField != null) {
+            // pencarian biasa per field: tidak ada sintaks field:nilai, teks utuh jadi satu frasa
+            String value = query.trim();
+            if (value.isEmpty()) {
+                throw new IllegalArgumentException("Kata kunci tidak boleh kosong");
+            }
+            plan.add(compile(defaultField, value));
+        } else {
+            for (QueryTerm term : QueryParser.parse(query)) {
+                plan.add(compile(term.getField(), term.getValue().trim()));
+            }
+        }
+        
+        plan.sort(Comparator.comparingInt(step -> step.estimate));
+        return plan;
+    }
+    
+    private QueryStep compile(String field, String value) {
+        String valueLower = value.toLowerCase();
+        
+        switch (field == null ? "" : field) {
+            case "":
+                return new QueryStep(
+                        titleIndex.estimate(valueLower) + authorIndex.estimate(valueLower)
+                                + publisherIndex.estimate(valueLower) + descriptionIndex.estimate(valueLower),
+                        () -> OrdinalBitmap.of(searchOrdinals(valueLower)),
+                        book -> matchesQuery(book, valueLower));
+            case "title":
+            case "judul":
+                return new QueryStep(titleGrams.estimate(valueLower),
+                        () -> OrdinalBitmap.of(titleGrams.search(valueLower)),
+                        book -> Tokenizer.normalize(book.getTitle()).contains(valueLower));
+            case "author":
+            case "pengarang":
+                return new QueryStep(authorGrams.estimate(valueLower),
+                        () -> OrdinalBitmap.of(authorGrams.search(valueLower)),
+                        book -> Tokenizer.normalize(book.getAuthor()).contains(valueLower));
+            case "publisher":
+            case "penerbit":
+                Predicate<Book> publisherMatches = book -> Tokenizer.normalize(book.getPublisher()).contains(valueLower);
+                return new QueryStep(publisherIndex.estimate(valueLower),
+                        () -> bitmapOf(publisherIndex.candidates(valueLower), publisherMatches),
+                        publisherMatches);
+            case "isbn":
+                // ISBN-10 dan ISBN-13 dengan atau tanpa tanda hubung dianggap sama
+                int isbnOrdinal = isbnRegistry.find(value);
+                return new QueryStep(isbnOrdinal == IsbnRegistry.NOT_FOUND ? 0 : 1, () -> {
+                    OrdinalBitmap result = new OrdinalBitmap();
+                    if (isbnOrdinal != IsbnRegistry.NOT_FOUND) {
+                        result.add(isbnOrdinal);
+                    }
+                    return result;
+                }, book -> ordinals.get(book) == isbnOrdinal);
+            case "year":
+            case "tahun":
+                return compileYearRange(value);
+            case "lang":
+            case "language":
+            case "bahasa":
+                Language language = parseEnum(Language.class, value, "Bahasa");
+                return new QueryStep(languageFacets.get(language).cardinality(),
+                        () -> languageFacets.get(language),
+                        book -> book.getLanguage() == language);
+            case "format":
+                BookFormat format = parseEnum(BookFormat.class, value, "Format");
+                return new QueryStep(formatFacets.get(format).cardinality(),
+                        () -> formatFacets.get(format),
+                        book -> book.getFormat() == format);
+            case "category":
+            case "kategori":
+                BookCategory category = findCategory(value);
+                if (category == null) {
+                    return new QueryStep(0, OrdinalBitmap::new, book -> false);
+                }
+                return new QueryStep(categoryFacets.get(category).cardinality(),
+                        () -> categoryFacets.get(category),
+                        book -> categoryFacets.get(category).contains(ordinals.get(book)));
+            default:
+                throw new IllegalArgumentException("Field pencarian tidak dikenal: " + field);
+        }
+    }
+    
+    private QueryStep compileYearRange(String value) {
+        int separator = value.indexOf("..");
+        int from;
+        int to;
+        try {
+            if (separator < 0) {
+                from = Integer.parseInt(value.trim());
+                to = from;
+            } else {
+                String start = value.substring(0, separator).trim();
+                String end = value.substring(separator + 2).trim();
+                from = start.isEmpty() ? Integer.MIN_VALUE : Integer.parseInt(start);
+                to = end.isEmpty() ? Integer.MAX_VALUE : Integer.parseInt(end);
+            }
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Rentang tahun tidak valid: " + value);
+        }
+        
+        // jumlah dan isi rentang langsung dari indeks tahun, tanpa verifikasi per buku
+        return new QueryStep(yearIndex.count(from, to), () -> {
+            OrdinalBitmap result = new OrdinalBitmap();
+            for (int ordinal : yearIndex.range(from, to)) {
+                result.add(ordinal);
+            }
+            return result;
+        }, book -> book.getPublicationYear() >= from && book.getPublicationYear() <= to);
+    }
+    
+    private OrdinalBitmap bitmapOf(PostingList candidates, Predicate<Book> predicate) {
+        int[] ordinalsToCheck = candidates != null ? candidates.toArray() : allBooks.toArray();
+        return OrdinalBitmap.of(filterOrdinals(ordinalsToCheck, predicate));
+    }
+    
+    private BookCategory findCategory(String name) {
+        for (BookCategory category : categories) {
+            if (category.getName().equalsIgnoreCase(name)) {
+                return category;
+            }
+        }
+        return null;
+    }
+    
+    private static <E extends Enum<E>> E parseEnum(Class<E> type, String value, String label) {
+        for (E constant : type.getEnumConstants()) {
+            if (constant.name().equalsIgnoreCase(value)) {
+                return constant;
+            }
+        }
+        throw new IllegalArgumentException(label + " tidak dikenal: " + value);
+    }
+    
+    /**
+     * Pencarian berperingkat BM25 atas judul, pengarang, dan deskripsi.
+     *
+     * @param query kata kunci
+     * @param limit jumlah hasil maksimum
+     * @return buku paling relevan, terurut dari skor tertinggi
+     */
+    public synchronized List<Book> searchRanked(String query, int limit) {
+        String normalized = Tokenizer.normalize(query);
+        return toBooks(cached("ranked:" + limit + ":" + normalized, () -> ranker.topK(normalized, limit)));
+    }
+    
+    /**
+     * Pencarian teks (seperti searchBooks) yang disaring dengan facet.
+     *
+     * @param query kata kunci, kosong berarti seluruh koleksi
+     * @param filter facet yang dipilih
+     * @return buku yang lolos filter beserta jumlah per nilai facet
+     */
+    public synchronized FacetedSearchResult searchFaceted(String query, BookFilter filter) {
+        if (query == null || query.trim().isEmpty()) {
+            return facet(allBooks, filter, null);
+        }
+        return applyFacets(searchBooks(query), filter);
+    }
+    
+    /**
+     * Terapkan filter facet pada hasil pencarian apa pun. Urutan hasil (misalnya relevansi
+     * atau kemiripan) dipertahankan.
+     */
+    public synchronized FacetedSearchResult applyFacets(List<Book> results, BookFilter filter) {
+        OrdinalBitmap scope = new OrdinalBitmap();
+        for (Book book : results) {
+            Integer ordinal = ordinals.get(book);
+            if (ordinal != null) {
+                scope.add(ordinal);
+            }
+        }
+        return facet(scope, filter, results);
+    }
+    
+    /**
+     * Saring buku dengan facet tanpa menghitung jumlah per facet, misalnya untuk baris hasil
+     * yang masih mengalir masuk.
+     *
+     * @return buku yang lolos filter, dalam urutan asli
+     */
+    public synchronized List<Book> filter(List<Book> books, BookFilter filter) {
+        if (filter.isEmpty()) {
+            return new ArrayList<>(books);
+        }
+        
+        OrdinalBitmap[] masks = facetMasks(filter);
+        List<Book> results = new ArrayList<>();
+        for (Book book : books) {
+            Integer ordinal = ordinals.get(book);
+            if (ordinal != null && matchesMasks(ordinal, masks)) {
+                results.add(book);
+            }
+        }
+        return results;
+    }
+    
+    // order null berarti hasil diurutkan menurut ordinal
+    private FacetedSearchResult facet(OrdinalBitmap scope, BookFilter filter, List<Book> order) {
+        OrdinalBitmap[] masks = facetMasks(filter);
+        OrdinalBitmap matched = restrict(scope, masks, -1);
+        List<Book> results = new ArrayList<>(matched.cardinality());
+        if (order == null) {
+            for (int ordinal : matched.toArray()) {
+                results.add(ordinalBooks.get(ordinal));
+            }
+        } else {
+            for (Book book : order) {
+                Integer ordinal = ordinals.get(book);
+                if (ordinal != null && matched.contains(ordinal)) {
+                    results.add(book);
+                }
+            }
+        }
+        
+        // jumlah per facet dihitung tanpa filter facet itu sendiri
+        return new FacetedSearchResult(results,
+                formatFacets.counts(restrict(scope, masks, 0)),
+                languageFacets.counts(restrict(scope, masks, 1)),
+                decadeFacets.counts(restrict(scope, masks, 2)),
+                categoryFacets.counts(restrict(scope, masks, 3)));
+    }
+    
+    // null berarti facet tersebut tidak difilter
+    private OrdinalBitmap[] facetMasks(BookFilter filter) {
+        return new OrdinalBitmap[] {
+            filter.getFormats().isEmpty() ? null : formatFacets.anyOf(filter.getFormats()),
+            filter.getLanguages().isEmpty() ? null : languageFacets.anyOf(filter.getLanguages()),
+            filter.getDecades().isEmpty() ? null : decadeFacets.anyOf(filter.getDecades()),
+            filter.getCategories().isEmpty() ? null : categoryFacets.anyOf(filter.getCategories())
+        };
+    }
+    
+    private static boolean matchesMasks(int ordinal, OrdinalBitmap[] masks) {
+        for (OrdinalBitmap mask : masks) {
+            if (mask != null && !mask.contains(ordinal)) {
+                return false;
+            }
+        }
+        return true;
+    }
+    
+    private static OrdinalBitmap restrict(OrdinalBitmap scope, OrdinalBitmap[] masks, int skip) {
+        OrdinalBitmap result = scope;
+        for (int i = 0; i < masks.length && !result.isEmpty(); i++) {
+            if (i != skip && masks[i] != null) {
+                result = result.and(masks[i]);
+            }
+        }
+        return result;
+    }
+    
+    public synchronized List<Book> searchByTitle(String title) {
+        String titleLower = title.toLowerCase();
+        return toBooks(cached("title:" + titleLower, () -> titleGrams.search(titleLower).toArray()));
+    }
+    
+    /**
+     * Cari pengarang yang namanya memuat kata kunci persis (substring).
+     * Varian ejaan nama dicari terpisah lewat phoneticSearchByAuthor.
+     */
+    public synchronized List<Book> searchByAuthor(String author) {
+        String authorLower = author.toLowerCase();
+        return toBooks(cached("author:" + authorLower, () -> authorGrams.search(authorLower).toArray()));
+    }
+    
+    /**
+     * Cari pengarang lewat kunci fonetik nama, satu lookup hash per token.
+     * Menemukan varian ejaan (Soekarno/Sukarno, Djoko/Joko, Tjokro/Cokro).
+     */
+    public synchronized List<Book> phoneticSearchByAuthor(String author) {
+        return toBooks(authorPhonetics.search(Tokenizer.normalize(author)));
+    }
+    
+    /**
+     * Pencarian judul yang toleran salah ketik, hasil terurut dari yang paling mirip.
+     */
+    public synchronized List<Book> fuzzySearchByTitle(String title) {
+        return fuzzySearch(titleIndex, title);
+    }
+    
+    /**
+     * Pencarian pengarang yang toleran salah ketik, hasil terurut dari yang paling mirip.
+     */
+    public synchronized List<Book> fuzzySearchByAuthor(String author) {
+        return fuzzySearch(authorIndex, author);
+    }
+    
+    /**
+     * @return judul hasil koreksi ejaan ("apakah maksud Anda"), atau null jika tidak ada
+     */
+    public synchronized String didYouMeanTitle(String title) {
+        return correctSpelling(titleIndex, title);
+    }
+    
+    /**
+     * @return nama pengarang hasil koreksi ejaan, atau null jika tidak ada
+     */
+    public synchronized String didYouMeanAuthor(String author) {
+        return correctSpelling(authorIndex, author);
+    }
+    
+    private List<Book> fuzzySearch(InvertedIndex index, String query) {
+        List<String> tokens = Tokenizer.tokenize(Tokenizer.normalize(query));
+        if (tokens.isEmpty()) {
+            return new ArrayList<>();
+        }
+        
+        // setiap token query harus cocok (mirip) dengan salah satu term buku
+        PostingList matches = null;
+        Map<Integer, Integer> totalDistance = new HashMap<>();
+        for (String token : tokens) {
+            PostingList tokenMatches = new PostingList();
+            Map<Integer, Integer> tokenDistance = new HashMap<>();
+            for (Map.Entry<String, Integer> similar : index.similarTerms(token, maxEdits(token)).entrySet()) {
+                PostingList postings = index.getPostings(similar.getKey());
+                for (int i = 0; i < postings.size(); i++) {
+                    tokenDistance.merge(postings.get(i), similar.getValue(), Math::min);
+                }
+                tokenMatches = tokenMatches.union(postings);
+            }
+            
+            matches = matches == null ? tokenMatches : matches.intersect(tokenMatches);
+            if (matches.isEmpty()) {
+                return new ArrayList<>();
+            }
+            for (Map.Entry<Integer, Integer> entry : tokenDistance.entrySet()) {
+                totalDistance.merge(entry.getKey(), entry.getValue(), Integer::sum);
+            }
+        }
+        
+        List<Book> results = toBooks(matches);
+        results.sort(Comparator.comparingInt(book -> totalDistance.get(ordinals.get(book))));
+        return results;
+    }
+    
+    private String correctSpelling(InvertedIndex index, String query) {
+        List<String> tokens = Tokenizer.tokenize(Tokenizer.normalize(query));
+        if (tokens.isEmpty()) {
+            return null;
+        }
+        
+        List<String> corrected = new ArrayList<>();
+        for (String token : tokens) {
+            String best = null;
+            int bestDistance = Integer.MAX_VALUE;
+            int bestFrequency = 0;
+            for (Map.Entry<String, Integer> similar : index.similarTerms(token, maxEdits(token)).entrySet()) {
+                int distance = similar.getValue();
+                int frequency = index.getPostings(similar.getKey()).size();
+                if (distance < bestDistance || (distance == bestDistance && frequency > bestFrequency)) {
+                    best = similar.getKey();
+                    bestDistance = distance;
+                    bestFrequency = frequency;
+                }
+            }
+            if (best == null) {
+                return null;
+            }
+            corrected.add(best);
+        }
+        
+        return corrected.equals(tokens) ? null : String.join(" ", corrected);
+    }
+    
+    private static int maxEdits(String token) {
+        // token pendek dengan jarak 2 akan cocok dengan hampir semua term
+        if (token.length() <= 2) {
+            return 0;
+        }
+        return token.length() <= 4 ? 1 : 2;
+    }
+    
+    /**
+     * Saran type-ahead untuk judul, diurutkan berdasarkan jumlah salinan.
+     */
+    public synchronized List<String> suggestTitles(String prefix, int limit) {
+        return titleSuggestions.suggest(prefix, limit);
+    }
+    
+    /**
+     * Saran type-ahead untuk pengarang, diurutkan berdasarkan jumlah salinan.
+     */
+    public synchronized List<String> suggestAuthors(String prefix, int limit) {
+        return authorSuggestions.suggest(prefix, limit);
+    }
+    
+    private List<Book> toBooks(int[] ordinalArray) {
+        List<Book> results = new ArrayList<>(ordinalArray.length);
+        for (int ordinal : ordinalArray) {
+            Book book = ordinalBooks.get(ordinal);
+            if (book != null) {
+                results.add(book);
+            }
+        }
+        return results;
+    }
+    
+    private List<Book> toBooks(PostingList postings) {
+        List<Book> results = new ArrayList<>(postings.size());
+        for (int i = 0; i < postings.size(); i++) {
+            Book book = ordinalBooks.get(postings.get(i));
+            if (book != null) {
+                results.add(book);
+            }
+        }
+        return results;
+    }
+    
+    private boolean matchesQuery(Book book, String queryLower) {
+        return Tokenizer.normalize(book.getTitle()).contains(queryLower) ||
+                Tokenizer.normalize(book.getAuthor()).contains(queryLower) ||
+                Tokenizer.normalize(book.getPublisher()).contains(queryLower) ||
+                Tokenizer.normalize(book.getDescription()).contains(queryLower);
+    }
+    
+    public synchronized List<Book> getAvailableBooks() {
         return books.stream()
-                .filter(book -> !book.getAvailableItems().isEmpty())
+                .filter(Book::hasAvailableItems)
                 .collect(Collectors.toList());
     }
     
+    /**
+     * Satu halaman seluruh koleksi dalam urutan penambahan, disaring dengan filter.
+     *
+     * @param filter syarat buku, null berarti semua buku
+     */
+    public synchronized SearchPage getBooks(Predicate<Book> filter, int pageSize, String cursorToken) {
+        return page(null, filter != null ? filter : book -> true, pageSize, cursorToken);
+    }
+    
+    public synchronized void clear() {
+        for (Book book : ordinals.keySet()) {
+            book.removeChangeListener(indexUpdater);
+        }
+        books.clear();
+        categories.clear();
+        categoryBooks.clear();
+        ordinalBooks.clear();
+        ordinals.clear();
+        titleIndex.clear();
+        authorIndex.clear();
+        publisherIndex.clear();
+        descriptionIndex.clear();
+        titleGrams.clear();
+        authorGrams.clear();
+        authorPhonetics.clear();
+        isbnRegistry.clear();
+        titleSuggestions.clear();
+        authorSuggestions.clear();
+        allBooks.clear();
+        formatFacets.clear();
+        languageFacets.clear();
+        decadeFacets.clear();
+        yearIndex.clear();
+        categoryFacets.clear();
+        searchCache.clear();
+        epoch++;
+    }
+    
+    // indeks
+    private void indexBook(Book book) {
+        if (ordinals.containsKey(book)) {
+            return;
+        }
+        
+        int ordinal = ordinalBooks.size();
+        ordinalBooks.add(book);
+        ordinals.put(book, ordinal);
+        
+        titleIndex.add(ordinal, Tokenizer.normalize(book.getTitle()));
+        authorIndex.add(ordinal, Tokenizer.normalize(book.getAuthor()));
+        publisherIndex.add(ordinal, Tokenizer.normalize(book.getPublisher()));
+        descriptionIndex.add(ordinal, Tokenizer.normalize(book.getDescription()));
+        titleGrams.add(ordinal, Tokenizer.normalize(book.getTitle()));
+        authorGrams.add(ordinal, Tokenizer.normalize(book.getAuthor()));
+        authorPhonetics.add(ordinal, Tokenizer.normalize(book.getAuthor()));
+        isbnRegistry.register(ordinal, book.getISBN());
+        titleSuggestions.add(book.getTitle(), book.getItems().size());
+        authorSuggestions.add(book.getAuthor(), book.getItems().size());
+        allBooks.add(ordinal);
+        formatFacets.add(ordinal, book.getFormat());
+        languageFacets.add(ordinal, book.getLanguage());
+        decadeFacets.add(ordinal, BookFilter.decadeOf(book.getPublicationYear()));
+        yearIndex.add(ordinal, book.getPublicationYear());
+        book.addChangeListener(indexUpdater);
+        epoch++;
+    }
+    
+    private void unindexBook(Book book) {
+        Integer ordinal = ordinals.remove(book);
+        if (ordinal == null) {
+            return;
+        }
+        
+        ordinalBooks.set(ordinal, null);
+        book.removeChangeListener(indexUpdater);
+        titleIndex.remove(ordinal, Tokenizer.normalize(book.getTitle()));
+        authorIndex.remove(ordinal, Tokenizer.normalize(book.getAuthor()));
+        publisherIndex.remove(ordinal, Tokenizer.normalize(book.getPublisher()));
+        descriptionIndex.remove(ordinal, Tokenizer.normalize(book.getDescription()));
+        titleGrams.remove(ordinal, Tokenizer.normalize(book.getTitle()));
+        authorGrams.remove(ordinal, Tokenizer.normalize(book.getAuthor()));
+        authorPhonetics.remove(ordinal, Tokenizer.normalize(book.getAuthor()));
+        isbnRegistry.unregister(ordinal, book.getISBN());
+        titleSuggestions.remove(book.getTitle(), book.getItems().size());
+        authorSuggestions.remove(book.getAuthor(), book.getItems().size());
+        allBooks.remove(ordinal);
+        formatFacets.remove(ordinal, book.getFormat());
+        languageFacets.remove(ordinal, book.getLanguage());
+        decadeFacets.remove(ordinal, BookFilter.decadeOf(book.getPublicationYear()));
+        yearIndex.remove(ordinal, book.getPublicationYear());
+        for (BookCategory category : categories) {
+            categoryFacets.remove(ordinal, category);
+        }
+        epoch++;
+    }
+    
+    private synchronized void updateIndexedField(Book book, BookField field, Object oldValue, Object newValue) {
+        Integer ordinal = ordinals.get(book);
+        if (ordinal == null) {
+            return;
+        }
+        
+        // perubahan jumlah salinan (sirkulasi) tidak mengubah hasil pencarian
+        if (field != BookField.ITEMS) {
+            epoch++;
+        }
+        
+        // hanya posting milik field yang berubah yang diperbarui
+        switch (field) {
+            case TITLE:
+                reindex(titleIndex, ordinal, (String) oldValue, (String) newValue);
+                reindex(titleGrams, ordinal, (String) oldValue, (String) newValue);
+                titleSuggestions.remove((String) oldValue, book.getItems().size());
+                titleSuggestions.add((String) newValue, book.getItems().size());
+                break;
+            case AUTHOR:
+                reindex(authorIndex, ordinal, (String) oldValue, (String) newValue);
+                reindex(authorGrams, ordinal, (String) oldValue, (String) newValue);
+                authorPhonetics.remove(ordinal, Tokenizer.normalize((String) oldValue));
+                authorPhonetics.add(ordinal, Tokenizer.normalize((String) newValue));
+                authorSuggestions.remove((String) oldValue, book.getItems().size());
+                authorSuggestions.add((String) newValue, book.getItems().size());
+                break;
+            case ISBN:
+                // ISBN baru yang bentrok ditolak sebelum pendaftaran lama dilepas
+                int owner = isbnRegistry.find((String) newValue);
+                if (owner != IsbnRegistry.NOT_FOUND && owner != ordinal) {
+                    throw new IllegalArgumentException("ISBN sudah terdaftar untuk buku lain: " + newValue);
+                }
+                isbnRegistry.unregister(ordinal, (String) oldValue);
+                isbnRegistry.register(ordinal, (String) newValue);
+                break;
+            case PUBLISHER:
+                reindex(publisherIndex, ordinal, (String) oldValue, (String) newValue);
+                break;
+            case DESCRIPTION:
+                reindex(descriptionIndex, ordinal, (String) oldValue, (String) newValue);
+                break;
+            case FORMAT:
+                formatFacets.remove(ordinal, (BookFormat) oldValue);
+                formatFacets.add(ordinal, (BookFormat) newValue);
+                break;
+            case LANGUAGE:
+                languageFacets.remove(ordinal, (Language) oldValue);
+                languageFacets.add(ordinal, (Language) newValue);
+                break;
+            case PUBLICATION_YEAR:
+                decadeFacets.remove(ordinal, BookFilter.decadeOf((Integer) oldValue));
+                decadeFacets.add(ordinal, BookFilter.decadeOf((Integer) newValue));
+                yearIndex.remove(ordinal, (Integer) oldValue);
+                yearIndex.add(ordinal, (Integer) newValue);
+                break;
+            case ITEMS:
+                // jumlah salinan menjadi bobot popularitas saran
+                int delta = (Integer) newValue - (Integer) oldValue;
+                titleSuggestions.adjustWeight(book.getTitle(), delta);
+                authorSuggestions.adjustWeight(book.getAuthor(), delta);
+                break;
+            default:
+                break;
+        }
+    }
+    
+    private void reindex(InvertedIndex index, int ordinal, String oldValue, String newValue) {
+        index.remove(ordinal, Tokenizer.normalize(oldValue));
+        index.add(ordinal, Tokenizer.normalize(newValue));
+    }
+    
+    private void reindex(TrigramIndex index, int ordinal, String oldValue, String newValue) {
+        index.remove(ordinal, Tokenizer.normalize(oldValue));
+        index.add(ordinal, Tokenizer.normalize(newValue));
+    }
+    
+    /**
+     * @return jumlah buku yang terbit dalam rentang tahun [from, to]
+     */
+    public synchronized int countBooksPublished(int from, int to) {
+        return yearIndex.count(from, to);
+    }
+    
+    /**
+     * @return jumlah buku per dekade terbit (1980, 1990, ...), terurut naik
+     */
+    public synchronized Map<Integer, Integer> getBooksPerDecade() {
+        return yearIndex.countsByDecade();
+    }
+    
     public int getTotalBooks() {
         return books.size();
     }
@@ -109,4 +1054,20 @@ public class LibraryCollection {
                 ", categories=" + categories.size() +
                 '}';
     }
+    
+    /**
+     * Satu langkah rencana query: perkiraan jumlah hasil, evaluasi lewat indeks,
+     * dan verifikasi per buku untuk kandidat yang sudah sedikit.
+     */
+    private static class QueryStep {
+        private final int estimate;
+        private final Supplier<OrdinalBitmap> evaluator;
+        private final Predicate<Book> verifier;
+        
+        QueryStep(int estimate, Supplier<OrdinalBitmap> evaluator, Predicate<Book> verifier) {
+            this.estimate = estimate;
+            this.evaluator = evaluator;
+            this.verifier = verifier;
+        }
+    }
 }
\ No newline at end of file
@@ -0,0 +1,11 @@
+package com.library.model;
+
+import com.library.enums.LoanField;
+
+/**
+ * Listener yang dipanggil setiap kali status atau tanggal jatuh tempo peminjaman berubah,
+ * sehingga indeks peminjaman tidak perlu memindai ulang semua peminjaman.
+ */
+public interface LoanChangeListener {
+    void loanChanged(BookLoan loan, LoanField field, Object oldValue, Object newValue);
+}
\ No newline at end of file
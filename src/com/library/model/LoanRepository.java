@@ -0,0 +1,415 @@
+package com.library.model;
+
+import com.library.enums.LoanField;
+import com.library.enums.LoanStatus;
+import com.library.enums.MemberField;
+import com.library.search.OrdinalBitmap;
+import com.library.search.PostingList;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+
+/**
+ * Repositori tunggal untuk semua peminjaman. Peminjaman diidentifikasi dengan ordinal
+ * (urutan penerbitan) dan diindeks per loanId, barcode salinan, memberId, anggota, buku,
+ * status, serta tanggal jatuh tempo (khusus peminjaman terbuka), sehingga daftar peminjaman
+ * aktif atau terlambat sebanding dengan jumlah hasilnya, bukan jumlah semua peminjaman.
+ * Setiap barcode juga menunjuk langsung ke peminjaman terbukanya untuk pemindaian di meja
+ * sirkulasi. Repositori mendengarkan anggota (peminjaman baru) dan peminjaman (status dan
+ * jatuh tempo), jadi tidak perlu dibangun ulang.
+ */
+public class LoanRepository {
+    private List<BookLoan> ordinalLoans;
+    private Map<BookLoan, Integer> ordinals;
+    private Map<String, Integer> loanIds;
+    private Map<String, PostingList> barcodes;
+    private Map<String, PostingList> memberIds;
+    private Map<Member, PostingList> members;
+    private Map<Book, PostingList> books;
+    private Map<LoanStatus, OrdinalBitmap> statuses;
+    private TreeMap<Integer, PostingList> dueDays;
+    private Map<Integer, Integer> indexedDueDays;
+    private Map<String, BookLoan> openLoansByBarcode;
+    private OrdinalBitmap openLoans;
+    private Set<Member> watchedMembers;
+    private MemberChangeListener loanCollector;
+    private LoanChangeListener indexUpdater;
+    private List<LoanChangeListener> changeListeners;
+    
+    // konstruktor
+    public LoanRepository() {
+        this.ordinalLoans = new ArrayList<>();
+        this.ordinals = new HashMap<>();
+        this.loanIds = new HashMap<>();
+        this.barcodes = new HashMap<>();
+        this.memberIds = new HashMap<>();
+        this.members = new IdentityHashMap<>();
+        this.books = new IdentityHashMap<>();
+        this.statuses = new EnumMap<>(LoanStatus.class);
+        for (LoanStatus status : LoanStatus.values()) {
+            statuses.put(status, new OrdinalBitmap());
+        }
+        this.dueDays = new TreeMap<>();
+        this.indexedDueDays = new HashMap<>();
+        this.openLoansByBarcode = new HashMap<>();
+        this.openLoans = new OrdinalBitmap();
+        this.watchedMembers = new HashSet<>();
+        this.loanCollector = this::collectLoan;
+        this.indexUpdater = this::updateIndexedField;
+        this.changeListeners = new ArrayList<>();
+    }
+    
+    // getters
+    public int size() {
+        return ordinals.size();
+    }
+    
+    public int count(LoanStatus status) {
+        return statuses.get(status).cardinality();
+    }
+    
+    /**
+     * @return jumlah peminjaman terbuka (ACTIVE atau OVERDUE)
+     */
+    public int getOpenLoanCount() {
+        return openLoans.cardinality();
+    }
+    
+    // mutator
+    /**
+     * Daftarkan listener untuk semua peminjaman di repositori. Peminjaman yang baru
+     * disimpan dilaporkan sebagai perubahan STATUS dari null.
+     */
+    public void addChangeListener(LoanChangeListener listener) {
+        if (!changeListeners.contains(listener)) {
+            changeListeners.add(listener);
+        }
+    }
+    
+    public void removeChangeListener(LoanChangeListener listener) {
+        changeListeners.remove(listener);
+    }
+    
+    /**
+     * Simpan semua peminjaman anggota dan ikuti peminjaman barunya.
+     */
+    public void addMember(Member member) {
+        if (!watchedMembers.add(member)) {
+            return;
+        }
+        
+        member.addChangeListener(loanCollector);
+        for (BookLoan loan : member.getBookLoans()) {
+            add(loan);
+        }
+    }
+    
+    public void add(BookLoan loan) {
+        if (ordinals.containsKey(loan)) {
+            return;
+        }
+        
+        int ordinal = ordinalLoans.size();
+        ordinalLoans.add(loan);
+        ordinals.put(loan, ordinal);
+        
+        loanIds.put(normalize(loan.getLoanId()), ordinal);
+        add(barcodes, normalize(loan.getBookItem().getBarcode()), ordinal);
+        add(memberIds, normalize(loan.getMember().getMemberId()), ordinal);
+        members.computeIfAbsent(loan.getMember(), m -> new PostingList()).add(ordinal);
+        books.computeIfAbsent(loan.getBookItem().getBook(), b -> new PostingList()).add(ordinal);
+        if (loan.getStatus() != null) {
+            statuses.get(loan.getStatus()).add(ordinal);
+        }
+        if (isOpen(loan.getStatus())) {
+            open(loan, ordinal);
+        }
+        loan.addChangeListener(indexUpdater);
+        fireChanged(loan, LoanField.STATUS, null, loan.getStatus());
+    }
+    
+    public void clear() {
+        for (Member member : watchedMembers) {
+            member.removeChangeListener(loanCollector);
+        }
+        for (BookLoan loan : ordinals.keySet()) {
+            loan.removeChangeListener(indexUpdater);
+        }
+        ordinalLoans.clear();
+        ordinals.clear();
+        loanIds.clear();
+        barcodes.clear();
+        memberIds.clear();
+        members.clear();
+        books.clear();
+        for (OrdinalBitmap bitmap : statuses.values()) {
+            bitmap.clear();
+        }
+        dueDays.clear();
+        indexedDueDays.clear();
+        openLoansByBarcode.clear();
+        openLoans.clear();
+        watchedMembers.clear();
+    }
+    
+    /**
+     * Sinkronkan ulang indeks jatuh tempo untuk peminjaman yang tanggalnya diubah
+     * tanpa lewat BookLoan (misalnya data demo).
+     */
+    public void refreshDueDate(BookLoan loan) {
+        Integer ordinal = ordinals.get(loan);
+        if (ordinal == null) {
+            return;
+        }
+        if (openLoans.contains(ordinal)) {
+            removeDueDay(ordinal);
+            addDueDay(loan.getDueDay(), ordinal);
+        }
+        fireChanged(loan, LoanField.DUE_DATE, null, loan.getDueLocalDate());
+    }
+    
+    // metode
+    public BookLoan findByLoanId(String loanId) {
+        Integer ordinal = loanIds.get(normalize(loanId));
+        return ordinal != null ? ordinalLoans.get(ordinal) : null;
+    }
+    
+    /**
+     * @return peminjaman terbuka (ACTIVE/OVERDUE) untuk salinan dengan barcode ini, atau null
+     */
+    public BookLoan findOpenLoanByBarcode(String barcode) {
+        return openLoansByBarcode.get(normalize(barcode));
+    }
+    
+    /**
+     * @return semua peminjaman dalam urutan penerbitan
+     */
+    public List<BookLoan> getLoans() {
+        return new ArrayList<>(ordinalLoans);
+    }
+    
+    public List<BookLoan> getLoans(LoanStatus status) {
+        return toLoans(statuses.get(status).toArray());
+    }
+    
+    public List<BookLoan> getOpenLoans() {
+        return toLoans(openLoans.toArray());
+    }
+    
+    public List<BookLoan> getLoansByBarcode(String barcode) {
+        return toLoans(barcodes.get(normalize(barcode)));
+    }
+    
+    public List<BookLoan> getLoans(BookItem bookItem) {
+        return getLoansByBarcode(bookItem.getBarcode());
+    }
+    
+    public List<BookLoan> getLoansByMemberId(String memberId) {
+        return toLoans(memberIds.get(normalize(memberId)));
+    }
+    
+    public List<BookLoan> getLoans(Member member) {
+        return toLoans(members.get(member));
+    }
+    
+    public List<BookLoan> getOpenLoans(Member member) {
+        PostingList postings = members.get(member);
+        if (postings == null) {
+            return new ArrayList<>();
+        }
+        return toLoans(OrdinalBitmap.of(postings).and(openLoans).toArray());
+    }
+    
+    public List<BookLoan> getLoans(Book book) {
+        return toLoans(books.get(book));
+    }
+    
+    /**
+     * Peminjaman terbuka yang jatuh temponya sebelum hari asOfDay, ditambah yang sudah berstatus OVERDUE.
+     *
+     * @return peminjaman dalam urutan penerbitan
+     */
+    public List<BookLoan> getOverdueLoans(int asOfDay) {
+        // semua bucket dikumpulkan ke satu bitmap, lalu digabung dengan status OVERDUE sekali saja
+        OrdinalBitmap pastDue = new OrdinalBitmap();
+        for (PostingList postings : dueDays.headMap(asOfDay, false).values()) {
+            for (int i = 0; i < postings.size(); i++) {
+                pastDue.add(postings.get(i));
+            }
+        }
+        return toLoans(pastDue.or(statuses.get(LoanStatus.OVERDUE)).toArray());
+    }
+    
+    /**
+     * @return peminjaman terbuka yang jatuh tempo dari hari fromDay sampai toDay, urut tanggal jatuh tempo
+     */
+    public List<BookLoan> getLoansDueBetween(int fromDay, int toDay) {
+        List<BookLoan> results = new ArrayList<>();
+        if (fromDay > toDay) {
+            return results;
+        }
+        for (PostingList postings : dueDays.subMap(fromDay, true, toDay, true).values()) {
+            results.addAll(toLoans(postings.toArray()));
+        }
+        return results;
+    }
+    
+    /**
+     * Cari peminjaman yang loanId, barcode, atau memberId-nya sama persis dengan kata kunci,
+     * ditambah peminjaman milik anggota dan buku yang sudah cocok di indeks masing-masing.
+     *
+     * @param matchingMembers anggota yang cocok dengan kata kunci (misalnya dari MemberIndex)
+     * @param matchingBooks buku yang cocok dengan kata kunci (misalnya dari pencarian judul)
+     * @return peminjaman dalam urutan penerbitan
+     */
+    public List<BookLoan> search(String keyword, Collection<Member> matchingMembers, Collection<Book> matchingBooks) {
+        return toLoans(searchOrdinals(keyword, matchingMembers, matchingBooks).toArray());
+    }
+    
+    /**
+     * Seperti {@link #search}, tetapi hanya peminjaman yang masih terbuka.
+     */
+    public List<BookLoan> searchOpenLoans(String keyword, Collection<Member> matchingMembers, Collection<Book> matchingBooks) {
+        OrdinalBitmap result = OrdinalBitmap.of(searchOrdinals(keyword, matchingMembers, matchingBooks));
+        return toLoans(result.and(openLoans).toArray());
+    }
+    
+    private PostingList searchOrdinals(String keyword, Collection<Member> matchingMembers, Collection<Book> matchingBooks) {
+        String key = normalize(keyword);
+        PostingList result = new PostingList();
+        Integer ordinal = loanIds.get(key);
+        if (ordinal != null) {
+            result.add(ordinal);
+        }
+        result = union(result, barcodes.get(key));
+        result = union(result, memberIds.get(key));
+        for (Member member : matchingMembers) {
+            result = union(result, members.get(member));
+        }
+        for (Book book : matchingBooks) {
+            result = union(result, books.get(book));
+        }
+        return result;
+    }
+    
+    private void collectLoan(Member member, MemberField field, Object oldValue, Object newValue) {
+        if (field == MemberField.LOANS && newValue != null) {
+            add((BookLoan) newValue);
+        }
+    }
+    
+    private void updateIndexedField(BookLoan loan, LoanField field, Object oldValue, Object newValue) {
+        Integer ordinal = ordinals.get(loan);
+        if (ordinal == null) {
+            return;
+        }
+        
+        switch (field) {
+            case STATUS:
+                if (oldValue != null) {
+                    statuses.get((LoanStatus) oldValue).remove(ordinal);
+                }
+                if (newValue != null) {
+                    statuses.get((LoanStatus) newValue).add(ordinal);
+                }
+                boolean wasOpen = isOpen((LoanStatus) oldValue);
+                boolean nowOpen = isOpen((LoanStatus) newValue);
+                if (!wasOpen && nowOpen) {
+                    open(loan, ordinal);
+                } else if (wasOpen && !nowOpen) {
+                    close(loan, ordinal);
+                }
+                break;
+            case DUE_DATE:
+                if (openLoans.contains(ordinal)) {
+                    removeDueDay(ordinal);
+                    addDueDay(loan.getDueDay(), ordinal);
+                }
+                break;
+            default:
+                break;
+        }
+        fireChanged(loan, field, oldValue, newValue);
+    }
+    
+    private void fireChanged(BookLoan loan, LoanField field, Object oldValue, Object newValue) {
+        for (LoanChangeListener listener : new ArrayList<>(changeListeners)) {
+            listener.loanChanged(loan, field, oldValue, newValue);
+        }
+    }
+    
+    private void open(BookLoan loan, int ordinal) {
+        openLoans.add(ordinal);
+        openLoansByBarcode.put(normalize(loan.getBookItem().getBarcode()), loan);
+        addDueDay(loan.getDueDay(), ordinal);
+    }
+    
+    private void close(BookLoan loan, int ordinal) {
+        openLoans.remove(ordinal);
+        openLoansByBarcode.remove(normalize(loan.getBookItem().getBarcode()), loan);
+        removeDueDay(ordinal);
+    }
+    
+    private void addDueDay(int dueDay, int ordinal) {
+        dueDays.computeIfAbsent(dueDay, k -> new PostingList()).add(ordinal);
+        indexedDueDays.put(ordinal, dueDay);
+    }
+    
+    private void removeDueDay(int ordinal) {
+        Integer key = indexedDueDays.remove(ordinal);
+        PostingList postings = key != null ? dueDays.get(key) : null;
+        if (postings != null) {
+            postings.remove(ordinal);
+            if (postings.isEmpty()) {
+                dueDays.remove(key);
+            }
+        }
+    }
+    
+    private static boolean isOpen(LoanStatus status) {
+        return status == LoanStatus.ACTIVE || status == LoanStatus.OVERDUE;
+    }
+    
+    private static PostingList union(PostingList result, PostingList postings) {
+        return postings != null ? result.union(postings) : result;
+    }
+    
+    private List<BookLoan> toLoans(PostingList postings) {
+        return postings == null ? new ArrayList<>() : toLoans(postings.toArray());
+    }
+    
+    private List<BookLoan> toLoans(int[] ordinalArray) {
+        List<BookLoan> results = new ArrayList<>(ordinalArray.length);
+        for (int ordinal : ordinalArray) {
+            results.add(ordinalLoans.get(ordinal));
+        }
+        return results;
+    }
+    
+    private static void add(Map<String, PostingList> keys, String key, int ordinal) {
+        if (!key.isEmpty()) {
+            keys.computeIfAbsent(key, k -> new PostingList()).add(ordinal);
+        }
+    }
+    
+    private static String normalize(String key) {
+        return key == null ? "" : key.trim().toLowerCase();
+    }
+    
+    @Override
+    public String toString() {
+        return "LoanRepository{" +
+                "loans=" + ordinals.size() +
+                ", open=" + openLoans.cardinality() +
+                ", overdue=" + count(LoanStatus.OVERDUE) +
+                '}';
+    }
+}
\ No newline at end of file
@@ -1,5 +1,7 @@
 package com.library.model;
 
+import com.library.enums.LoanField;
+import com.library.enums.MemberField;
 import com.library.enums.MemberStatus;
 import com.library.enums.LoanStatus;
 import com.library.exception.InactiveAccountException;
@@ -7,8 +9,12 @@ import com.library.exception.MaxBooksReachedException;
 
 import java.util.ArrayList;
 import java.util.Calendar;
+import java.util.Collections;
 import java.util.Date;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Objects;
+import java.util.Set;
 
 public class Member extends Person {
     private String memberId;
@@ -16,13 +22,20 @@ public class Member extends Person {
     private Date expiryDate;
     private boolean isActive;
     private MemberStatus status;
-    private List<BookLoan> bookLoans;
+    private Set<BookLoan> activeLoans;
+    private List<BookLoan> loanHistory;
+    private double settledFines;
     private List<Reservation> reservations;
     private double totalFinesPaid;
+    private List<MemberChangeListener> changeListeners;
+    private LoanChangeListener loanTracker;
     
     // konstruktor
     public Member() {
-        this.bookLoans = new ArrayList<>();
+        this.changeListeners = new ArrayList<>();
+        this.activeLoans = new LinkedHashSet<>();
+        this.loanHistory = new ArrayList<>();
+        this.loanTracker = this::trackLoan;
         this.reservations = new ArrayList<>();
         this.registrationDate = new Date();
         this.isActive = true;
@@ -32,9 +45,12 @@ public class Member extends Person {
     
     public Member(Person person, String memberId) {
         super(person.getId(), person.getName(), person.getAddress(), person.getPhoneNumber());
+        this.changeListeners = new ArrayList<>();
         setEmail(person.getEmail());
         this.memberId = memberId;
-        this.bookLoans = new ArrayList<>();
+        this.activeLoans = new LinkedHashSet<>();
+        this.loanHistory = new ArrayList<>();
+        this.loanTracker = this::trackLoan;
         this.reservations = new ArrayList<>();
         this.registrationDate = new Date();
         this.isActive = true;
@@ -70,7 +86,9 @@ public class Member extends Person {
     }
     
     public void setActive(boolean active) {
+        boolean oldActive = isActive;
         isActive = active;
+        fireChanged(MemberField.ACTIVE, oldActive, active);
     }
     
     public MemberStatus getStatus() {
@@ -78,14 +96,47 @@ public class Member extends Person {
     }
     
     public void setStatus(MemberStatus status) {
+        boolean oldActive = isActive;
         this.status = status;
         if (status == MemberStatus.BLACKLISTED || status == MemberStatus.INACTIVE) {
             this.isActive = false;
         }
+        fireChanged(MemberField.ACTIVE, oldActive, isActive);
     }
     
+    @Override
+    public void setName(String name) {
+        String oldName = getName();
+        super.setName(name);
+        fireChanged(MemberField.NAME, oldName, name);
+    }
+    
+    @Override
+    public void setPhoneNumber(String phoneNumber) {
+        String oldPhoneNumber = getPhoneNumber();
+        super.setPhoneNumber(phoneNumber);
+        fireChanged(MemberField.PHONE_NUMBER, oldPhoneNumber, phoneNumber);
+    }
+    
+    @Override
+    public void setEmail(String email) {
+        String oldEmail = getEmail();
+        super.setEmail(email);
+        fireChanged(MemberField.EMAIL, oldEmail, email);
+    }
+    
+    /**
+     * @return semua peminjaman anggota (riwayat lengkap, urut penerbitan), hanya baca
+     */
     public List<BookLoan> getBookLoans() {
-        return bookLoans;
+        return Collections.unmodifiableList(loanHistory);
+    }
+    
+    /**
+     * @return peminjaman yang bukunya masih dipegang anggota (ACTIVE atau OVERDUE)
+     */
+    public List<BookLoan> getActiveLoans() {
+        return new ArrayList<>(activeLoans);
     }
     
     public List<Reservation> getReservations() {
@@ -96,25 +147,61 @@ public class Member extends Person {
         return totalFinesPaid;
     }
     
+    public void addChangeListener(MemberChangeListener listener) {
+        if (!changeListeners.contains(listener)) {
+            changeListeners.add(listener);
+        }
+    }
+    
+    public void removeChangeListener(MemberChangeListener listener) {
+        changeListeners.remove(listener);
+    }
+    
+    private void fireChanged(MemberField field, Object oldValue, Object newValue) {
+        if (Objects.equals(oldValue, newValue)) {
+            return;
+        }
+        
+        for (MemberChangeListener listener : new ArrayList<>(changeListeners)) {
+            listener.memberChanged(this, field, oldValue, newValue);
+        }
+    }
+    
     // metode
     public double calculateFine(BookItem book) {
+        int today = EpochDays.today();
         double totalFine = 0.0;
-        for (BookLoan loan : bookLoans) {
+        for (BookLoan loan : loanHistory) {
             if (loan.getBookItem().equals(book)) {
-                totalFine += loan.calculateFine();
+                totalFine += loan.calculateFine(today);
             }
         }
         return totalFine;
     }
     
+    /**
+     * Denda peminjaman yang sudah selesai diambil dari saldo berjalan, jadi hanya
+     * peminjaman aktif yang dihitung ulang.
+     */
     public double calculateTotalFines() {
-        double totalFine = 0.0;
-        for (BookLoan loan : bookLoans) {
-            totalFine += loan.calculateFine();
+        return calculateTotalFines(EpochDays.today());
+    }
+    
+    public double calculateTotalFines(int asOfDay) {
+        double totalFine = settledFines;
+        for (BookLoan loan : activeLoans) {
+            totalFine += loan.calculateFine(asOfDay);
         }
         return totalFine;
     }
     
+    /**
+     * @return denda peminjaman yang sudah selesai dikurangi denda yang sudah dibayar
+     */
+    public double getOutstandingFines() {
+        return Math.max(0.0, settledFines - totalFinesPaid);
+    }
+    
     public BookLoan checkoutBook(BookItem book) throws InactiveAccountException, MaxBooksReachedException {
         if (!isActive) {
             throw new InactiveAccountException("Akun Anda tidak aktif. Silakan hubungi pustakawan.");
@@ -125,17 +212,21 @@ public class Member extends Person {
         }
         
         BookLoan loan = new BookLoan(this, book);
-        bookLoans.add(loan);
+        activeLoans.add(loan);
+        loanHistory.add(loan);
+        loan.addChangeListener(loanTracker);
         book.checkout();
+        fireChanged(MemberField.LOANS, null, loan);
         return loan;
     }
     
     public void returnBook(BookLoan loan) {
-        loan.setReturnDate(new Date());
+        int today = EpochDays.today();
+        loan.setReturnDay(today);
         loan.setStatus(LoanStatus.COMPLETED);
         loan.getBookItem().checkin();
         
-        double fine = loan.calculateFine();
+        double fine = loan.calculateFine(today);
         loan.setFine(fine);
     }
     
@@ -167,6 +258,7 @@ public class Member extends Person {
         
         Reservation reservation = new Reservation(this, book);
         reservations.add(reservation);
+        fireChanged(MemberField.RESERVATIONS, null, reservation);
         return reservation;
     }
     
@@ -175,6 +267,11 @@ public class Member extends Person {
         reservations.remove(reservation);
     }
     
+    // dipanggil Reservation saat kedaluwarsa
+    void removeReservation(Reservation reservation) {
+        reservations.remove(reservation);
+    }
+    
     public int getMaxBooks() {
         return 5;
     }
@@ -184,13 +281,27 @@ public class Member extends Person {
     }
     
     public int getCurrentBooksCount() {
-        int count = 0;
-        for (BookLoan loan : bookLoans) {
-            if (loan.getStatus() == LoanStatus.ACTIVE) {
-                count++;
-            }
+        return activeLoans.size();
+    }
+    
+    // jaga himpunan peminjaman aktif dan saldo denda saat status atau denda peminjaman berubah
+    private void trackLoan(BookLoan loan, LoanField field, Object oldValue, Object newValue) {
+        switch (field) {
+            case STATUS:
+                if (!loan.isOpen() && activeLoans.remove(loan)) {
+                    settledFines += loan.getFine();
+                } else if (loan.isOpen() && activeLoans.add(loan)) {
+                    settledFines -= loan.getFine();
+                }
+                break;
+            case FINE:
+                if (!activeLoans.contains(loan)) {
+                    settledFines += (Double) newValue - (Double) oldValue;
+                }
+                break;
+            default:
+                break;
         }
-        return count;
     }
     
     @Override
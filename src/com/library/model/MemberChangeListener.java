@@ -0,0 +1,11 @@
+package com.library.model;
+
+import com.library.enums.MemberField;
+
+/**
+ * Listener yang dipanggil setiap kali field anggota yang diindeks berubah,
+ * sehingga indeks anggota cukup memperbarui entri anggota tersebut.
+ */
+public interface MemberChangeListener {
+    void memberChanged(Member member, MemberField field, Object oldValue, Object newValue);
+}
\ No newline at end of file
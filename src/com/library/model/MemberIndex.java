@@ -0,0 +1,265 @@
+package com.library.model;
+
+import com.library.enums.MemberField;
+import com.library.search.OrdinalBitmap;
+import com.library.search.PostingList;
+import com.library.search.Tokenizer;
+import com.library.search.TrigramIndex;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Indeks anggota untuk pencarian dan filter di MemberPanel. Nama dicari lewat trigram
+ * (semantik contains), memberId, email, dan nomor telepon lewat map exact, sedangkan
+ * tipe anggota dan status aktif disimpan sebagai bitmap ordinal. Anggota diidentifikasi
+ * dengan ordinal (urutan penambahan) dan indeks diperbarui lewat MemberChangeListener.
+ */
+public class MemberIndex {
+    private List<Member> ordinalMembers;
+    private Map<Member, Integer> ordinals;
+    private TrigramIndex names;
+    private Map<String, PostingList> memberIds;
+    private Map<String, PostingList> emails;
+    private Map<String, PostingList> phoneNumbers;
+    private OrdinalBitmap allMembers;
+    private OrdinalBitmap studentMembers;
+    private OrdinalBitmap regularMembers;
+    private OrdinalBitmap activeMembers;
+    private MemberChangeListener indexUpdater;
+    
+    // konstruktor
+    public MemberIndex() {
+        this.ordinalMembers = new ArrayList<>();
+        this.ordinals = new HashMap<>();
+        this.names = new TrigramIndex();
+        this.memberIds = new HashMap<>();
+        this.emails = new HashMap<>();
+        this.phoneNumbers = new HashMap<>();
+        this.allMembers = new OrdinalBitmap();
+        this.studentMembers = new OrdinalBitmap();
+        this.regularMembers = new OrdinalBitmap();
+        this.activeMembers = new OrdinalBitmap();
+        this.indexUpdater = this::updateIndexedField;
+    }
+    
+    // getters
+    public int size() {
+        return ordinals.size();
+    }
+    
+    // mutator
+    public void add(Member member) {
+        if (ordinals.containsKey(member)) {
+            return;
+        }
+        
+        int ordinal = ordinalMembers.size();
+        ordinalMembers.add(member);
+        ordinals.put(member, ordinal);
+        
+        names.add(ordinal, Tokenizer.normalize(member.getName()));
+        add(memberIds, normalizeMemberId(member.getMemberId()), ordinal);
+        add(emails, normalizeEmail(member.getEmail()), ordinal);
+        add(phoneNumbers, normalizePhoneNumber(member.getPhoneNumber()), ordinal);
+        allMembers.add(ordinal);
+        if (member instanceof StudentMember) {
+            studentMembers.add(ordinal);
+        } else if (member instanceof RegularMember) {
+            regularMembers.add(ordinal);
+        }
+        if (member.isActive()) {
+            activeMembers.add(ordinal);
+        }
+        member.addChangeListener(indexUpdater);
+    }
+    
+    public void remove(Member member) {
+        Integer ordinal = ordinals.remove(member);
+        if (ordinal == null) {
+            return;
+        }
+        
+        ordinalMembers.set(ordinal, null);
+        member.removeChangeListener(indexUpdater);
+        names.remove(ordinal, Tokenizer.normalize(member.getName()));
+        remove(memberIds, normalizeMemberId(member.getMemberId()), ordinal);
+        remove(emails, normalizeEmail(member.getEmail()), ordinal);
+        remove(phoneNumbers, normalizePhoneNumber(member.getPhoneNumber()), ordinal);
+        allMembers.remove(ordinal);
+        studentMembers.remove(ordinal);
+        regularMembers.remove(ordinal);
+        activeMembers.remove(ordinal);
+    }
+    
+    public void clear() {
+        for (Member member : ordinals.keySet()) {
+            member.removeChangeListener(indexUpdater);
+        }
+        ordinalMembers.clear();
+        ordinals.clear();
+        names.clear();
+        memberIds.clear();
+        emails.clear();
+        phoneNumbers.clear();
+        allMembers.clear();
+        studentMembers.clear();
+        regularMembers.clear();
+        activeMembers.clear();
+    }
+    
+    // metode
+    /**
+     * Cari anggota yang namanya memuat kata kunci, atau yang memberId, email,
+     * atau nomor teleponnya sama persis (telepon dibandingkan per digit, 0812 = +62812).
+     *
+     * @return anggota dalam urutan penambahan
+     */
+    public List<Member> search(String keyword) {
+        String keywordLower = Tokenizer.normalize(keyword.trim());
+        PostingList result = names.search(keywordLower);
+        result = union(result, memberIds.get(keywordLower));
+        result = union(result, emails.get(keywordLower));
+        result = union(result, phoneNumbers.get(normalizePhoneNumber(keyword)));
+        return toMembers(result.toArray());
+    }
+    
+    /**
+     * @param type StudentMember.class, RegularMember.class, atau null untuk semua tipe
+     * @param active status aktif yang dicari, null untuk semua status
+     * @return anggota yang cocok dalam urutan penambahan
+     */
+    public List<Member> filter(Class<? extends Member> type, Boolean active) {
+        OrdinalBitmap result = allMembers;
+        if (type == StudentMember.class) {
+            result = studentMembers;
+        } else if (type == RegularMember.class) {
+            result = regularMembers;
+        } else if (type != null) {
+            throw new IllegalArgumentException("Tipe anggota tidak dikenal: " + type.getSimpleName());
+        }
+        
+        if (Boolean.TRUE.equals(active)) {
+            result = result.and(activeMembers);
+        } else if (Boolean.FALSE.equals(active)) {
+            result = result.andNot(activeMembers);
+        }
+        return toMembers(result.toArray());
+    }
+    
+    public Member findByMemberId(String memberId) {
+        return first(memberIds.get(normalizeMemberId(memberId)));
+    }
+    
+    public Member findByEmail(String email) {
+        return first(emails.get(normalizeEmail(email)));
+    }
+    
+    public Member findByPhoneNumber(String phoneNumber) {
+        return first(phoneNumbers.get(normalizePhoneNumber(phoneNumber)));
+    }
+    
+    private void updateIndexedField(Member member, MemberField field, Object oldValue, Object newValue) {
+        Integer ordinal = ordinals.get(member);
+        if (ordinal == null) {
+            return;
+        }
+        
+        switch (field) {
+            case NAME:
+                names.remove(ordinal, Tokenizer.normalize((String) oldValue));
+                names.add(ordinal, Tokenizer.normalize((String) newValue));
+                break;
+            case EMAIL:
+                remove(emails, normalizeEmail((String) oldValue), ordinal);
+                add(emails, normalizeEmail((String) newValue), ordinal);
+                break;
+            case PHONE_NUMBER:
+                remove(phoneNumbers, normalizePhoneNumber((String) oldValue), ordinal);
+                add(phoneNumbers, normalizePhoneNumber((String) newValue), ordinal);
+                break;
+            case ACTIVE:
+                if ((Boolean) newValue) {
+                    activeMembers.add(ordinal);
+                } else {
+                    activeMembers.remove(ordinal);
+                }
+                break;
+            default:
+                break;
+        }
+    }
+    
+    private static PostingList union(PostingList result, PostingList postings) {
+        return postings != null ? result.union(postings) : result;
+    }
+    
+    private Member first(PostingList postings) {
+        return postings == null || postings.isEmpty() ? null : ordinalMembers.get(postings.get(0));
+    }
+    
+    private List<Member> toMembers(int[] ordinalArray) {
+        List<Member> results = new ArrayList<>(ordinalArray.length);
+        for (int ordinal : ordinalArray) {
+            Member member = ordinalMembers.get(ordinal);
+            if (member != null) {
+                results.add(member);
+            }
+        }
+        return results;
+    }
+    
+    private static void add(Map<String, PostingList> keys, String key, int ordinal) {
+        if (!key.isEmpty()) {
+            keys.computeIfAbsent(key, k -> new PostingList()).add(ordinal);
+        }
+    }
+    
+    private static void remove(Map<String, PostingList> keys, String key, int ordinal) {
+        PostingList postings = keys.get(key);
+        if (postings != null) {
+            postings.remove(ordinal);
+            if (postings.isEmpty()) {
+                keys.remove(key);
+            }
+        }
+    }
+    
+    private static String normalizeMemberId(String memberId) {
+        return memberId == null ? "" : memberId.trim().toLowerCase();
+    }
+    
+    private static String normalizeEmail(String email) {
+        return email == null ? "" : email.trim().toLowerCase();
+    }
+    
+    /**
+     * Ambil digitnya saja dan seragamkan awalan kode negara Indonesia (+62/62 -> 0).
+     */
+    private static String normalizePhoneNumber(String phoneNumber) {
+        if (phoneNumber == null) {
+            return "";
+        }
+        StringBuilder digits = new StringBuilder(phoneNumber.length());
+        for (int i = 0; i < phoneNumber.length(); i++) {
+            char c = phoneNumber.charAt(i);
+            if (c >= '0' && c <= '9') {
+                digits.append(c);
+            }
+        }
+        if (digits.length() > 2 && digits.charAt(0) == '6' && digits.charAt(1) == '2') {
+            digits.replace(0, 2, "0");
+        }
+        return digits.toString();
+    }
+    
+    @Override
+    public String toString() {
+        return "MemberIndex{" +
+                "members=" + ordinals.size() +
+                ", active=" + activeMembers.cardinality() +
+                '}';
+    }
+}
\ No newline at end of file
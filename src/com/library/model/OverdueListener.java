@@ -0,0 +1,18 @@
+package com.library.model;
+
+/**
+ * Listener yang dipanggil OverdueSweeper setiap kali peminjaman berubah menjadi OVERDUE,
+ * misalnya untuk notifikasi ke anggota atau pembaruan statistik.
+ */
+public interface OverdueListener {
+    void loanOverdue(BookLoan loan);
+    
+    /**
+     * Dipanggil sekali di akhir sapuan yang mengubah status setidaknya satu peminjaman,
+     * misalnya untuk memperbarui tabel sekali saja, bukan sekali per peminjaman.
+     *
+     * @param transitions jumlah peminjaman yang berubah menjadi OVERDUE dalam sapuan ini
+     */
+    default void sweepCompleted(int transitions) {
+    }
+}
\ No newline at end of file
@@ -0,0 +1,220 @@
+package com.library.model;
+
+import com.library.enums.LoanField;
+import com.library.enums.LoanStatus;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Penjadwal yang mengubah peminjaman ACTIVE menjadi OVERDUE tepat setelah melewati
+ * tanggal jatuh tempo. Setiap peminjaman aktif di LoanRepository didaftarkan di timing
+ * wheel menurut jatuh temponya dan dibatalkan saat dikembalikan atau diperpanjang, jadi
+ * biaya satu sapuan sebanding dengan jumlah peminjaman yang berubah status, bukan jumlah
+ * semua peminjaman aktif.
+ *
+ * Sapuan bisa dipanggil langsung lewat sweep(), atau berjalan di latar belakang lewat
+ * start(executor): thread penjadwal hanya menunggu sampai jatuh tempo berikutnya, lalu
+ * menjalankan sapuan di executor (misalnya SwingUtilities::invokeLater) supaya status
+ * peminjaman tetap diubah di thread yang sama dengan UI.
+ */
+public class OverdueSweeper {
+    private static final long TICK_MS = 1000;
+    private static final int WHEEL_SIZE = 64;
+    private static final long MAX_SLEEP_MS = 60000; // bangun minimal tiap menit, jaga-jaga jam sistem bergeser
+    
+    private TimingWheel<BookLoan> wheel;
+    private Map<BookLoan, TimingWheel.Timeout<BookLoan>> timeouts;
+    private List<BookLoan> dueNow;
+    private List<OverdueListener> listeners;
+    private LoanChangeListener loanWatcher;
+    private long transitionCount;
+    
+    private ScheduledExecutorService timer;
+    private Executor executor;
+    private ScheduledFuture<?> wakeUp;
+    private long wakeUpAt;
+    
+    // konstruktor
+    public OverdueSweeper(LoanRepository loanRepository) {
+        this.wheel = new TimingWheel<>(TICK_MS, WHEEL_SIZE, System.currentTimeMillis());
+        this.timeouts = new HashMap<>();
+        this.dueNow = new ArrayList<>();
+        this.listeners = new ArrayList<>();
+        this.loanWatcher = this::loanChanged;
+        
+        loanRepository.addChangeListener(loanWatcher);
+        for (BookLoan loan : loanRepository.getLoans(LoanStatus.ACTIVE)) {
+            track(loan);
+        }
+    }
+    
+    // getters
+    /**
+     * @return jumlah peminjaman aktif yang sedang dijadwalkan
+     */
+    public synchronized int getScheduledCount() {
+        return timeouts.size() + dueNow.size();
+    }
+    
+    /**
+     * @return jumlah peminjaman yang sudah diubah menjadi OVERDUE oleh sweeper ini
+     */
+    public synchronized long getTransitionCount() {
+        return transitionCount;
+    }
+    
+    public synchronized boolean isRunning() {
+        return timer != null;
+    }
+    
+    // mutator
+    public synchronized void addListener(OverdueListener listener) {
+        if (!listeners.contains(listener)) {
+            listeners.add(listener);
+        }
+    }
+    
+    public synchronized void removeListener(OverdueListener listener) {
+        listeners.remove(listener);
+    }
+    
+    /**
+     * Jalankan sapuan di latar belakang.
+     *
+     * @param executor tempat sapuan (dan event-nya) dijalankan
+     */
+    public synchronized void start(Executor executor) {
+        if (timer != null) {
+            return;
+        }
+        this.executor = executor;
+        this.timer = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "overdue-sweeper");
+            thread.setDaemon(true);
+            return thread;
+        });
+        scheduleWakeUp();
+    }
+    
+    public synchronized void stop() {
+        if (timer != null) {
+            timer.shutdownNow();
+            timer = null;
+            wakeUp = null;
+        }
+    }
+    
+    /**
+     * Lupakan semua jadwal, misalnya setelah repositori peminjaman dikosongkan.
+     */
+    public synchronized void clear() {
+        wheel.clear();
+        timeouts.clear();
+        dueNow.clear();
+    }
+    
+    // metode
+    public int sweep() {
+        return sweep(System.currentTimeMillis());
+    }
+    
+    /**
+     * Ubah menjadi OVERDUE setiap peminjaman aktif yang jatuh temponya sudah lewat pada nowMs.
+     *
+     * @return jumlah peminjaman yang berubah status
+     */
+    public synchronized int sweep(long nowMs) {
+        List<BookLoan> expired = new ArrayList<>(dueNow);
+        dueNow.clear();
+        wheel.advance(nowMs, expired::add);
+        
+        int today = EpochDays.ofMillis(nowMs);
+        int transitions = 0;
+        for (BookLoan loan : expired) {
+            timeouts.remove(loan);
+            if (loan.getStatus() == LoanStatus.ACTIVE && loan.isOverdue(today)) {
+                loan.setStatus(LoanStatus.OVERDUE);
+                transitionCount++;
+                transitions++;
+                for (OverdueListener listener : new ArrayList<>(listeners)) {
+                    listener.loanOverdue(loan);
+                }
+            } else if (loan.getStatus() == LoanStatus.ACTIVE) {
+                // jatuh tempo belum lewat (misalnya jam sistem mundur), jadwalkan ulang
+                track(loan);
+            }
+        }
+        
+        if (transitions > 0) {
+            for (OverdueListener listener : new ArrayList<>(listeners)) {
+                listener.sweepCompleted(transitions);
+            }
+        }
+        scheduleWakeUp();
+        return transitions;
+    }
+    
+    private synchronized void loanChanged(BookLoan loan, LoanField field, Object oldValue, Object newValue) {
+        if (field == LoanField.STATUS || field == LoanField.DUE_DATE) {
+            untrack(loan);
+            if (loan.getStatus() == LoanStatus.ACTIVE) {
+                track(loan);
+            }
+        }
+    }
+    
+    private void track(BookLoan loan) {
+        // OVERDUE mulai awal hari setelah tanggal jatuh tempo
+        long expiration = EpochDays.startOfDayMillis(loan.getDueDay() + 1);
+        TimingWheel.Timeout<BookLoan> timeout = wheel.schedule(loan, expiration);
+        if (timeout != null) {
+            timeouts.put(loan, timeout);
+        } else {
+            dueNow.add(loan);
+        }
+        scheduleWakeUp();
+    }
+    
+    private void untrack(BookLoan loan) {
+        TimingWheel.Timeout<BookLoan> timeout = timeouts.remove(loan);
+        if (timeout != null) {
+            timeout.cancel();
+        }
+        dueNow.remove(loan);
+    }
+    
+    // majukan jadwal bangun thread penjadwal jika ada jatuh tempo yang lebih awal
+    private void scheduleWakeUp() {
+        if (timer == null) {
+            return;
+        }
+        
+        long now = System.currentTimeMillis();
+        long next = dueNow.isEmpty() ? Math.min(wheel.getNextExpiration(), now + MAX_SLEEP_MS) : now;
+        if (wakeUp != null && !wakeUp.isDone() && wakeUpAt <= next) {
+            return;
+        }
+        if (wakeUp != null) {
+            wakeUp.cancel(false);
+        }
+        wakeUpAt = next;
+        wakeUp = timer.schedule(() -> executor.execute(this::sweep), Math.max(0, next - now), TimeUnit.MILLISECONDS);
+    }
+    
+    @Override
+    public synchronized String toString() {
+        return "OverdueSweeper{" +
+                "scheduled=" + getScheduledCount() +
+                ", transitions=" + transitionCount +
+                ", running=" + (timer != null) +
+                '}';
+    }
+}
\ No newline at end of file
@@ -1,10 +1,13 @@
 package com.library.model;
 
+import com.library.enums.ReservationField;
 import com.library.enums.ReservationStatus;
 
+import java.util.ArrayList;
 import java.util.Date;
+import java.util.List;
 import java.util.Objects;
-import java.util.UUID;
+import java.util.concurrent.atomic.AtomicLong;
 
 public class Reservation {
     private String reservationId;
@@ -12,14 +15,24 @@ public class Reservation {
     private Book book;
     private Date reservationDate;
     private ReservationStatus status;
+    private Date holdDate; // sejak kapan salinan menunggu diambil, null jika belum tersedia
+    private Date waitingSince; // sejak kapan menunggu salinan, diulang jika salinan yang disimpan batal
+    private long sequence;
+    private List<ReservationChangeListener> changeListeners;
+    
+    // urutan pembuatan, pemutus seri antrean jika reservationDate sama
+    private static final AtomicLong NEXT_SEQUENCE = new AtomicLong();
     
     // konsruktor
     public Reservation(Member member, Book book) {
-        this.reservationId = "R" + UUID.randomUUID().toString().substring(0, 8);
+        this.reservationId = IdGenerators.get().nextId("R");
         this.member = member;
         this.book = book;
         this.reservationDate = new Date();
+        this.waitingSince = reservationDate;
         this.status = ReservationStatus.PENDING;
+        this.sequence = NEXT_SEQUENCE.getAndIncrement();
+        this.changeListeners = new ArrayList<>();
         
         // tambahkan reservasi ke buku
         book.addReservation(this);
@@ -47,22 +60,85 @@ public class Reservation {
     }
     
     public void setStatus(ReservationStatus status) {
+        ReservationStatus oldStatus = this.status;
         this.status = status;
+        if (oldStatus != status) {
+            book.reservationStatusChanged(this);
+            fireChanged(ReservationField.STATUS, oldStatus, status);
+        }
+    }
+    
+    public Date getHoldDate() {
+        return holdDate;
+    }
+    
+    /**
+     * @return awal masa tunggu salinan: tanggal reservasi, atau saat salinan yang disimpan batal
+     */
+    public Date getWaitingSince() {
+        return waitingSince;
+    }
+    
+    /**
+     * @return true jika reservasi masih PENDING dan salinannya sudah menunggu diambil
+     */
+    public boolean isReadyForPickup() {
+        return status == ReservationStatus.PENDING && holdDate != null;
+    }
+    
+    long getSequence() {
+        return sequence;
+    }
+    
+    // dipanggil Book saat salinan disimpan di rak ambil untuk reservasi ini
+    void startHold(Date date) {
+        Date oldHoldDate = holdDate;
+        this.holdDate = date;
+        fireChanged(ReservationField.HOLD_DATE, oldHoldDate, date);
+    }
+    
+    // dipanggil Book saat salinan yang disimpan batal (hilang, rusak, atau dihapus)
+    void clearHold(Date date) {
+        Date oldHoldDate = holdDate;
+        this.holdDate = null;
+        this.waitingSince = date;
+        fireChanged(ReservationField.HOLD_DATE, oldHoldDate, null);
+    }
+    
+    public void addChangeListener(ReservationChangeListener listener) {
+        if (!changeListeners.contains(listener)) {
+            changeListeners.add(listener);
+        }
+    }
+    
+    public void removeChangeListener(ReservationChangeListener listener) {
+        changeListeners.remove(listener);
+    }
+    
+    private void fireChanged(ReservationField field, Object oldValue, Object newValue) {
+        if (Objects.equals(oldValue, newValue)) {
+            return;
+        }
+        
+        for (ReservationChangeListener listener : new ArrayList<>(changeListeners)) {
+            listener.reservationChanged(this, field, oldValue, newValue);
+        }
     }
     
     // metode
     public void cancelReservation() {
-        this.status = ReservationStatus.CANCELLED;
+        setStatus(ReservationStatus.CANCELLED);
         this.book.removeReservation(this);
     }
     
     public void markAsFulfilled() {
-        this.status = ReservationStatus.FULFILLED;
+        setStatus(ReservationStatus.FULFILLED);
     }
     
     public void markAsExpired() {
-        this.status = ReservationStatus.EXPIRED;
+        setStatus(ReservationStatus.EXPIRED);
         this.book.removeReservation(this);
+        this.member.removeReservation(this);
     }
     
     @Override
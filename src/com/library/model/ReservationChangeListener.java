@@ -0,0 +1,11 @@
+package com.library.model;
+
+import com.library.enums.ReservationField;
+
+/**
+ * Listener yang dipanggil setiap kali status reservasi berubah atau reservasi mulai/berhenti
+ * menunggu di rak ambil.
+ */
+public interface ReservationChangeListener {
+    void reservationChanged(Reservation reservation, ReservationField field, Object oldValue, Object newValue);
+}
\ No newline at end of file
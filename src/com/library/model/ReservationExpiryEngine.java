@@ -0,0 +1,319 @@
+package com.library.model;
+
+import com.library.enums.MemberField;
+import com.library.enums.ReservationField;
+import com.library.enums.ReservationStatus;
+
+import java.util.ArrayList;
+import java.util.Calendar;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Mesin kedaluwarsa reservasi. Reservasi PENDING kedaluwarsa setelah menunggu maxWaitDays
+ * hari; begitu salinannya disimpan di rak ambil (lihat Reservation.getHoldDate()), batasnya
+ * menjadi pickupWindowDays hari sejak salinan ditandai RESERVED. Setelah reservasi terdepan
+ * kedaluwarsa, Book mengembalikan salinannya ke rak lalu menyimpannya untuk reservasi
+ * berikutnya di antrean, dan batas barunya dijadwalkan di sini.
+ *
+ * Batas waktu disimpan di antrean prioritas, jadi satu sapuan hanya menyentuh reservasi yang
+ * sudah jatuh tempo. Sapuan bisa dipanggil langsung lewat expireDue(), atau dijalankan tiap
+ * tengah malam lewat start(executor).
+ */
+public class ReservationExpiryEngine {
+    public static final int DEFAULT_PICKUP_WINDOW_DAYS = 3;
+    public static final int DEFAULT_MAX_WAIT_DAYS = 30;
+    private static final long DAY_MS = TimeUnit.DAYS.toMillis(1);
+    
+    private long pickupWindowMs;
+    private long maxWaitMs;
+    private PriorityQueue<Deadline> deadlines;
+    private Map<Reservation, Long> dueTimes;
+    private Set<Member> watchedMembers;
+    private List<ReservationExpiryListener> listeners;
+    private MemberChangeListener reservationCollector;
+    private ReservationChangeListener reservationWatcher;
+    private long expiredCount;
+    
+    private ScheduledExecutorService timer;
+    
+    // konstruktor
+    public ReservationExpiryEngine() {
+        this(DEFAULT_PICKUP_WINDOW_DAYS, DEFAULT_MAX_WAIT_DAYS);
+    }
+    
+    /**
+     * @param pickupWindowDays lama salinan disimpan di rak ambil sebelum reservasi kedaluwarsa
+     * @param maxWaitDays lama maksimal reservasi menunggu salinan tersedia
+     */
+    public ReservationExpiryEngine(int pickupWindowDays, int maxWaitDays) {
+        this.deadlines = new PriorityQueue<>();
+        this.dueTimes = new HashMap<>();
+        this.watchedMembers = new HashSet<>();
+        this.listeners = new ArrayList<>();
+        this.reservationCollector = this::collectReservation;
+        this.reservationWatcher = this::reservationChanged;
+        setPickupWindowDays(pickupWindowDays);
+        setMaxWaitDays(maxWaitDays);
+    }
+    
+    // getters
+    public synchronized int getPickupWindowDays() {
+        return (int) (pickupWindowMs / DAY_MS);
+    }
+    
+    public synchronized int getMaxWaitDays() {
+        return (int) (maxWaitMs / DAY_MS);
+    }
+    
+    /**
+     * @return jumlah reservasi PENDING yang sedang dijadwalkan
+     */
+    public synchronized int size() {
+        return dueTimes.size();
+    }
+    
+    /**
+     * @return jumlah reservasi yang sudah dikedaluwarsakan oleh mesin ini
+     */
+    public synchronized long getExpiredCount() {
+        return expiredCount;
+    }
+    
+    /**
+     * @return batas waktu reservasi, atau null jika reservasi tidak dijadwalkan
+     */
+    public synchronized Date getDeadline(Reservation reservation) {
+        Long due = dueTimes.get(reservation);
+        return due != null ? new Date(due) : null;
+    }
+    
+    public synchronized boolean isRunning() {
+        return timer != null;
+    }
+    
+    // mutator
+    public synchronized void setPickupWindowDays(int pickupWindowDays) {
+        if (pickupWindowDays <= 0) {
+            throw new IllegalArgumentException("Jendela pengambilan harus lebih dari 0 hari");
+        }
+        this.pickupWindowMs = pickupWindowDays * DAY_MS;
+        rescheduleAll();
+    }
+    
+    public synchronized void setMaxWaitDays(int maxWaitDays) {
+        if (maxWaitDays <= 0) {
+            throw new IllegalArgumentException("Masa tunggu maksimal harus lebih dari 0 hari");
+        }
+        this.maxWaitMs = maxWaitDays * DAY_MS;
+        rescheduleAll();
+    }
+    
+    public synchronized void addListener(ReservationExpiryListener listener) {
+        if (!listeners.contains(listener)) {
+            listeners.add(listener);
+        }
+    }
+    
+    public synchronized void removeListener(ReservationExpiryListener listener) {
+        listeners.remove(listener);
+    }
+    
+    /**
+     * Jadwalkan semua reservasi anggota dan ikuti reservasi barunya.
+     */
+    public synchronized void addMember(Member member) {
+        if (!watchedMembers.add(member)) {
+            return;
+        }
+        
+        member.addChangeListener(reservationCollector);
+        for (Reservation reservation : member.getReservations()) {
+            add(reservation);
+        }
+    }
+    
+    public synchronized void add(Reservation reservation) {
+        reservation.addChangeListener(reservationWatcher);
+        schedule(reservation);
+    }
+    
+    /**
+     * Lupakan semua jadwal, misalnya setelah data perpustakaan dikosongkan.
+     */
+    public synchronized void clear() {
+        for (Member member : watchedMembers) {
+            member.removeChangeListener(reservationCollector);
+        }
+        for (Reservation reservation : dueTimes.keySet()) {
+            reservation.removeChangeListener(reservationWatcher);
+        }
+        watchedMembers.clear();
+        dueTimes.clear();
+        deadlines.clear();
+    }
+    
+    /**
+     * Jalankan sapuan sekarang lalu setiap tengah malam.
+     *
+     * @param executor tempat sapuan (dan event-nya) dijalankan
+     */
+    public synchronized void start(Executor executor) {
+        if (timer != null) {
+            return;
+        }
+        this.timer = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "reservation-expiry");
+            thread.setDaemon(true);
+            return thread;
+        });
+        
+        Calendar midnight = Calendar.getInstance();
+        midnight.add(Calendar.DAY_OF_MONTH, 1);
+        midnight.set(Calendar.HOUR_OF_DAY, 0);
+        midnight.set(Calendar.MINUTE, 0);
+        midnight.set(Calendar.SECOND, 0);
+        midnight.set(Calendar.MILLISECOND, 0);
+        long delay = midnight.getTimeInMillis() - System.currentTimeMillis();
+        
+        executor.execute(this::expireDue);
+        timer.scheduleAtFixedRate(() -> executor.execute(this::expireDue), delay, DAY_MS, TimeUnit.MILLISECONDS);
+    }
+    
+    public synchronized void stop() {
+        if (timer != null) {
+            timer.shutdownNow();
+            timer = null;
+        }
+    }
+    
+    // metode
+    public List<Reservation> expireDue() {
+        return expireDue(System.currentTimeMillis());
+    }
+    
+    /**
+     * Kedaluwarsakan sekaligus setiap reservasi yang batas waktunya sudah lewat pada nowMs.
+     * Reservasi berikutnya di antrean buku yang sama dinaikkan oleh Book dan ikut dijadwalkan.
+     *
+     * @return reservasi yang kedaluwarsa, urut dari batas waktu paling awal
+     */
+    public synchronized List<Reservation> expireDue(long nowMs) {
+        List<Reservation> batch = new ArrayList<>();
+        while (!deadlines.isEmpty() && deadlines.peek().due <= nowMs) {
+            Deadline deadline = deadlines.poll();
+            Long due = dueTimes.get(deadline.reservation);
+            // entri lama yang sudah diganti atau dibatalkan dilewati saja
+            if (due != null && due == deadline.due) {
+                dueTimes.remove(deadline.reservation);
+                batch.add(deadline.reservation);
+            }
+        }
+        
+        List<Reservation> expired = new ArrayList<>();
+        for (Reservation reservation : batch) {
+            // reservasi yang baru dinaikkan ke rak ambil dalam batch ini mendapat batas baru
+            if (reservation.getStatus() != ReservationStatus.PENDING || dueTimes.containsKey(reservation)) {
+                continue;
+            }
+            reservation.markAsExpired();
+            expired.add(reservation);
+        }
+        
+        expiredCount += expired.size();
+        for (Reservation reservation : expired) {
+            for (ReservationExpiryListener listener : new ArrayList<>(listeners)) {
+                listener.reservationExpired(reservation);
+            }
+        }
+        if (!expired.isEmpty()) {
+            for (ReservationExpiryListener listener : new ArrayList<>(listeners)) {
+                listener.expiryCompleted(expired);
+            }
+        }
+        return expired;
+    }
+    
+    private void collectReservation(Member member, MemberField field, Object oldValue, Object newValue) {
+        if (field == MemberField.RESERVATIONS && newValue != null) {
+            add((Reservation) newValue);
+        }
+    }
+    
+    private synchronized void reservationChanged(Reservation reservation, ReservationField field, Object oldValue, Object newValue) {
+        schedule(reservation);
+    }
+    
+    private void schedule(Reservation reservation) {
+        if (reservation.getStatus() != ReservationStatus.PENDING) {
+            dueTimes.remove(reservation);
+            return;
+        }
+        
+        long due = reservation.getHoldDate() != null
+                ? reservation.getHoldDate().getTime() + pickupWindowMs
+                : reservation.getWaitingSince().getTime() + maxWaitMs;
+        Long oldDue = dueTimes.put(reservation, due);
+        if (oldDue == null || oldDue != due) {
+            deadlines.offer(new Deadline(due, reservation));
+        }
+        
+        // buang entri lama jika antrean jauh lebih besar dari jumlah reservasi terjadwal
+        if (deadlines.size() > 2 * dueTimes.size() + 16) {
+            rebuildDeadlines();
+        }
+    }
+    
+    private void rescheduleAll() {
+        if (dueTimes.isEmpty()) {
+            return;
+        }
+        for (Reservation reservation : new ArrayList<>(dueTimes.keySet())) {
+            schedule(reservation);
+        }
+        rebuildDeadlines();
+    }
+    
+    private void rebuildDeadlines() {
+        deadlines.clear();
+        for (Map.Entry<Reservation, Long> entry : dueTimes.entrySet()) {
+            deadlines.offer(new Deadline(entry.getValue(), entry.getKey()));
+        }
+    }
+    
+    @Override
+    public synchronized String toString() {
+        return "ReservationExpiryEngine{" +
+                "pickupWindowDays=" + getPickupWindowDays() +
+                ", maxWaitDays=" + getMaxWaitDays() +
+                ", scheduled=" + dueTimes.size() +
+                ", expired=" + expiredCount +
+                '}';
+    }
+    
+    // satu batas waktu di antrean; entri lama dibuang saat diambil
+    private static class Deadline implements Comparable<Deadline> {
+        private final long due;
+        private final Reservation reservation;
+        
+        Deadline(long due, Reservation reservation) {
+            this.due = due;
+            this.reservation = reservation;
+        }
+        
+        @Override
+        public int compareTo(Deadline other) {
+            int result = Long.compare(due, other.due);
+            return result != 0 ? result : Long.compare(reservation.getSequence(), other.reservation.getSequence());
+        }
+    }
+}
\ No newline at end of file
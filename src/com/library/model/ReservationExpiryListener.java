@@ -0,0 +1,18 @@
+package com.library.model;
+
+import java.util.List;
+
+/**
+ * Listener yang dipanggil ReservationExpiryEngine setiap kali reservasi kedaluwarsa.
+ */
+public interface ReservationExpiryListener {
+    void reservationExpired(Reservation reservation);
+    
+    /**
+     * Dipanggil sekali di akhir sapuan yang mengedaluwarsakan setidaknya satu reservasi.
+     *
+     * @param expired reservasi yang kedaluwarsa dalam sapuan ini, urut dari batas waktu paling awal
+     */
+    default void expiryCompleted(List<Reservation> expired) {
+    }
+}
\ No newline at end of file
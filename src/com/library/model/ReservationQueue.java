@@ -0,0 +1,91 @@
+package com.library.model;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.TreeSet;
+
+/**
+ * Antrean FIFO reservasi PENDING untuk satu buku, diurutkan menurut reservationDate
+ * (yang paling lama menunggu di depan, urutan pembuatan sebagai pemutus seri).
+ * Peek dan isEmpty O(1), tambah dan pembatalan O(log n).
+ */
+public class ReservationQueue {
+    private static final Comparator<Reservation> OLDEST_FIRST =
+            Comparator.comparing(Reservation::getReservationDate)
+                    .thenComparingLong(Reservation::getSequence);
+    
+    private TreeSet<Reservation> reservations;
+    private Reservation head;
+    
+    // konstruktor
+    public ReservationQueue() {
+        this.reservations = new TreeSet<>(OLDEST_FIRST);
+    }
+    
+    // getters
+    public int size() {
+        return reservations.size();
+    }
+    
+    public boolean isEmpty() {
+        return head == null;
+    }
+    
+    /**
+     * @return reservasi yang paling lama menunggu, atau null jika antrean kosong
+     */
+    public Reservation peek() {
+        return head;
+    }
+    
+    // mutator
+    public boolean add(Reservation reservation) {
+        if (!reservations.add(reservation)) {
+            return false;
+        }
+        if (head == null || OLDEST_FIRST.compare(reservation, head) < 0) {
+            head = reservation;
+        }
+        return true;
+    }
+    
+    public boolean remove(Reservation reservation) {
+        if (!reservations.remove(reservation)) {
+            return false;
+        }
+        if (reservation == head) {
+            head = reservations.isEmpty() ? null : reservations.first();
+        }
+        return true;
+    }
+    
+    public Reservation poll() {
+        Reservation first = head;
+        if (first != null) {
+            remove(first);
+        }
+        return first;
+    }
+    
+    public void clear() {
+        reservations.clear();
+        head = null;
+    }
+    
+    // metode
+    /**
+     * @return salinan isi antrean, dari yang paling lama menunggu
+     */
+    public List<Reservation> toList() {
+        return new ArrayList<>(reservations);
+    }
+    
+    @Override
+    public String toString() {
+        return "ReservationQueue{" +
+                "size=" + reservations.size() +
+                ", head=" + (head != null ? head.getReservationId() : null) +
+                '}';
+    }
+}
\ No newline at end of file
@@ -0,0 +1,78 @@
+package com.library.model;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Satu halaman hasil pencarian beserta cursor untuk halaman berikutnya.
+ * Cursor bersifat opaque bagi pemanggil: cukup diteruskan apa adanya ke
+ * pemanggilan berikutnya, null berarti halaman pertama/tidak ada halaman lagi.
+ */
+public class SearchPage {
+    private List<Book> books;
+    private String nextCursor;
+    
+    // konstruktor
+    public SearchPage(List<Book> books, String nextCursor) {
+        this.books = books;
+        this.nextCursor = nextCursor;
+    }
+    
+    /**
+     * Halaman dari daftar hasil yang sudah ada (misalnya hasil berperingkat),
+     * cursor-nya adalah posisi dalam daftar.
+     */
+    public static SearchPage of(List<Book> results, int pageSize, String cursor) {
+        checkPageSize(pageSize);
+        int start = Math.min(decodeCursor(cursor), results.size());
+        int end = Math.min(start + pageSize, results.size());
+        return new SearchPage(new ArrayList<>(results.subList(start, end)),
+                end < results.size() ? encodeCursor(end) : null);
+    }
+    
+    // getters
+    public List<Book> getBooks() {
+        return books;
+    }
+    
+    public String getNextCursor() {
+        return nextCursor;
+    }
+    
+    public boolean hasMore() {
+        return nextCursor != null;
+    }
+    
+    static String encodeCursor(int position) {
+        return Integer.toString(position, 36);
+    }
+    
+    static int decodeCursor(String cursor) {
+        if (cursor == null || cursor.isEmpty()) {
+            return 0;
+        }
+        try {
+            int position = Integer.parseInt(cursor, 36);
+            if (position >= 0) {
+                return position;
+            }
+        } catch (NumberFormatException e) {
+            // ditangani di bawah
+        }
+        throw new IllegalArgumentException("Cursor tidak valid: " + cursor);
+    }
+    
+    static void checkPageSize(int pageSize) {
+        if (pageSize <= 0) {
+            throw new IllegalArgumentException("Ukuran halaman harus lebih dari 0");
+        }
+    }
+    
+    @Override
+    public String toString() {
+        return "SearchPage{" +
+                "books=" + books.size() +
+                ", nextCursor='" + nextCursor + '\'' +
+                '}';
+    }
+}
\ No newline at end of file
@@ -0,0 +1,120 @@
+package com.library.model;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Generator ID 63-bit bergaya Snowflake: 41 bit milidetik sejak 2025-01-01 UTC, 6 bit node,
+ * 4 bit jalur, dan 12 bit urutan. Setiap thread memakai salah satu dari 16 jalur dengan
+ * urutannya sendiri, jadi desk yang berjalan bersamaan jarang berebut dan tidak ada yang
+ * menunggu lock atau SecureRandom.
+ *
+ * ID di satu jalur selalu naik; jika jam sistem mundur atau urutan habis dalam satu milidetik,
+ * jalur tersebut meminjam milidetik berikutnya alih-alih menunggu. Bentuk teksnya berupa
+ * awalan ditambah 13 digit base-36 dengan lebar tetap, sehingga urutan string sama dengan
+ * urutan waktu pembuatan (dengan resolusi milidetik antar jalur).
+ */
+public class SnowflakeIdGenerator implements IdGenerator {
+    public static final long EPOCH_MS = 1735689600000L; // 2025-01-01T00:00:00Z
+    
+    private static final int SEQUENCE_BITS = 12;
+    private static final int LANE_BITS = 4;
+    private static final int NODE_BITS = 6;
+    private static final int LANES = 1 << LANE_BITS;
+    private static final long SEQUENCE_MASK = (1L << SEQUENCE_BITS) - 1;
+    private static final int TIMESTAMP_SHIFT = SEQUENCE_BITS + LANE_BITS + NODE_BITS;
+    private static final int ENCODED_LENGTH = 13; // 36^13 > 2^63
+    private static final char[] DIGITS = "0123456789abcdefghijklmnopqrstuvwxyz".toCharArray();
+    
+    public static final int MAX_NODE = (1 << NODE_BITS) - 1;
+    
+    private final long nodeBits;
+    // per jalur: (timestamp << SEQUENCE_BITS) | sequence terakhir
+    private final AtomicLongArray lanes;
+    private final AtomicInteger nextLane;
+    private final ThreadLocal<Integer> threadLane;
+    
+    // konstruktor
+    /**
+     * @param node nomor node 0..63, harus berbeda untuk setiap instance aplikasi yang berjalan bersamaan
+     */
+    public SnowflakeIdGenerator(int node) {
+        if (node < 0 || node > MAX_NODE) {
+            throw new IllegalArgumentException("Nomor node harus antara 0 dan " + MAX_NODE);
+        }
+        this.nodeBits = (long) node << (SEQUENCE_BITS + LANE_BITS);
+        this.lanes = new AtomicLongArray(LANES);
+        this.nextLane = new AtomicInteger();
+        this.threadLane = ThreadLocal.withInitial(() -> nextLane.getAndIncrement() & (LANES - 1));
+    }
+    
+    // metode
+    /**
+     * @return ID numerik baru, selalu positif
+     */
+    public long nextLong() {
+        int lane = threadLane.get();
+        long now = System.currentTimeMillis() - EPOCH_MS;
+        while (true) {
+            long last = lanes.get(lane);
+            long lastTimestamp = last >>> SEQUENCE_BITS;
+            long next;
+            if (now > lastTimestamp) {
+                next = now << SEQUENCE_BITS;
+            } else {
+                // milidetik yang sama atau jam mundur: lanjutkan urutan, pinjam milidetik berikutnya jika habis
+                next = last + 1;
+            }
+            if (lanes.compareAndSet(lane, last, next)) {
+                long timestamp = next >>> SEQUENCE_BITS;
+                long sequence = next & SEQUENCE_MASK;
+                return (timestamp << TIMESTAMP_SHIFT) | nodeBits | ((long) lane << SEQUENCE_BITS) | sequence;
+            }
+        }
+    }
+    
+    @Override
+    public String nextId(String prefix) {
+        return encode(prefix, nextLong());
+    }
+    
+    /**
+     * @return waktu pembuatan ID (milidetik epoch) dari ID numerik
+     */
+    public static long timestampOf(long id) {
+        return (id >>> TIMESTAMP_SHIFT) + EPOCH_MS;
+    }
+    
+    /**
+     * @return waktu pembuatan ID (milidetik epoch) dari bentuk teks, atau -1 jika bukan ID Snowflake
+     */
+    public static long timestampOf(String id, String prefix) {
+        if (id == null || !id.startsWith(prefix) || id.length() != prefix.length() + ENCODED_LENGTH) {
+            return -1;
+        }
+        try {
+            return timestampOf(Long.parseLong(id.substring(prefix.length()), 36));
+        } catch (NumberFormatException e) {
+            return -1;
+        }
+    }
+    
+    // base-36 lebar tetap langsung ke satu char[], tanpa StringBuilder
+    private static String encode(String prefix, long id) {
+        int prefixLength = prefix.length();
+        char[] chars = new char[prefixLength + ENCODED_LENGTH];
+        prefix.getChars(0, prefixLength, chars, 0);
+        for (int i = chars.length - 1; i >= prefixLength; i--) {
+            chars[i] = DIGITS[(int) (id % 36)];
+            id /= 36;
+        }
+        return new String(chars);
+    }
+    
+    @Override
+    public String toString() {
+        return "SnowflakeIdGenerator{" +
+                "node=" + (nodeBits >>> (SEQUENCE_BITS + LANE_BITS)) +
+                '}';
+    }
+}
\ No newline at end of file
@@ -0,0 +1,256 @@
+package com.library.model;
+
+import java.util.PriorityQueue;
+import java.util.function.Consumer;
+
+/**
+ * Timing wheel hierarkis: level 0 punya wheelSize slot selebar tickMs, setiap level berikutnya
+ * satu slotnya selebar seluruh level di bawahnya dan dibuat saat dibutuhkan. Hanya slot yang
+ * berisi yang masuk antrean kedaluwarsa, sehingga maju ke waktu tertentu sebanding dengan
+ * jumlah slot yang jatuh tempo (dan timeout yang turun level), bukan jumlah tick yang dilewati
+ * atau jumlah timeout yang terdaftar. Tidak thread-safe; sinkronisasi diurus pemanggil.
+ */
+public class TimingWheel<T> {
+    private Level root;
+    private PriorityQueue<Bucket<T>> dueBuckets;
+    private int size;
+    
+    // konstruktor
+    /**
+     * @param tickMs lebar satu slot level 0 (resolusi timeout) dalam milidetik
+     * @param wheelSize jumlah slot per level
+     * @param startMs waktu awal wheel
+     */
+    public TimingWheel(long tickMs, int wheelSize, long startMs) {
+        if (tickMs <= 0 || wheelSize <= 1) {
+            throw new IllegalArgumentException("tickMs harus > 0 dan wheelSize harus > 1");
+        }
+        this.dueBuckets = new PriorityQueue<>((a, b) -> Long.compare(a.expiration, b.expiration));
+        this.root = new Level(tickMs, wheelSize, startMs);
+    }
+    
+    // getters
+    public int size() {
+        return size;
+    }
+    
+    public boolean isEmpty() {
+        return size == 0;
+    }
+    
+    public long getCurrentTime() {
+        return root.currentTime;
+    }
+    
+    /**
+     * @return waktu slot berisi paling awal, atau Long.MAX_VALUE jika wheel kosong
+     */
+    public long getNextExpiration() {
+        Bucket<T> next = dueBuckets.peek();
+        return next != null ? next.expiration : Long.MAX_VALUE;
+    }
+    
+    // mutator
+    /**
+     * Daftarkan timeout. Jika expirationMs sudah lewat (kurang dari satu tick dari waktu wheel),
+     * timeout tidak didaftarkan dan null dikembalikan, jadi pemanggil memprosesnya langsung.
+     *
+     * @return handle untuk membatalkan timeout, atau null jika sudah jatuh tempo
+     */
+    public Timeout<T> schedule(T value, long expirationMs) {
+        Timeout<T> timeout = new Timeout<>(this, value, expirationMs);
+        if (!root.add(timeout)) {
+            return null;
+        }
+        size++;
+        return timeout;
+    }
+    
+    /**
+     * Majukan wheel sampai nowMs dan serahkan setiap timeout yang jatuh tempo ke handler,
+     * urut per slot.
+     *
+     * @return jumlah timeout yang jatuh tempo
+     */
+    public int advance(long nowMs, Consumer<T> expiredHandler) {
+        int expired = 0;
+        Bucket<T> bucket = dueBuckets.peek();
+        while (bucket != null && bucket.expiration <= nowMs) {
+            dueBuckets.poll();
+            root.advanceClock(bucket.expiration);
+            for (Timeout<T> timeout = bucket.drain(); timeout != null; ) {
+                Timeout<T> next = timeout.next;
+                timeout.next = null;
+                timeout.prev = null;
+                if (!root.add(timeout)) {
+                    size--;
+                    expired++;
+                    expiredHandler.accept(timeout.value);
+                }
+                timeout = next;
+            }
+            bucket = dueBuckets.peek();
+        }
+        root.advanceClock(nowMs);
+        return expired;
+    }
+    
+    public void clear() {
+        for (Bucket<T> bucket : dueBuckets) {
+            for (Timeout<T> timeout = bucket.drain(); timeout != null; ) {
+                Timeout<T> next = timeout.next;
+                timeout.next = null;
+                timeout.prev = null;
+                timeout.bucket = null;
+                timeout = next;
+            }
+        }
+        dueBuckets.clear();
+        size = 0;
+    }
+    
+    /**
+     * Handle timeout yang terdaftar di wheel; pembatalan O(1).
+     */
+    public static class Timeout<T> {
+        private final TimingWheel<T> wheel;
+        private final T value;
+        private final long expiration;
+        private Bucket<T> bucket;
+        private Timeout<T> prev;
+        private Timeout<T> next;
+        
+        private Timeout(TimingWheel<T> wheel, T value, long expiration) {
+            this.wheel = wheel;
+            this.value = value;
+            this.expiration = expiration;
+        }
+        
+        public T getValue() {
+            return value;
+        }
+        
+        public long getExpiration() {
+            return expiration;
+        }
+        
+        public boolean isPending() {
+            return bucket != null;
+        }
+        
+        /**
+         * @return true jika timeout masih terdaftar dan berhasil dibatalkan
+         */
+        public boolean cancel() {
+            if (bucket == null) {
+                return false;
+            }
+            bucket.remove(this);
+            wheel.size--;
+            return true;
+        }
+    }
+    
+    // satu level wheel; level atas dibuat saat timeout melebihi rentang level ini
+    private class Level {
+        private final long tickMs;
+        private final int wheelSize;
+        private final long interval;
+        private final Bucket<T>[] buckets;
+        private long currentTime;
+        private Level overflow;
+        
+        @SuppressWarnings("unchecked")
+        Level(long tickMs, int wheelSize, long startMs) {
+            this.tickMs = tickMs;
+            this.wheelSize = wheelSize;
+            this.interval = tickMs * wheelSize;
+            this.buckets = (Bucket<T>[]) new Bucket<?>[wheelSize];
+            for (int i = 0; i < wheelSize; i++) {
+                buckets[i] = new Bucket<>();
+            }
+            this.currentTime = startMs - (startMs % tickMs);
+        }
+        
+        boolean add(Timeout<T> timeout) {
+            long expiration = timeout.expiration;
+            if (expiration < currentTime + tickMs) {
+                return false;
+            }
+            if (expiration < currentTime + interval || interval > Long.MAX_VALUE / wheelSize) {
+                long virtualId = expiration / tickMs;
+                Bucket<T> bucket = buckets[(int) (virtualId % wheelSize)];
+                bucket.add(timeout);
+                if (bucket.setExpiration(virtualId * tickMs)) {
+                    dueBuckets.offer(bucket);
+                }
+                return true;
+            }
+            if (overflow == null) {
+                overflow = new Level(interval, wheelSize, currentTime);
+            }
+            return overflow.add(timeout);
+        }
+        
+        void advanceClock(long timeMs) {
+            if (timeMs >= currentTime + tickMs) {
+                currentTime = timeMs - (timeMs % tickMs);
+                if (overflow != null) {
+                    overflow.advanceClock(currentTime);
+                }
+            }
+        }
+    }
+    
+    // slot berisi daftar taut ganda timeout dengan waktu kedaluwarsa slot
+    private static class Bucket<T> {
+        private final Timeout<T> head;
+        private long expiration;
+        
+        Bucket() {
+            this.head = new Timeout<>(null, null, -1);
+            head.next = head;
+            head.prev = head;
+            this.expiration = -1;
+        }
+        
+        boolean setExpiration(long expiration) {
+            boolean changed = this.expiration != expiration;
+            this.expiration = expiration;
+            return changed;
+        }
+        
+        void add(Timeout<T> timeout) {
+            timeout.bucket = this;
+            timeout.next = head;
+            timeout.prev = head.prev;
+            head.prev.next = timeout;
+            head.prev = timeout;
+        }
+        
+        void remove(Timeout<T> timeout) {
+            timeout.prev.next = timeout.next;
+            timeout.next.prev = timeout.prev;
+            timeout.next = null;
+            timeout.prev = null;
+            timeout.bucket = null;
+        }
+        
+        /**
+         * Kosongkan slot dan kembalikan rantai timeout-nya (null-terminated).
+         */
+        Timeout<T> drain() {
+            Timeout<T> first = head.next == head ? null : head.next;
+            if (first != null) {
+                head.prev.next = null;
+                for (Timeout<T> timeout = first; timeout != null; timeout = timeout.next) {
+                    timeout.bucket = null;
+                }
+            }
+            head.next = head;
+            head.prev = head;
+            expiration = -1;
+            return first;
+        }
+    }
+}
\ No newline at end of file
@@ -0,0 +1,420 @@
+package com.library.search;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Set;
+
+/**
+ * Radix trie (trie terkompresi) untuk type-ahead judul atau pengarang.
+ * Setiap node menyimpan cache top-K saran di subtree-nya, sehingga
+ * permintaan saran cukup menelusuri prefix tanpa menjelajah seluruh subtree.
+ * Teks didaftarkan pada setiap awal kata agar "manusia" juga menemukan "Bumi Manusia".
+ */
+public class AutocompleteIndex {
+    public static final int MAX_SUGGESTIONS = 16;
+    
+    private Node root;
+    private Map<String, Entry> entries;
+    
+    // konstruktor
+    public AutocompleteIndex() {
+        this.root = new Node("");
+        this.entries = new HashMap<>();
+    }
+    
+    // getters
+    public int getEntryCount() {
+        return entries.size();
+    }
+    
+    // mutator
+    /**
+     * @param text teks saran (judul atau nama pengarang)
+     * @param weight bobot popularitas, misalnya jumlah salinan
+     */
+    public void add(String text, int weight) {
+        String normalized = Tokenizer.normalize(text);
+        if (normalized.isEmpty()) {
+            return;
+        }
+        
+        Entry entry = entries.get(normalized);
+        if (entry != null) {
+            entry.count++;
+            updateWeight(entry, weight);
+            return;
+        }
+        
+        entry = new Entry(text, weight);
+        entries.put(normalized, entry);
+        for (String key : keysOf(normalized)) {
+            insert(key, entry);
+        }
+    }
+    
+    public void remove(String text, int weight) {
+        String normalized = Tokenizer.normalize(text);
+        Entry entry = entries.get(normalized);
+        if (entry == null) {
+            return;
+        }
+        
+        entry.count--;
+        if (entry.count > 0) {
+            updateWeight(entry, -weight);
+            return;
+        }
+        
+        entries.remove(normalized);
+        for (String key : keysOf(normalized)) {
+            delete(key, entry);
+        }
+    }
+    
+    public void adjustWeight(String text, int delta) {
+        Entry entry = entries.get(Tokenizer.normalize(text));
+        if (entry != null && delta != 0) {
+            updateWeight(entry, delta);
+        }
+    }
+    
+    public void clear() {
+        root = new Node("");
+        entries.clear();
+    }
+    
+    /**
+     * @param prefix teks yang sedang diketik
+     * @param limit jumlah maksimum saran (paling banyak MAX_SUGGESTIONS)
+     * @return saran terurut berdasarkan bobot tertinggi
+     */
+    public List<String> suggest(String prefix, int limit) {
+        List<String> result = new ArrayList<>();
+        String normalized = Tokenizer.normalize(prefix).trim();
+        if (normalized.isEmpty()) {
+            return result;
+        }
+        
+        Node node = root;
+        int matched = 0;
+        while (matched < normalized.length()) {
+            Node child = node.child(normalized.charAt(matched));
+            if (child == null) {
+                return result;
+            }
+            
+            int common = commonPrefix(child.label, normalized, matched);
+            if (matched + common == normalized.length()) {
+                node = child;
+                break;
+            }
+            if (common < child.label.length()) {
+                return result;
+            }
+            
+            matched += common;
+            node = child;
+        }
+        
+        for (Entry entry : node.top) {
+            if (result.size() >= limit) {
+                break;
+            }
+            result.add(entry.text);
+        }
+        return result;
+    }
+    
+    private void updateWeight(Entry entry, int delta) {
+        entry.weight += delta;
+        for (String key : keysOf(Tokenizer.normalize(entry.text))) {
+            refreshPath(key);
+        }
+    }
+    
+    private void insert(String key, Entry entry) {
+        List<Node> path = new ArrayList<>();
+        path.add(root);
+        
+        Node node = root;
+        int position = 0;
+        while (position < key.length()) {
+            Node child = node.child(key.charAt(position));
+            if (child == null) {
+                child = new Node(key.substring(position));
+                node.addChild(child);
+                node = child;
+                path.add(node);
+                position = key.length();
+                break;
+            }
+            
+            int common = commonPrefix(child.label, key, position);
+            if (common < child.label.length()) {
+                // pecah edge menjadi bagian bersama dan sisanya
+                Node split = new Node(child.label.substring(0, common));
+                node.replaceChild(child, split);
+                child.label = child.label.substring(common);
+                split.addChild(child);
+                split.top = child.top;
+                child = split;
+            }
+            
+            node = child;
+            path.add(node);
+            position += common;
+        }
+        
+        if (!node.terminals.contains(entry)) {
+            node.terminals.add(entry);
+        }
+        
+        // entri baru naik ke atas selama masih lolos top-K; jika tidak lolos di suatu node,
+        // leluhurnya yang punya top-K lebih kuat juga tidak akan berubah
+        for (int i = path.size() - 1; i >= 0; i--) {
+            if (!path.get(i).offerTop(entry)) {
+                break;
+            }
+        }
+    }
+    
+    private void delete(String key, Entry entry) {
+        List<Node> path = findPath(key);
+        if (path == null) {
+            return;
+        }
+        
+        Node node = path.get(path.size() - 1);
+        node.terminals.remove(entry);
+        
+        // buang node yang sudah kosong dari bawah ke atas
+        for (int i = path.size() - 1; i > 0; i--) {
+            Node current = path.get(i);
+            if (current.terminals.isEmpty() && current.children.length == 0) {
+                path.get(i - 1).removeChild(current);
+            }
+        }
+        refresh(path);
+    }
+    
+    private void refreshPath(String key) {
+        List<Node> path = findPath(key);
+        if (path != null) {
+            refresh(path);
+        }
+    }
+    
+    private List<Node> findPath(String key) {
+        List<Node> path = new ArrayList<>();
+        path.add(root);
+        
+        Node node = root;
+        int position = 0;
+        while (position < key.length()) {
+            Node child = node.child(key.charAt(position));
+            if (child == null || !key.startsWith(child.label, position)) {
+                return null;
+            }
+            node = child;
+            path.add(node);
+            position += child.label.length();
+        }
+        return path;
+    }
+    
+    private void refresh(List<Node> path) {
+        for (int i = path.size() - 1; i >= 0; i--) {
+            path.get(i).recomputeTop();
+        }
+    }
+    
+    private static List<String> keysOf(String normalized) {
+        List<String> keys = new ArrayList<>();
+        for (int i = 0; i < normalized.length(); i++) {
+            boolean wordStart = Tokenizer.isTokenChar(normalized.charAt(i))
+                    && (i == 0 || !Tokenizer.isTokenChar(normalized.charAt(i - 1)));
+            if (wordStart) {
+                keys.add(normalized.substring(i));
+            }
+        }
+        return keys;
+    }
+    
+    private static int commonPrefix(String label, String key, int offset) {
+        int length = Math.min(label.length(), key.length() - offset);
+        int i = 0;
+        while (i < length && label.charAt(i) == key.charAt(offset + i)) {
+            i++;
+        }
+        return i;
+    }
+    
+    private static int compare(Entry a, Entry b) {
+        if (a.weight != b.weight) {
+            return Integer.compare(b.weight, a.weight);
+        }
+        return a.text.compareToIgnoreCase(b.text);
+    }
+    
+    @Override
+    public String toString() {
+        return "AutocompleteIndex{" +
+                "entries=" + entries.size() +
+                '}';
+    }
+    
+    private static class Entry {
+        private String text;
+        private int weight;
+        private int count;
+        
+        Entry(String text, int weight) {
+            this.text = text;
+            this.weight = weight;
+            this.count = 1;
+        }
+    }
+    
+    private static class Node {
+        private static final Entry[] NO_ENTRIES = new Entry[0];
+        private static final Node[] NO_CHILDREN = new Node[0];
+        
+        private String label;
+        private char[] firstChars;
+        private Node[] children;
+        private List<Entry> terminals;
+        private Entry[] top;
+        
+        Node(String label) {
+            this.label = label;
+            this.firstChars = new char[0];
+            this.children = NO_CHILDREN;
+            this.terminals = new ArrayList<>(1);
+            this.top = NO_ENTRIES;
+        }
+        
+        Node child(char c) {
+            int position = Arrays.binarySearch(firstChars, c);
+            return position >= 0 ? children[position] : null;
+        }
+        
+        void addChild(Node child) {
+            char c = child.label.charAt(0);
+            int position = -Arrays.binarySearch(firstChars, c) - 1;
+            
+            char[] newChars = new char[firstChars.length + 1];
+            Node[] newChildren = new Node[children.length + 1];
+            System.arraycopy(firstChars, 0, newChars, 0, position);
+            System.arraycopy(children, 0, newChildren, 0, position);
+            newChars[position] = c;
+            newChildren[position] = child;
+            System.arraycopy(firstChars, position, newChars, position + 1, firstChars.length - position);
+            System.arraycopy(children, position, newChildren, position + 1, children.length - position);
+            
+            firstChars = newChars;
+            children = newChildren;
+        }
+        
+        void replaceChild(Node oldChild, Node newChild) {
+            children[Arrays.binarySearch(firstChars, oldChild.label.charAt(0))] = newChild;
+        }
+        
+        void removeChild(Node child) {
+            int position = Arrays.binarySearch(firstChars, child.label.charAt(0));
+            if (position < 0 || children[position] != child) {
+                return;
+            }
+            
+            char[] newChars = new char[firstChars.length - 1];
+            Node[] newChildren = new Node[children.length - 1];
+            System.arraycopy(firstChars, 0, newChars, 0, position);
+            System.arraycopy(children, 0, newChildren, 0, position);
+            System.arraycopy(firstChars, position + 1, newChars, position, firstChars.length - position - 1);
+            System.arraycopy(children, position + 1, newChildren, position, children.length - position - 1);
+            
+            firstChars = newChars;
+            children = newChildren;
+        }
+        
+        /**
+         * @return true jika entri masuk ke top node ini
+         */
+        boolean offerTop(Entry entry) {
+            for (Entry existing : top) {
+                if (existing == entry) {
+                    return false;
+                }
+            }
+            
+            int low = 0;
+            int high = top.length;
+            while (low < high) {
+                int mid = (low + high) >>> 1;
+                if (compare(top[mid], entry) < 0) {
+                    low = mid + 1;
+                } else {
+                    high = mid;
+                }
+            }
+            if (low >= MAX_SUGGESTIONS) {
+                return false;
+            }
+            
+            int size = Math.min(top.length + 1, MAX_SUGGESTIONS);
+            Entry[] newTop = new Entry[size];
+            System.arraycopy(top, 0, newTop, 0, low);
+            newTop[low] = entry;
+            System.arraycopy(top, low, newTop, low + 1, size - low - 1);
+            top = newTop;
+            return true;
+        }
+        
+        void recomputeTop() {
+            // heap berukuran MAX_SUGGESTIONS dengan entri terlemah di puncak
+            PriorityQueue<Entry> best = new PriorityQueue<>(MAX_SUGGESTIONS + 1, (a, b) -> compare(b, a));
+            Set<Entry> seen = new HashSet<>();
+            for (Entry entry : terminals) {
+                offer(best, seen, entry);
+            }
+            for (Node child : children) {
+                // top anak sudah terurut, jadi berhenti begitu entrinya tidak lagi masuk
+                for (Entry entry : child.top) {
+                    if (!offer(best, seen, entry)) {
+                        break;
+                    }
+                }
+            }
+            
+            Entry[] newTop = new Entry[best.size()];
+            for (int i = newTop.length - 1; i >= 0; i--) {
+                newTop[i] = best.poll();
+            }
+            top = newTop;
+        }
+        
+        /**
+         * @return false jika entri lebih lemah dari semua entri di heap yang sudah penuh
+         */
+        private static boolean offer(PriorityQueue<Entry> best, Set<Entry> seen, Entry entry) {
+            if (!seen.add(entry)) {
+                return true;
+            }
+            if (best.size() < MAX_SUGGESTIONS) {
+                best.offer(entry);
+                return true;
+            }
+            if (compare(entry, best.peek()) < 0) {
+                best.poll();
+                best.offer(entry);
+                return true;
+            }
+            seen.remove(entry);
+            return false;
+        }
+    }
+}
\ No newline at end of file
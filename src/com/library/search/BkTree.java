@@ -0,0 +1,193 @@
+package com.library.search;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * BK-tree atas kamus term untuk pencarian toleran salah ketik (jarak Levenshtein).
+ * Ketidaksamaan segitiga membuat pencarian hanya mengunjungi cabang dengan jarak
+ * yang mungkin cocok, bukan menghitung jarak ke seluruh term.
+ */
+public class BkTree {
+    private Node root;
+    private int size;
+    private int removed;
+    
+    // konstruktor
+    public BkTree() {
+        this.root = null;
+        this.size = 0;
+        this.removed = 0;
+    }
+    
+    // getters
+    public int size() {
+        return size;
+    }
+    
+    // mutator
+    public void add(String term) {
+        if (root == null) {
+            root = new Node(term);
+            size++;
+            return;
+        }
+        
+        Node node = root;
+        while (true) {
+            int distance = distance(node.term, term);
+            if (distance == 0) {
+                if (!node.active) {
+                    node.active = true;
+                    size++;
+                    removed--;
+                }
+                return;
+            }
+            
+            Node child = node.children.get(distance);
+            if (child == null) {
+                node.children.put(distance, new Node(term));
+                size++;
+                return;
+            }
+            node = child;
+        }
+    }
+    
+    public void remove(String term) {
+        Node node = root;
+        while (node != null) {
+            int distance = distance(node.term, term);
+            if (distance == 0) {
+                if (node.active) {
+                    // node tetap menjadi penunjuk cabang, hanya ditandai tidak aktif
+                    node.active = false;
+                    size--;
+                    removed++;
+                    compactIfNeeded();
+                }
+                return;
+            }
+            node = node.children.get(distance);
+        }
+    }
+    
+    public void clear() {
+        root = null;
+        size = 0;
+        removed = 0;
+    }
+    
+    /**
+     * @param term term yang dicari
+     * @param maxDistance jarak edit maksimum
+     * @return term yang mirip beserta jaraknya
+     */
+    public Map<String, Integer> search(String term, int maxDistance) {
+        Map<String, Integer> result = new LinkedHashMap<>();
+        if (root == null) {
+            return result;
+        }
+        
+        Deque<Node> pending = new ArrayDeque<>();
+        pending.push(root);
+        while (!pending.isEmpty()) {
+            Node node = pending.pop();
+            int distance = distance(node.term, term);
+            if (distance <= maxDistance && node.active) {
+                result.put(node.term, distance);
+            }
+            
+            for (int d = Math.max(1, distance - maxDistance); d <= distance + maxDistance; d++) {
+                Node child = node.children.get(d);
+                if (child != null) {
+                    pending.push(child);
+                }
+            }
+        }
+        return result;
+    }
+    
+    private void compactIfNeeded() {
+        // bangun ulang jika node tidak aktif sudah lebih banyak daripada yang aktif
+        if (removed < 1024 || removed < size) {
+            return;
+        }
+        
+        List<String> terms = new ArrayList<>(size);
+        Deque<Node> pending = new ArrayDeque<>();
+        pending.push(root);
+        while (!pending.isEmpty()) {
+            Node node = pending.pop();
+            if (node.active) {
+                terms.add(node.term);
+            }
+            for (Node child : node.children.values()) {
+                pending.push(child);
+            }
+        }
+        
+        clear();
+        for (String term : terms) {
+            add(term);
+        }
+    }
+    
+    /**
+     * Jarak Levenshtein (sisip, hapus, ganti) antara dua string.
+     */
+    public static int distance(String a, String b) {
+        if (a.equals(b)) {
+            return 0;
+        }
+        if (a.isEmpty()) {
+            return b.length();
+        }
+        if (b.isEmpty()) {
+            return a.length();
+        }
+        
+        int[] previous = new int[b.length() + 1];
+        int[] current = new int[b.length() + 1];
+        for (int j = 0; j <= b.length(); j++) {
+            previous[j] = j;
+        }
+        
+        for (int i = 1; i <= a.length(); i++) {
+            current[0] = i;
+            for (int j = 1; j <= b.length(); j++) {
+                int cost = a.charAt(i - 1) == b.charAt(j - 1) ? 0 : 1;
+                current[j] = Math.min(Math.min(current[j - 1] + 1, previous[j] + 1), previous[j - 1] + cost);
+            }
+            int[] swap = previous;
+            previous = current;
+            current = swap;
+        }
+        return previous[b.length()];
+    }
+    
+    @Override
+    public String toString() {
+        return "BkTree{" +
+                "size=" + size +
+                '}';
+    }
+    
+    private static class Node {
+        private String term;
+        private boolean active;
+        private Map<Integer, Node> children;
+        
+        Node(String term) {
+            this.term = term;
+            this.active = true;
+            this.children = new HashMap<>(4);
+        }
+    }
+}
\ No newline at end of file
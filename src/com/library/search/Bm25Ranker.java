@@ -0,0 +1,169 @@
+package com.library.search;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Pemeringkat relevansi BM25 atas beberapa field teks sekaligus.
+ * Skor tiap field dikalikan bobot (boost) field tersebut, lalu hanya K ordinal
+ * terbaik yang disimpan dalam min-heap berukuran tetap.
+ *
+ * Skor dijumlahkan di array double per ordinal yang dipakai ulang antar query, jadi
+ * kata umum tidak membuat objek baru per posting.
+ */
+public class Bm25Ranker {
+    private static final double K1 = 1.2;
+    private static final double B = 0.75;
+    
+    private List<InvertedIndex> fields;
+    private List<Double> boosts;
+    
+    // skor per ordinal dan ordinal yang disentuh query yang sedang berjalan
+    private double[] scores;
+    private int[] touched;
+    private int touchedCount;
+    
+    // konstruktor
+    public Bm25Ranker() {
+        this.fields = new ArrayList<>();
+        this.boosts = new ArrayList<>();
+        this.scores = new double[0];
+        this.touched = new int[0];
+    }
+    
+    // mutator
+    public void addField(InvertedIndex index, double boost) {
+        fields.add(index);
+        boosts.add(boost);
+    }
+    
+    /**
+     * @param normalizedQuery query yang sudah dinormalisasi
+     * @param limit jumlah hasil maksimum (K)
+     * @return ordinal dengan skor tertinggi, terurut dari yang paling relevan
+     */
+    public synchronized int[] topK(String normalizedQuery, int limit) {
+        Set<String> tokens = new LinkedHashSet<>(Tokenizer.tokenize(normalizedQuery));
+        touchedCount = 0;
+        
+        for (int f = 0; f < fields.size(); f++) {
+            InvertedIndex index = fields.get(f);
+            double boost = boosts.get(f);
+            int documentCount = index.getDocumentCount();
+            double averageLength = Math.max(index.getAverageLength(), 1.0);
+            
+            for (String token : tokens) {
+                PostingList postings = index.getPostings(token);
+                if (postings == null) {
+                    continue;
+                }
+                
+                int df = postings.size();
+                double idf = Math.log(1 + (documentCount - df + 0.5) / (df + 0.5));
+                for (int i = 0; i < postings.size(); i++) {
+                    int ordinal = postings.get(i);
+                    int tf = postings.getFrequency(i);
+                    double norm = K1 * (1 - B + B * index.getLength(ordinal) / averageLength);
+                    accumulate(ordinal, boost * idf * tf * (K1 + 1) / (tf + norm));
+                }
+            }
+        }
+        
+        // min-heap ordinal: elemen terlemah (skor terendah, ordinal terbesar) ada di puncak
+        int[] heap = new int[Math.max(0, Math.min(limit, touchedCount))];
+        int heapSize = 0;
+        for (int i = 0; i < touchedCount; i++) {
+            int ordinal = touched[i];
+            if (heapSize < heap.length) {
+                heap[heapSize] = ordinal;
+                siftUp(heap, heapSize++);
+            } else if (heap.length > 0 && compare(ordinal, heap[0]) > 0) {
+                heap[0] = ordinal;
+                siftDown(heap, heapSize);
+            }
+        }
+        
+        int[] result = new int[heapSize];
+        for (int i = result.length - 1; i >= 0; i--) {
+            result[i] = heap[0];
+            heap[0] = heap[--heapSize];
+            siftDown(heap, heapSize);
+        }
+        
+        // kosongkan hanya skor yang disentuh supaya array bisa dipakai query berikutnya
+        for (int i = 0; i < touchedCount; i++) {
+            scores[touched[i]] = 0.0;
+        }
+        touchedCount = 0;
+        return result;
+    }
+    
+    // skor BM25 selalu positif, jadi 0.0 berarti ordinal belum disentuh query ini
+    private void accumulate(int ordinal, double score) {
+        if (ordinal >= scores.length) {
+            scores = Arrays.copyOf(scores, Math.max(ordinal + 1, scores.length * 2));
+        }
+        if (scores[ordinal] == 0.0) {
+            if (touchedCount == touched.length) {
+                touched = Arrays.copyOf(touched, Math.max(16, touched.length * 2));
+            }
+            touched[touchedCount++] = ordinal;
+        }
+        scores[ordinal] += score;
+    }
+    
+    private void siftUp(int[] heap, int index) {
+        int ordinal = heap[index];
+        while (index > 0) {
+            int parent = (index - 1) >>> 1;
+            if (compare(ordinal, heap[parent]) >= 0) {
+                break;
+            }
+            heap[index] = heap[parent];
+            index = parent;
+        }
+        heap[index] = ordinal;
+    }
+    
+    private void siftDown(int[] heap, int size) {
+        if (size == 0) {
+            return;
+        }
+        int ordinal = heap[0];
+        int index = 0;
+        while (true) {
+            int child = 2 * index + 1;
+            if (child >= size) {
+                break;
+            }
+            if (child + 1 < size && compare(heap[child + 1], heap[child]) < 0) {
+                child++;
+            }
+            if (compare(ordinal, heap[child]) <= 0) {
+                break;
+            }
+            heap[index] = heap[child];
+            index = child;
+        }
+        heap[index] = ordinal;
+    }
+    
+    private int compare(int a, int b) {
+        int byScore = Double.compare(scores[a], scores[b]);
+        if (byScore != 0) {
+            return byScore;
+        }
+        // skor sama: buku yang ditambahkan lebih dulu dianggap lebih relevan
+        return Integer.compare(b, a);
+    }
+    
+    @Override
+    public String toString() {
+        return "Bm25Ranker{" +
+                "fields=" + fields.size() +
+                '}';
+    }
+}
\ No newline at end of file
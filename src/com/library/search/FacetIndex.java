@@ -0,0 +1,90 @@
+package com.library.search;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Indeks facet: satu bitmap ordinal untuk setiap nilai facet
+ * (misalnya format, bahasa, dekade terbit, atau kategori).
+ */
+public class FacetIndex<K> {
+    private Map<K, OrdinalBitmap> values;
+    
+    // konstruktor
+    public FacetIndex() {
+        this.values = new LinkedHashMap<>();
+    }
+    
+    // getters
+    public Set<K> getValues() {
+        return values.keySet();
+    }
+    
+    public OrdinalBitmap get(K value) {
+        OrdinalBitmap bitmap = values.get(value);
+        return bitmap != null ? bitmap : new OrdinalBitmap();
+    }
+    
+    // mutator
+    public void add(int ordinal, K value) {
+        if (value != null) {
+            values.computeIfAbsent(value, key -> new OrdinalBitmap()).add(ordinal);
+        }
+    }
+    
+    public void remove(int ordinal, K value) {
+        OrdinalBitmap bitmap = value != null ? values.get(value) : null;
+        if (bitmap != null) {
+            bitmap.remove(ordinal);
+            if (bitmap.isEmpty()) {
+                values.remove(value);
+            }
+        }
+    }
+    
+    public void removeValue(K value) {
+        values.remove(value);
+    }
+    
+    public void clear() {
+        values.clear();
+    }
+    
+    /**
+     * @param selected nilai facet yang dipilih
+     * @return gabungan (OR) bitmap dari nilai-nilai yang dipilih
+     */
+    public OrdinalBitmap anyOf(Iterable<K> selected) {
+        OrdinalBitmap result = new OrdinalBitmap();
+        for (K value : selected) {
+            OrdinalBitmap bitmap = values.get(value);
+            if (bitmap != null) {
+                result = result.or(bitmap);
+            }
+        }
+        return result;
+    }
+    
+    /**
+     * @param scope himpunan ordinal hasil pencarian
+     * @return jumlah ordinal dalam scope untuk setiap nilai facet
+     */
+    public Map<K, Integer> counts(OrdinalBitmap scope) {
+        Map<K, Integer> result = new LinkedHashMap<>();
+        for (Map.Entry<K, OrdinalBitmap> entry : values.entrySet()) {
+            int count = entry.getValue().andCardinality(scope);
+            if (count > 0) {
+                result.put(entry.getKey(), count);
+            }
+        }
+        return result;
+    }
+    
+    @Override
+    public String toString() {
+        return "FacetIndex{" +
+                "values=" + values.size() +
+                '}';
+    }
+}
\ No newline at end of file
@@ -0,0 +1,264 @@
+package com.library.search;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.TreeMap;
+
+/**
+ * Indeks token terbalik (term -> posting list ordinal buku) untuk satu field teks.
+ * Kamus term disimpan terurut (dan juga dalam bentuk terbalik) agar pencarian
+ * prefix dan suffix token tidak perlu memindai seluruh katalog.
+ */
+public class InvertedIndex {
+    private TreeMap<String, PostingList> terms;
+    private TreeMap<String, String> reversedTerms;
+    private BkTree fuzzyTerms;
+    private int[] lengths;
+    private BitSet documents; // ordinal yang sedang terindeks
+    private long totalLength;
+    private int documentCount;
+    
+    // konstruktor
+    public InvertedIndex() {
+        this(false);
+    }
+    
+    /**
+     * @param fuzzy true jika kamus term juga disimpan dalam BK-tree untuk pencarian mirip
+     */
+    public InvertedIndex(boolean fuzzy) {
+        this.terms = new TreeMap<>();
+        this.reversedTerms = new TreeMap<>();
+        this.fuzzyTerms = fuzzy ? new BkTree() : null;
+        this.lengths = new int[16];
+        this.documents = new BitSet();
+        this.totalLength = 0;
+        this.documentCount = 0;
+    }
+    
+    // getters
+    public int getTermCount() {
+        return terms.size();
+    }
+    
+    public PostingList getPostings(String term) {
+        return terms.get(term);
+    }
+    
+    public int getDocumentCount() {
+        return documentCount;
+    }
+    
+    /**
+     * @return jumlah token field untuk ordinal tersebut
+     */
+    public int getLength(int ordinal) {
+        return ordinal < lengths.length ? lengths[ordinal] : 0;
+    }
+    
+    public double getAverageLength() {
+        return documentCount == 0 ? 0 : (double) totalLength / documentCount;
+    }
+    
+    // mutator
+    public void add(int ordinal, String normalizedText) {
+        List<String> tokens = Tokenizer.tokenize(normalizedText);
+        if (ordinal >= lengths.length) {
+            lengths = Arrays.copyOf(lengths, Math.max(ordinal + 1, lengths.length * 2));
+        }
+        if (documents.get(ordinal)) {
+            // ordinal yang diindeks ulang tidak menambah jumlah dokumen
+            totalLength -= lengths[ordinal];
+        } else {
+            documents.set(ordinal);
+            documentCount++;
+        }
+        lengths[ordinal] = tokens.size();
+        totalLength += tokens.size();
+        
+        Map<String, Integer> frequencies = new HashMap<>();
+        for (String token : tokens) {
+            frequencies.merge(token, 1, Integer::sum);
+        }
+        
+        for (Map.Entry<String, Integer> entry : frequencies.entrySet()) {
+            String token = entry.getKey();
+            PostingList postings = terms.get(token);
+            if (postings == null) {
+                postings = new PostingList();
+                terms.put(token, postings);
+                reversedTerms.put(reverse(token), token);
+                if (fuzzyTerms != null) {
+                    fuzzyTerms.add(token);
+                }
+            }
+            postings.add(ordinal, entry.getValue());
+        }
+    }
+    
+    public void remove(int ordinal, String normalizedText) {
+        if (!documents.get(ordinal)) {
+            return;
+        }
+        documents.clear(ordinal);
+        totalLength -= lengths[ordinal];
+        lengths[ordinal] = 0;
+        documentCount--;
+        
+        for (String token : new HashSet<>(Tokenizer.tokenize(normalizedText))) {
+            PostingList postings = terms.get(token);
+            if (postings != null) {
+                postings.remove(ordinal);
+                if (postings.isEmpty()) {
+                    terms.remove(token);
+                    reversedTerms.remove(reverse(token));
+                    if (fuzzyTerms != null) {
+                        fuzzyTerms.remove(token);
+                    }
+                }
+            }
+        }
+    }
+    
+    public void clear() {
+        terms.clear();
+        reversedTerms.clear();
+        Arrays.fill(lengths, 0);
+        documents.clear();
+        totalLength = 0;
+        documentCount = 0;
+        if (fuzzyTerms != null) {
+            fuzzyTerms.clear();
+        }
+    }
+    
+    /**
+     * Cari kandidat buku yang mungkin mengandung query sebagai substring.
+     * Hasilnya superset dari hasil sebenarnya, jadi pemanggil tetap harus memverifikasi.
+     *
+     * @param normalizedQuery query yang sudah dinormalisasi
+     * @return posting list kandidat, atau null jika query tidak memiliki token
+     */
+    public PostingList candidates(String normalizedQuery) {
+        List<String> tokens = Tokenizer.tokenize(normalizedQuery);
+        if (tokens.isEmpty()) {
+            return null;
+        }
+        
+        boolean leadingSeparator = !Tokenizer.isTokenChar(normalizedQuery.charAt(0));
+        boolean trailingSeparator = !Tokenizer.isTokenChar(normalizedQuery.charAt(normalizedQuery.length() - 1));
+        
+        List<PostingList> perToken = new ArrayList<>();
+        for (int i = 0; i < tokens.size(); i++) {
+            // token di tengah query pasti merupakan term utuh, token di tepi bisa terpotong
+            boolean mustStart = i > 0 || leadingSeparator;
+            boolean mustEnd = i < tokens.size() - 1 || trailingSeparator;
+            
+            PostingList postings = lookup(tokens.get(i), mustStart, mustEnd);
+            if (postings.isEmpty()) {
+                return postings;
+            }
+            perToken.add(postings);
+        }
+        
+        // irisan dimulai dari posting list terpendek
+        perToken.sort(Comparator.comparingInt(PostingList::size));
+        PostingList result = perToken.get(0);
+        for (int i = 1; i < perToken.size() && !result.isEmpty(); i++) {
+            result = result.intersect(perToken.get(i));
+        }
+        return result;
+    }
+    
+    /**
+     * Perkiraan jumlah kandidat tanpa menjalankan pencarian. Hanya token utuh
+     * (bukan di tepi query) yang dipakai, token tepi dianggap bisa cocok dengan semua.
+     */
+    public int estimate(String normalizedQuery) {
+        List<String> tokens = Tokenizer.tokenize(normalizedQuery);
+        if (tokens.isEmpty()) {
+            return documentCount;
+        }
+        
+        boolean leadingSeparator = !Tokenizer.isTokenChar(normalizedQuery.charAt(0));
+        boolean trailingSeparator = !Tokenizer.isTokenChar(normalizedQuery.charAt(normalizedQuery.length() - 1));
+        
+        int estimate = documentCount;
+        for (int i = 0; i < tokens.size(); i++) {
+            boolean mustStart = i > 0 || leadingSeparator;
+            boolean mustEnd = i < tokens.size() - 1 || trailingSeparator;
+            if (mustStart && mustEnd) {
+                PostingList postings = terms.get(tokens.get(i));
+                estimate = Math.min(estimate, postings != null ? postings.size() : 0);
+            }
+        }
+        return estimate;
+    }
+    
+    /**
+     * @param token token yang sudah dinormalisasi
+     * @param maxDistance jarak edit maksimum
+     * @return term yang mirip beserta jaraknya, kosong jika indeks tidak mendukung pencarian mirip
+     */
+    public Map<String, Integer> similarTerms(String token, int maxDistance) {
+        if (fuzzyTerms == null) {
+            Map<String, Integer> exact = new LinkedHashMap<>();
+            if (terms.containsKey(token)) {
+                exact.put(token, 0);
+            }
+            return exact;
+        }
+        return fuzzyTerms.search(token, maxDistance);
+    }
+    
+    private PostingList lookup(String token, boolean mustStart, boolean mustEnd) {
+        if (mustStart && mustEnd) {
+            PostingList postings = terms.get(token);
+            return postings != null ? postings : new PostingList();
+        }
+        
+        Iterable<String> matches;
+        if (mustStart) {
+            matches = prefixRange(terms, token).keySet();
+        } else if (mustEnd) {
+            matches = prefixRange(reversedTerms, reverse(token)).values();
+        } else {
+            List<String> containing = new ArrayList<>();
+            for (String term : terms.keySet()) {
+                if (term.contains(token)) {
+                    containing.add(term);
+                }
+            }
+            matches = containing;
+        }
+        
+        PostingList result = new PostingList();
+        for (String term : matches) {
+            result = result.union(terms.get(term));
+        }
+        return result;
+    }
+    
+    private static <V> NavigableMap<String, V> prefixRange(TreeMap<String, V> map, String prefix) {
+        return map.subMap(prefix, true, prefix + Character.MAX_VALUE, true);
+    }
+    
+    private static String reverse(String token) {
+        return new StringBuilder(token).reverse().toString();
+    }
+    
+    @Override
+    public String toString() {
+        return "InvertedIndex{" +
+                "terms=" + terms.size() +
+                '}';
+    }
+}
\ No newline at end of file
@@ -0,0 +1,133 @@
+package com.library.search;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Registri ISBN -> ordinal buku. ISBN-10 dan ISBN-13 dikanonkan menjadi satu
+ * bilangan long (bentuk ISBN-13) sehingga "978-602-03-1234-5", "9786020312345",
+ * dan ISBN-10 padanannya menunjuk buku yang sama. Kunci disimpan di LongIntHashMap
+ * tanpa boxing; kode yang bukan ISBN disimpan apa adanya (tanpa spasi/tanda hubung).
+ */
+public class IsbnRegistry {
+    public static final int NOT_FOUND = LongIntHashMap.NO_VALUE;
+    
+    private LongIntHashMap isbns;
+    private Map<String, Integer> otherCodes;
+    
+    // konstruktor
+    public IsbnRegistry() {
+        this.isbns = new LongIntHashMap();
+        this.otherCodes = new HashMap<>();
+    }
+    
+    // getters
+    public int size() {
+        return isbns.size() + otherCodes.size();
+    }
+    
+    /**
+     * @return ordinal buku dengan ISBN tersebut, atau NOT_FOUND
+     */
+    public int find(String isbn) {
+        long key = canonicalize(isbn);
+        if (key >= 0) {
+            return isbns.get(key);
+        }
+        return otherCodes.getOrDefault(strip(isbn), NOT_FOUND);
+    }
+    
+    // mutator
+    /**
+     * Daftarkan ISBN untuk ordinal. Mendaftarkan ulang ISBN untuk ordinal yang sama tidak berpengaruh.
+     *
+     * @throws IllegalArgumentException jika ISBN (atau padanan ISBN-10/13-nya) sudah dipakai ordinal lain
+     */
+    public void register(int ordinal, String isbn) {
+        int existing = find(isbn);
+        if (existing == ordinal) {
+            return;
+        }
+        if (existing != NOT_FOUND) {
+            throw new IllegalArgumentException("ISBN sudah terdaftar untuk buku lain: " + isbn);
+        }
+        
+        long key = canonicalize(isbn);
+        if (key >= 0) {
+            isbns.put(key, ordinal);
+        } else {
+            otherCodes.put(strip(isbn), ordinal);
+        }
+    }
+    
+    /**
+     * Hapus ISBN hanya jika memang terdaftar untuk ordinal tersebut.
+     */
+    public void unregister(int ordinal, String isbn) {
+        if (find(isbn) != ordinal) {
+            return;
+        }
+        
+        long key = canonicalize(isbn);
+        if (key >= 0) {
+            isbns.remove(key);
+        } else {
+            otherCodes.remove(strip(isbn));
+        }
+    }
+    
+    public void clear() {
+        isbns.clear();
+        otherCodes.clear();
+    }
+    
+    /**
+     * @return ISBN dalam bentuk ISBN-13 sebagai long, atau -1 jika bukan ISBN-10/13
+     */
+    public static long canonicalize(String isbn) {
+        String digits = strip(isbn);
+        if (digits.length() == 13) {
+            long value = 0;
+            for (int i = 0; i < 13; i++) {
+                char c = digits.charAt(i);
+                if (c < '0' || c > '9') {
+                    return -1;
+                }
+                value = value * 10 + (c - '0');
+            }
+            return value;
+        }
+        
+        if (digits.length() == 10) {
+            // ISBN-10 -> 978 + 9 digit pertama + check digit ISBN-13 yang baru
+            long value = 978;
+            int sum = 9 + 3 * 7 + 8;
+            for (int i = 0; i < 9; i++) {
+                char c = digits.charAt(i);
+                if (c < '0' || c > '9') {
+                    return -1;
+                }
+                value = value * 10 + (c - '0');
+                sum += (i % 2 == 0 ? 3 : 1) * (c - '0');
+            }
+            char check = digits.charAt(9);
+            if ((check < '0' || check > '9') && check != 'X') {
+                return -1;
+            }
+            return value * 10 + (10 - sum % 10) % 10;
+        }
+        return -1;
+    }
+    
+    private static String strip(String isbn) {
+        return isbn == null ? "" : isbn.replaceAll("[\\s-]", "").toUpperCase();
+    }
+    
+    @Override
+    public String toString() {
+        return "IsbnRegistry{" +
+                "isbns=" + isbns.size() +
+                ", otherCodes=" + otherCodes.size() +
+                '}';
+    }
+}
\ No newline at end of file
@@ -0,0 +1,152 @@
+package com.library.search;
+
+import java.util.Arrays;
+
+/**
+ * Map long -> int dengan open addressing (linear probing) di atas dua array primitif,
+ * tanpa objek per entri. Kunci negatif tidak didukung karena -1 dipakai sebagai slot kosong.
+ * Penghapusan memakai backward shift sehingga tidak ada tombstone.
+ */
+public class LongIntHashMap {
+    public static final int NO_VALUE = -1;
+    private static final long EMPTY = -1L;
+    private static final float LOAD_FACTOR = 0.5f;
+    
+    private long[] keys;
+    private int[] values;
+    private int size;
+    
+    // konstruktor
+    public LongIntHashMap() {
+        this(16);
+    }
+    
+    public LongIntHashMap(int expectedSize) {
+        int capacity = Integer.highestOneBit(Math.max((int) (expectedSize / LOAD_FACTOR), 8) - 1) << 1;
+        this.keys = new long[capacity];
+        this.values = new int[capacity];
+        this.size = 0;
+        Arrays.fill(keys, EMPTY);
+    }
+    
+    // getters
+    public int size() {
+        return size;
+    }
+    
+    public boolean isEmpty() {
+        return size == 0;
+    }
+    
+    /**
+     * @return nilai untuk key, atau NO_VALUE jika tidak ada
+     */
+    public int get(long key) {
+        int mask = keys.length - 1;
+        for (int slot = slotOf(key, mask); keys[slot] != EMPTY; slot = (slot + 1) & mask) {
+            if (keys[slot] == key) {
+                return values[slot];
+            }
+        }
+        return NO_VALUE;
+    }
+    
+    public boolean containsKey(long key) {
+        return get(key) != NO_VALUE;
+    }
+    
+    // mutator
+    /**
+     * @return nilai sebelumnya, atau NO_VALUE jika key baru
+     */
+    public int put(long key, int value) {
+        if (key < 0) {
+            throw new IllegalArgumentException("Key tidak boleh negatif: " + key);
+        }
+        
+        int mask = keys.length - 1;
+        int slot = slotOf(key, mask);
+        while (keys[slot] != EMPTY) {
+            if (keys[slot] == key) {
+                int previous = values[slot];
+                values[slot] = value;
+                return previous;
+            }
+            slot = (slot + 1) & mask;
+        }
+        
+        keys[slot] = key;
+        values[slot] = value;
+        if (++size > keys.length * LOAD_FACTOR) {
+            resize(keys.length * 2);
+        }
+        return NO_VALUE;
+    }
+    
+    /**
+     * @return nilai yang dihapus, atau NO_VALUE jika key tidak ada
+     */
+    public int remove(long key) {
+        int mask = keys.length - 1;
+        int slot = slotOf(key, mask);
+        while (keys[slot] != key) {
+            if (keys[slot] == EMPTY) {
+                return NO_VALUE;
+            }
+            slot = (slot + 1) & mask;
+        }
+        int removed = values[slot];
+        
+        // geser entri berikutnya dalam cluster yang sama agar rantai probing tidak terputus
+        int gap = slot;
+        for (int next = (gap + 1) & mask; keys[next] != EMPTY; next = (next + 1) & mask) {
+            int home = slotOf(keys[next], mask);
+            if (((next - home) & mask) >= ((next - gap) & mask)) {
+                keys[gap] = keys[next];
+                values[gap] = values[next];
+                gap = next;
+            }
+        }
+        keys[gap] = EMPTY;
+        size--;
+        return removed;
+    }
+    
+    public void clear() {
+        Arrays.fill(keys, EMPTY);
+        size = 0;
+    }
+    
+    private void resize(int capacity) {
+        long[] oldKeys = keys;
+        int[] oldValues = values;
+        keys = new long[capacity];
+        values = new int[capacity];
+        Arrays.fill(keys, EMPTY);
+        
+        int mask = capacity - 1;
+        for (int i = 0; i < oldKeys.length; i++) {
+            if (oldKeys[i] != EMPTY) {
+                int slot = slotOf(oldKeys[i], mask);
+                while (keys[slot] != EMPTY) {
+                    slot = (slot + 1) & mask;
+                }
+                keys[slot] = oldKeys[i];
+                values[slot] = oldValues[i];
+            }
+        }
+    }
+    
+    private static int slotOf(long key, int mask) {
+        long hash = key * 0x9E3779B97F4A7C15L;
+        return (int) (hash ^ (hash >>> 32)) & mask;
+    }
+    
+    @Override
+    public String toString() {
+        return "LongIntHashMap{" +
+                "size=" + size +
+                ", capacity=" + keys.length +
+                '}';
+    }
+}
\ No newline at end of file
@@ -0,0 +1,478 @@
+package com.library.search;
+
+import java.util.Arrays;
+
+/**
+ * Bitmap terkompresi ala Roaring untuk himpunan ordinal buku.
+ * Ordinal dibagi per blok 65536 berdasarkan 16 bit atas; blok yang jarang disimpan
+ * sebagai array terurut, blok yang padat sebagai bitmap long[1024] sehingga operasi
+ * AND/OR dikerjakan per word 64 bit.
+ */
+public class OrdinalBitmap {
+    private static final int ARRAY_LIMIT = 4096;
+    private static final int BITMAP_WORDS = 1024;
+    
+    private char[] keys;
+    private Container[] containers;
+    private int size;
+    
+    // konstruktor
+    public OrdinalBitmap() {
+        this.keys = new char[4];
+        this.containers = new Container[4];
+        this.size = 0;
+    }
+    
+    public static OrdinalBitmap of(PostingList postings) {
+        OrdinalBitmap bitmap = new OrdinalBitmap();
+        for (int i = 0; i < postings.size(); i++) {
+            bitmap.add(postings.get(i));
+        }
+        return bitmap;
+    }
+    
+    // getters
+    public int cardinality() {
+        int total = 0;
+        for (int i = 0; i < size; i++) {
+            total += containers[i].cardinality;
+        }
+        return total;
+    }
+    
+    public boolean isEmpty() {
+        return size == 0;
+    }
+    
+    public boolean contains(int ordinal) {
+        int position = find((char) (ordinal >>> 16));
+        return position >= 0 && containers[position].contains((char) ordinal);
+    }
+    
+    /**
+     * @return ordinal terkecil yang >= from, atau -1 jika tidak ada
+     */
+    public int nextOrdinal(int from) {
+        if (from < 0) {
+            from = 0;
+        }
+        int position = find((char) (from >>> 16));
+        int low = from & 0xFFFF;
+        if (position < 0) {
+            position = -position - 1;
+            low = 0;
+        }
+        for (; position < size; position++) {
+            int next = containers[position].next(low);
+            if (next >= 0) {
+                return keys[position] << 16 | next;
+            }
+            low = 0;
+        }
+        return -1;
+    }
+    
+    // mutator
+    public void add(int ordinal) {
+        char key = (char) (ordinal >>> 16);
+        int position = find(key);
+        if (position < 0) {
+            position = -position - 1;
+            insertContainer(position, key, new Container());
+        }
+        containers[position].add((char) ordinal);
+    }
+    
+    public void remove(int ordinal) {
+        int position = find((char) (ordinal >>> 16));
+        if (position < 0) {
+            return;
+        }
+        
+        Container container = containers[position];
+        container.remove((char) ordinal);
+        if (container.cardinality == 0) {
+            System.arraycopy(keys, position + 1, keys, position, size - position - 1);
+            System.arraycopy(containers, position + 1, containers, position, size - position - 1);
+            size--;
+            containers[size] = null;
+        }
+    }
+    
+    public void clear() {
+        Arrays.fill(containers, null);
+        size = 0;
+    }
+    
+    // operasi himpunan
+    public OrdinalBitmap and(OrdinalBitmap other) {
+        OrdinalBitmap result = new OrdinalBitmap();
+        int i = 0;
+        int j = 0;
+        while (i < size && j < other.size) {
+            if (keys[i] == other.keys[j]) {
+                Container container = containers[i].and(other.containers[j]);
+                if (container.cardinality > 0) {
+                    result.insertContainer(result.size, keys[i], container);
+                }
+                i++;
+                j++;
+            } else if (keys[i] < other.keys[j]) {
+                i++;
+            } else {
+                j++;
+            }
+        }
+        return result;
+    }
+    
+    public OrdinalBitmap or(OrdinalBitmap other) {
+        OrdinalBitmap result = new OrdinalBitmap();
+        int i = 0;
+        int j = 0;
+        while (i < size || j < other.size) {
+            if (j >= other.size || (i < size && keys[i] < other.keys[j])) {
+                result.insertContainer(result.size, keys[i], containers[i].copy());
+                i++;
+            } else if (i >= size || other.keys[j] < keys[i]) {
+                result.insertContainer(result.size, other.keys[j], other.containers[j].copy());
+                j++;
+            } else {
+                result.insertContainer(result.size, keys[i], containers[i].or(other.containers[j]));
+                i++;
+                j++;
+            }
+        }
+        return result;
+    }
+    
+    /**
+     * @return ordinal yang ada di bitmap ini tetapi tidak ada di other
+     */
+    public OrdinalBitmap andNot(OrdinalBitmap other) {
+        OrdinalBitmap result = new OrdinalBitmap();
+        int j = 0;
+        for (int i = 0; i < size; i++) {
+            while (j < other.size && other.keys[j] < keys[i]) {
+                j++;
+            }
+            Container container = j < other.size && other.keys[j] == keys[i]
+                    ? containers[i].andNot(other.containers[j])
+                    : containers[i].copy();
+            if (container.cardinality > 0) {
+                result.insertContainer(result.size, keys[i], container);
+            }
+        }
+        return result;
+    }
+    
+    /**
+     * Hitung |this AND other| tanpa membentuk bitmap hasil, dipakai untuk jumlah facet.
+     */
+    public int andCardinality(OrdinalBitmap other) {
+        int total = 0;
+        int i = 0;
+        int j = 0;
+        while (i < size && j < other.size) {
+            if (keys[i] == other.keys[j]) {
+                total += containers[i].andCardinality(other.containers[j]);
+                i++;
+                j++;
+            } else if (keys[i] < other.keys[j]) {
+                i++;
+            } else {
+                j++;
+            }
+        }
+        return total;
+    }
+    
+    /**
+     * @return seluruh ordinal dalam urutan naik
+     */
+    public int[] toArray() {
+        int[] result = new int[cardinality()];
+        int count = 0;
+        for (int i = 0; i < size; i++) {
+            int high = keys[i] << 16;
+            Container container = containers[i];
+            if (container.bits == null) {
+                for (int k = 0; k < container.cardinality; k++) {
+                    result[count++] = high | container.values[k];
+                }
+            } else {
+                for (int w = 0; w < BITMAP_WORDS; w++) {
+                    long word = container.bits[w];
+                    while (word != 0) {
+                        result[count++] = high | (w << 6) | Long.numberOfTrailingZeros(word);
+                        word &= word - 1;
+                    }
+                }
+            }
+        }
+        return result;
+    }
+    
+    private int find(char key) {
+        return Arrays.binarySearch(keys, 0, size, key);
+    }
+    
+    private void insertContainer(int position, char key, Container container) {
+        if (size == keys.length) {
+            keys = Arrays.copyOf(keys, size * 2);
+            containers = Arrays.copyOf(containers, size * 2);
+        }
+        System.arraycopy(keys, position, keys, position + 1, size - position);
+        System.arraycopy(containers, position, containers, position + 1, size - position);
+        keys[position] = key;
+        containers[position] = container;
+        size++;
+    }
+    
+    @Override
+    public String toString() {
+        return "OrdinalBitmap{" +
+                "cardinality=" + cardinality() +
+                ", containers=" + size +
+                '}';
+    }
+    
+    /**
+     * Satu blok 65536 ordinal: array terurut (values) atau bitmap (bits).
+     */
+    private static class Container {
+        private char[] values;
+        private long[] bits;
+        private int cardinality;
+        
+        Container() {
+            this.values = new char[4];
+            this.bits = null;
+            this.cardinality = 0;
+        }
+        
+        boolean contains(char low) {
+            if (bits != null) {
+                return (bits[low >>> 6] & (1L << low)) != 0;
+            }
+            return Arrays.binarySearch(values, 0, cardinality, low) >= 0;
+        }
+        
+        // nilai terkecil yang >= low di blok ini, atau -1
+        int next(int low) {
+            if (bits != null) {
+                for (int w = low >>> 6; w < BITMAP_WORDS; w++) {
+                    long word = bits[w];
+                    if (w == low >>> 6) {
+                        word &= -1L << low;
+                    }
+                    if (word != 0) {
+                        return (w << 6) | Long.numberOfTrailingZeros(word);
+                    }
+                }
+                return -1;
+            }
+            int position = Arrays.binarySearch(values, 0, cardinality, (char) low);
+            if (position < 0) {
+                position = -position - 1;
+            }
+            return position < cardinality ? values[position] : -1;
+        }
+        
+        void add(char low) {
+            if (bits != null) {
+                long mask = 1L << low;
+                if ((bits[low >>> 6] & mask) == 0) {
+                    bits[low >>> 6] |= mask;
+                    cardinality++;
+                }
+                return;
+            }
+            
+            int position = Arrays.binarySearch(values, 0, cardinality, low);
+            if (position >= 0) {
+                return;
+            }
+            if (cardinality == ARRAY_LIMIT) {
+                toBitmap();
+                add(low);
+                return;
+            }
+            
+            position = -position - 1;
+            if (cardinality == values.length) {
+                values = Arrays.copyOf(values, Math.min(cardinality * 2, ARRAY_LIMIT));
+            }
+            System.arraycopy(values, position, values, position + 1, cardinality - position);
+            values[position] = low;
+            cardinality++;
+        }
+        
+        void remove(char low) {
+            if (bits != null) {
+                long mask = 1L << low;
+                if ((bits[low >>> 6] & mask) != 0) {
+                    bits[low >>> 6] &= ~mask;
+                    cardinality--;
+                    if (cardinality <= ARRAY_LIMIT / 2) {
+                        toArray();
+                    }
+                }
+                return;
+            }
+            
+            int position = Arrays.binarySearch(values, 0, cardinality, low);
+            if (position >= 0) {
+                System.arraycopy(values, position + 1, values, position, cardinality - position - 1);
+                cardinality--;
+            }
+        }
+        
+        Container and(Container other) {
+            Container result = new Container();
+            if (bits != null && other.bits != null) {
+                result.bits = new long[BITMAP_WORDS];
+                for (int w = 0; w < BITMAP_WORDS; w++) {
+                    result.bits[w] = bits[w] & other.bits[w];
+                    result.cardinality += Long.bitCount(result.bits[w]);
+                }
+                if (result.cardinality <= ARRAY_LIMIT) {
+                    result.toArray();
+                }
+                return result;
+            }
+            
+            Container sparse = bits == null ? this : other;
+            Container dense = bits == null ? other : this;
+            result.values = new char[Math.max(sparse.cardinality, 1)];
+            for (int k = 0; k < sparse.cardinality; k++) {
+                if (dense.contains(sparse.values[k])) {
+                    result.values[result.cardinality++] = sparse.values[k];
+                }
+            }
+            return result;
+        }
+        
+        Container or(Container other) {
+            if (bits == null && other.bits == null && cardinality + other.cardinality <= ARRAY_LIMIT) {
+                Container result = new Container();
+                result.values = new char[Math.max(cardinality + other.cardinality, 1)];
+                int i = 0;
+                int j = 0;
+                while (i < cardinality || j < other.cardinality) {
+                    if (j >= other.cardinality || (i < cardinality && values[i] < other.values[j])) {
+                        result.values[result.cardinality++] = values[i++];
+                    } else if (i >= cardinality || other.values[j] < values[i]) {
+                        result.values[result.cardinality++] = other.values[j++];
+                    } else {
+                        result.values[result.cardinality++] = values[i];
+                        i++;
+                        j++;
+                    }
+                }
+                return result;
+            }
+            
+            Container result = new Container();
+            result.bits = new long[BITMAP_WORDS];
+            for (Container source : new Container[] {this, other}) {
+                if (source.bits != null) {
+                    for (int w = 0; w < BITMAP_WORDS; w++) {
+                        result.bits[w] |= source.bits[w];
+                    }
+                } else {
+                    for (int k = 0; k < source.cardinality; k++) {
+                        result.bits[source.values[k] >>> 6] |= 1L << source.values[k];
+                    }
+                }
+            }
+            for (long word : result.bits) {
+                result.cardinality += Long.bitCount(word);
+            }
+            if (result.cardinality <= ARRAY_LIMIT) {
+                result.toArray();
+            }
+            return result;
+        }
+        
+        Container andNot(Container other) {
+            Container result = new Container();
+            if (bits != null) {
+                result.bits = bits.clone();
+                if (other.bits != null) {
+                    for (int w = 0; w < BITMAP_WORDS; w++) {
+                        result.bits[w] &= ~other.bits[w];
+                    }
+                } else {
+                    for (int k = 0; k < other.cardinality; k++) {
+                        result.bits[other.values[k] >>> 6] &= ~(1L << other.values[k]);
+                    }
+                }
+                for (long word : result.bits) {
+                    result.cardinality += Long.bitCount(word);
+                }
+                if (result.cardinality <= ARRAY_LIMIT) {
+                    result.toArray();
+                }
+                return result;
+            }
+            
+            result.values = new char[Math.max(cardinality, 1)];
+            for (int k = 0; k < cardinality; k++) {
+                if (!other.contains(values[k])) {
+                    result.values[result.cardinality++] = values[k];
+                }
+            }
+            return result;
+        }
+        
+        int andCardinality(Container other) {
+            if (bits != null && other.bits != null) {
+                int total = 0;
+                for (int w = 0; w < BITMAP_WORDS; w++) {
+                    total += Long.bitCount(bits[w] & other.bits[w]);
+                }
+                return total;
+            }
+            
+            Container sparse = bits == null ? this : other;
+            Container dense = bits == null ? other : this;
+            int total = 0;
+            for (int k = 0; k < sparse.cardinality; k++) {
+                if (dense.contains(sparse.values[k])) {
+                    total++;
+                }
+            }
+            return total;
+        }
+        
+        Container copy() {
+            Container result = new Container();
+            result.values = values == null ? null : values.clone();
+            result.bits = bits == null ? null : bits.clone();
+            result.cardinality = cardinality;
+            return result;
+        }
+        
+        private void toBitmap() {
+            bits = new long[BITMAP_WORDS];
+            for (int k = 0; k < cardinality; k++) {
+                bits[values[k] >>> 6] |= 1L << values[k];
+            }
+            values = null;
+        }
+        
+        private void toArray() {
+            values = new char[Math.max(cardinality, 4)];
+            int count = 0;
+            for (int w = 0; w < BITMAP_WORDS; w++) {
+                long word = bits[w];
+                while (word != 0) {
+                    values[count++] = (char) ((w << 6) | Long.numberOfTrailingZeros(word));
+                    word &= word - 1;
+                }
+            }
+            bits = null;
+        }
+    }
+}
\ No newline at end of file
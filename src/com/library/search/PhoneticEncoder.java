@@ -0,0 +1,190 @@
+package com.library.search;
+
+/**
+ * Kunci fonetik untuk nama pengarang. Ejaan lama Indonesia (Van Ophuijsen/Soewandi)
+ * diseragamkan dulu ke satu bentuk: oe->u, ch->kh, tj->c, dj->j, lalu semua j->y,
+ * sehingga Djoko/Joko, Tjokro/Cokro, dan Soekarno/Sukarno menghasilkan kunci yang sama.
+ * Hasilnya dikodekan dengan Metaphone agar varian ejaan nama asing
+ * (Smith/Smyth, Philips/Filips) juga menghasilkan kunci yang sama.
+ */
+public class PhoneticEncoder {
+    private static final int MAX_KEY_LENGTH = 8;
+    
+    private PhoneticEncoder() {
+    }
+    
+    /**
+     * @param token satu token nama yang sudah dinormalisasi (huruf kecil)
+     * @return kunci fonetik, kosong jika token tidak memuat huruf
+     */
+    public static String encode(String token) {
+        return metaphone(toModernSpelling(token));
+    }
+    
+    /**
+     * Seragamkan ejaan lama dan EYD ke satu bentuk kanonik. j lama (Soerjo) dan j EYD
+     * (Joko, hasil dj dari Djoko) sama-sama menjadi y, jadi kedua ejaan selalu bertemu.
+     */
+    static String toModernSpelling(String token) {
+        return token.toLowerCase()
+                .replace("oe", "u")
+                .replace("ch", "kh")
+                .replace("tj", "c")
+                .replace("dj", "j")
+                .replace('j', 'y');
+    }
+    
+    /**
+     * Metaphone (Lawrence Philips) untuk huruf a-z; karakter lain diabaikan.
+     */
+    static String metaphone(String word) {
+        StringBuilder letters = new StringBuilder(word.length());
+        for (int i = 0; i < word.length(); i++) {
+            char c = word.charAt(i);
+            if (c >= 'a' && c <= 'z') {
+                // huruf ganda dihitung sekali, kecuali c
+                if (letters.length() == 0 || letters.charAt(letters.length() - 1) != c || c == 'c') {
+                    letters.append(c);
+                }
+            }
+        }
+        
+        String w = letters.toString();
+        StringBuilder key = new StringBuilder();
+        if (w.isEmpty()) {
+            return "";
+        }
+        
+        int start = 0;
+        if (w.startsWith("kn") || w.startsWith("gn") || w.startsWith("pn") || w.startsWith("ae") || w.startsWith("wr")) {
+            start = 1;
+        } else if (w.charAt(0) == 'x') {
+            key.append('S');
+            start = 1;
+        } else if (w.startsWith("wh")) {
+            key.append('W');
+            start = 2;
+        }
+        
+        for (int i = start; i < w.length() && key.length() < MAX_KEY_LENGTH; i++) {
+            char c = w.charAt(i);
+            char prev = i > 0 ? w.charAt(i - 1) : 0;
+            char next = i + 1 < w.length() ? w.charAt(i + 1) : 0;
+            char afterNext = i + 2 < w.length() ? w.charAt(i + 2) : 0;
+            
+            switch (c) {
+                case 'a': case 'e': case 'i': case 'o': case 'u':
+                    // vokal hanya dicatat di awal kata
+                    if (i == start) {
+                        key.append(Character.toUpperCase(c));
+                    }
+                    break;
+                case 'b':
+                    if (!(prev == 'm' && next == 0)) {
+                        key.append('B');
+                    }
+                    break;
+                case 'c':
+                    if (next == 'i' && afterNext == 'a') {
+                        key.append('X');
+                    } else if (next == 'h') {
+                        key.append(prev == 's' ? 'K' : 'X');
+                        i++;
+                    } else if (next == 'i' || next == 'e' || next == 'y') {
+                        if (prev != 's') {
+                            key.append('S');
+                        }
+                    } else {
+                        key.append('K');
+                    }
+                    break;
+                case 'd':
+                    if (next == 'g' && (afterNext == 'e' || afterNext == 'y' || afterNext == 'i')) {
+                        key.append('J');
+                        i++;
+                    } else {
+                        key.append('T');
+                    }
+                    break;
+                case 'g':
+                    if (next == 'h' && afterNext != 0 && !isVowel(afterNext)) {
+                        break;
+                    }
+                    if (next == 'n' && (afterNext == 0 || w.startsWith("ed", i + 2) && i + 4 == w.length())) {
+                        break;
+                    }
+                    if (prev != 'g' && (next == 'i' || next == 'e' || next == 'y')) {
+                        key.append('J');
+                    } else {
+                        key.append('K');
+                    }
+                    break;
+                case 'h':
+                    if (isVowel(next) && "cgpst".indexOf(prev) < 0) {
+                        key.append('H');
+                    }
+                    break;
+                case 'k':
+                    if (prev != 'c') {
+                        key.append('K');
+                    }
+                    break;
+                case 'p':
+                    if (next == 'h') {
+                        key.append('F');
+                        i++;
+                    } else {
+                        key.append('P');
+                    }
+                    break;
+                case 'q':
+                    key.append('K');
+                    break;
+                case 's':
+                    if (next == 'h') {
+                        key.append('X');
+                        i++;
+                    } else if (next == 'i' && (afterNext == 'o' || afterNext == 'a')) {
+                        key.append('X');
+                    } else {
+                        key.append('S');
+                    }
+                    break;
+                case 't':
+                    if (next == 'i' && (afterNext == 'o' || afterNext == 'a')) {
+                        key.append('X');
+                    } else if (next == 'h') {
+                        key.append('0');
+                        i++;
+                    } else if (!(next == 'c' && afterNext == 'h')) {
+                        key.append('T');
+                    }
+                    break;
+                case 'v':
+                    key.append('F');
+                    break;
+                case 'w':
+                case 'y':
+                    if (isVowel(next)) {
+                        key.append(Character.toUpperCase(c));
+                    }
+                    break;
+                case 'x':
+                    key.append("KS");
+                    break;
+                case 'z':
+                    key.append('S');
+                    break;
+                default:
+                    // f, j, l, m, n, r
+                    key.append(Character.toUpperCase(c));
+                    break;
+            }
+        }
+        return key.length() > MAX_KEY_LENGTH ? key.substring(0, MAX_KEY_LENGTH) : key.toString();
+    }
+    
+    private static boolean isVowel(char c) {
+        return c == 'a' || c == 'e' || c == 'i' || c == 'o' || c == 'u';
+    }
+}
\ No newline at end of file
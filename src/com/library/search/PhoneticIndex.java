@@ -0,0 +1,106 @@
+package com.library.search;
+
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Indeks fonetik nama pengarang: setiap token nama dipetakan ke dua kunci,
+ * ejaan yang diseragamkan ke EYD (Soekarno -> sukarno) dan kode Metaphone.
+ * Pencarian per token cukup satu lookup hash; kunci ejaan dicoba lebih dulu
+ * karena lebih ketat, kunci Metaphone hanya dipakai jika ejaan tidak ditemukan.
+ */
+public class PhoneticIndex {
+    private Map<String, PostingList> spellings;
+    private Map<String, PostingList> sounds;
+    
+    // konstruktor
+    public PhoneticIndex() {
+        this.spellings = new HashMap<>();
+        this.sounds = new HashMap<>();
+    }
+    
+    // getters
+    public int getKeyCount() {
+        return spellings.size() + sounds.size();
+    }
+    
+    // mutator
+    public void add(int ordinal, String normalizedText) {
+        for (String token : new HashSet<>(Tokenizer.tokenize(normalizedText))) {
+            add(spellings, PhoneticEncoder.toModernSpelling(token), ordinal);
+            add(sounds, PhoneticEncoder.encode(token), ordinal);
+        }
+    }
+    
+    public void remove(int ordinal, String normalizedText) {
+        // dua token berbeda bisa berbagi kunci, jadi kunci dikumpulkan dulu
+        Set<String> spellingKeys = new HashSet<>();
+        Set<String> soundKeys = new HashSet<>();
+        for (String token : Tokenizer.tokenize(normalizedText)) {
+            spellingKeys.add(PhoneticEncoder.toModernSpelling(token));
+            soundKeys.add(PhoneticEncoder.encode(token));
+        }
+        for (String key : spellingKeys) {
+            remove(spellings, key, ordinal);
+        }
+        for (String key : soundKeys) {
+            remove(sounds, key, ordinal);
+        }
+    }
+    
+    public void clear() {
+        spellings.clear();
+        sounds.clear();
+    }
+    
+    /**
+     * @param normalizedQuery nama yang dicari, sudah dinormalisasi
+     * @return ordinal yang setiap token query-nya punya padanan fonetik, terurut naik
+     */
+    public PostingList search(String normalizedQuery) {
+        PostingList result = null;
+        for (String token : new HashSet<>(Tokenizer.tokenize(normalizedQuery))) {
+            PostingList postings = spellings.get(PhoneticEncoder.toModernSpelling(token));
+            if (postings == null) {
+                postings = sounds.get(PhoneticEncoder.encode(token));
+            }
+            if (postings == null) {
+                return new PostingList();
+            }
+            result = result == null ? postings : result.intersect(postings);
+            if (result.isEmpty()) {
+                break;
+            }
+        }
+        return result != null ? result : new PostingList();
+    }
+    
+    private static void add(Map<String, PostingList> keys, String key, int ordinal) {
+        if (!key.isEmpty()) {
+            PostingList postings = keys.computeIfAbsent(key, k -> new PostingList());
+            if (!postings.contains(ordinal)) {
+                postings.add(ordinal);
+            }
+        }
+    }
+    
+    private static void remove(Map<String, PostingList> keys, String key, int ordinal) {
+        PostingList postings = keys.get(key);
+        if (postings != null) {
+            postings.remove(ordinal);
+            if (postings.isEmpty()) {
+                keys.remove(key);
+            }
+        }
+    }
+    
+    @Override
+    public String toString() {
+        return "PhoneticIndex{" +
+                "spellings=" + spellings.size() +
+                ", sounds=" + sounds.size() +
+                '}';
+    }
+}
\ No newline at end of file
@@ -0,0 +1,173 @@
+package com.library.search;
+
+import java.util.Arrays;
+
+/**
+ * Daftar ordinal buku yang terurut naik (posting list) untuk indeks pencarian.
+ * Disimpan sebagai array int primitif agar hemat memori pada katalog besar.
+ * Setiap ordinal dapat membawa frekuensi term untuk perhitungan skor relevansi.
+ */
+public class PostingList {
+    private int[] ordinals;
+    private int[] frequencies;
+    private int size;
+    
+    // konstruktor
+    public PostingList() {
+        this.ordinals = new int[4];
+        this.frequencies = new int[4];
+        this.size = 0;
+    }
+    
+    private PostingList(int[] ordinals, int size) {
+        this.ordinals = ordinals;
+        this.frequencies = null;
+        this.size = size;
+    }
+    
+    // getters
+    public int size() {
+        return size;
+    }
+    
+    public boolean isEmpty() {
+        return size == 0;
+    }
+    
+    public int get(int index) {
+        return ordinals[index];
+    }
+    
+    /**
+     * @return frekuensi term untuk ordinal pada posisi index (1 jika tidak dicatat)
+     */
+    public int getFrequency(int index) {
+        return frequencies != null ? frequencies[index] : 1;
+    }
+    
+    // mutator
+    public void add(int ordinal) {
+        add(ordinal, 1);
+    }
+    
+    public void add(int ordinal, int frequency) {
+        // ordinal baru hampir selalu lebih besar dari yang terakhir, jadi cukup append
+        if (size == 0 || ordinals[size - 1] < ordinal) {
+            ensureCapacity(size + 1);
+            ordinals[size] = ordinal;
+            frequencies[size] = frequency;
+            size++;
+            return;
+        }
+        
+        int position = Arrays.binarySearch(ordinals, 0, size, ordinal);
+        if (position >= 0) {
+            ensureCapacity(size);
+            frequencies[position] = frequency;
+            return;
+        }
+        
+        int insertAt = -position - 1;
+        ensureCapacity(size + 1);
+        System.arraycopy(ordinals, insertAt, ordinals, insertAt + 1, size - insertAt);
+        System.arraycopy(frequencies, insertAt, frequencies, insertAt + 1, size - insertAt);
+        ordinals[insertAt] = ordinal;
+        frequencies[insertAt] = frequency;
+        size++;
+    }
+    
+    public boolean remove(int ordinal) {
+        int position = Arrays.binarySearch(ordinals, 0, size, ordinal);
+        if (position < 0) {
+            return false;
+        }
+        
+        System.arraycopy(ordinals, position + 1, ordinals, position, size - position - 1);
+        if (frequencies != null) {
+            System.arraycopy(frequencies, position + 1, frequencies, position, size - position - 1);
+        }
+        size--;
+        return true;
+    }
+    
+    public boolean contains(int ordinal) {
+        return Arrays.binarySearch(ordinals, 0, size, ordinal) >= 0;
+    }
+    
+    /**
+     * @return posisi ordinal pertama yang >= ordinal, atau size() jika tidak ada
+     */
+    public int lowerBound(int ordinal) {
+        int position = Arrays.binarySearch(ordinals, 0, size, ordinal);
+        return position >= 0 ? position : -position - 1;
+    }
+    
+    private void ensureCapacity(int capacity) {
+        if (capacity > ordinals.length) {
+            ordinals = Arrays.copyOf(ordinals, Math.max(capacity, ordinals.length * 2));
+        }
+        if (frequencies == null) {
+            // hasil operasi himpunan tidak membawa frekuensi, isi dengan nilai bawaan
+            frequencies = new int[ordinals.length];
+            Arrays.fill(frequencies, 1);
+        } else if (frequencies.length < ordinals.length) {
+            frequencies = Arrays.copyOf(frequencies, ordinals.length);
+        }
+    }
+    
+    // operasi himpunan
+    public PostingList intersect(PostingList other) {
+        int[] result = new int[Math.min(size, other.size)];
+        int count = 0;
+        int i = 0;
+        int j = 0;
+        
+        while (i < size && j < other.size) {
+            int a = ordinals[i];
+            int b = other.ordinals[j];
+            if (a == b) {
+                result[count++] = a;
+                i++;
+                j++;
+            } else if (a < b) {
+                i++;
+            } else {
+                j++;
+            }
+        }
+        
+        return new PostingList(result, count);
+    }
+    
+    public PostingList union(PostingList other) {
+        int[] result = new int[size + other.size];
+        int count = 0;
+        int i = 0;
+        int j = 0;
+        
+        while (i < size || j < other.size) {
+            if (j >= other.size || (i < size && ordinals[i] < other.ordinals[j])) {
+                result[count++] = ordinals[i++];
+            } else if (i >= size || other.ordinals[j] < ordinals[i]) {
+                result[count++] = other.ordinals[j++];
+            } else {
+                result[count++] = ordinals[i];
+                i++;
+                j++;
+            }
+        }
+        
+        return new PostingList(result, count);
+    }
+    
+    public int[] toArray() {
+        return Arrays.copyOf(ordinals, size);
+    }
+    
+    @Override
+    public String toString() {
+        return "PostingList{" +
+                "size=" + size +
+                '}';
+    }
+}
\ No newline at end of file
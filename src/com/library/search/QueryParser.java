@@ -0,0 +1,84 @@
+package com.library.search;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Parser query terstruktur: klausa dipisah spasi, berbentuk field:nilai,
+ * field:"nilai berspasi", "frasa", atau kata biasa. Semua klausa digabung dengan AND.
+ * Awalan sebelum titik dua hanya dianggap field jika namanya dikenal, jadi teks seperti
+ * "Sapiens: A Brief History" tetap dicari sebagai kata biasa.
+ */
+public class QueryParser {
+    public static final Set<String> FIELDS = Collections.unmodifiableSet(new HashSet<>(Arrays.asList(
+            "title", "judul", "author", "pengarang", "publisher", "penerbit", "isbn",
+            "year", "tahun", "lang", "language", "bahasa", "format", "category", "kategori")));
+    
+    private QueryParser() {
+    }
+    
+    /**
+     * @param query teks query, misalnya author:pramoedya year:1980..1995 "bumi manusia"
+     * @return daftar klausa sesuai urutan kemunculan
+     * @throws IllegalArgumentException jika ada klausa yang nilainya kosong, misalnya year:
+     */
+    public static List<QueryTerm> parse(String query) {
+        List<QueryTerm> terms = new ArrayList<>();
+        if (query == null) {
+            return terms;
+        }
+        
+        int position = 0;
+        int length = query.length();
+        while (position < length) {
+            while (position < length && Character.isWhitespace(query.charAt(position))) {
+                position++;
+            }
+            if (position >= length) {
+                break;
+            }
+            
+            // nama field berupa huruf yang diikuti titik dua dan harus termasuk FIELDS
+            String field = null;
+            int fieldEnd = position;
+            while (fieldEnd < length && Character.isLetter(query.charAt(fieldEnd))) {
+                fieldEnd++;
+            }
+            if (fieldEnd > position && fieldEnd < length && query.charAt(fieldEnd) == ':') {
+                String name = query.substring(position, fieldEnd).toLowerCase();
+                if (FIELDS.contains(name)) {
+                    field = name;
+                    position = fieldEnd + 1;
+                }
+            }
+            
+            QueryTerm term;
+            if (position < length && query.charAt(position) == '"') {
+                int closing = query.indexOf('"', position + 1);
+                int end = closing >= 0 ? closing : length;
+                term = new QueryTerm(field, query.substring(position + 1, end), true);
+                position = closing >= 0 ? closing + 1 : length;
+            } else {
+                int end = position;
+                while (end < length && !Character.isWhitespace(query.charAt(end))) {
+                    end++;
+                }
+                term = new QueryTerm(field, query.substring(position, end), false);
+                position = end;
+            }
+            
+            if (term.getValue().trim().isEmpty()) {
+                throw new IllegalArgumentException(field != null
+                        ? "Nilai untuk field " + field + " kosong"
+                        : "Frasa kosong dalam query");
+            }
+            terms.add(term);
+        }
+        
+        return terms;
+    }
+}
\ No newline at end of file
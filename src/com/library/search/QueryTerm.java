@@ -0,0 +1,37 @@
+package com.library.search;
+
+/**
+ * Satu klausa hasil parsing query terstruktur, misalnya author:pramoedya
+ * atau frasa "bumi manusia". Field bernilai null untuk klausa tanpa field.
+ */
+public class QueryTerm {
+    private String field;
+    private String value;
+    private boolean phrase;
+    
+    // konstruktor
+    public QueryTerm(String field, String value, boolean phrase) {
+        this.field = field;
+        this.value = value;
+        this.phrase = phrase;
+    }
+    
+    // getters
+    public String getField() {
+        return field;
+    }
+    
+    public String getValue() {
+        return value;
+    }
+    
+    public boolean isPhrase() {
+        return phrase;
+    }
+    
+    @Override
+    public String toString() {
+        String quoted = phrase ? "\"" + value + "\"" : value;
+        return field != null ? field + ":" + quoted : quoted;
+    }
+}
\ No newline at end of file
@@ -0,0 +1,203 @@
+package com.library.search;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Cache hasil pencarian berukuran tetap dengan urutan LRU dan admission TinyLFU.
+ * Setiap entri dicap dengan epoch mutasi katalog saat dibuat; entri yang epoch-nya
+ * sudah berbeda dianggap basi dan dibuang saat diakses, tanpa perlu flush seluruh cache.
+ */
+public class SearchCache<V> {
+    private final int capacity;
+    private final LinkedHashMap<String, Entry<V>> entries;
+    private final FrequencySketch sketch;
+    private long hitCount;
+    private long missCount;
+    private long staleCount;
+    private long evictionCount;
+    private long rejectedCount;
+    
+    // konstruktor
+    public SearchCache(int capacity) {
+        if (capacity <= 0) {
+            throw new IllegalArgumentException("Kapasitas cache harus lebih dari 0");
+        }
+        this.capacity = capacity;
+        this.entries = new LinkedHashMap<>(16, 0.75f, true);
+        this.sketch = new FrequencySketch(capacity);
+    }
+    
+    // getters
+    public int getCapacity() {
+        return capacity;
+    }
+    
+    public int size() {
+        return entries.size();
+    }
+    
+    public long getHitCount() {
+        return hitCount;
+    }
+    
+    public long getMissCount() {
+        return missCount;
+    }
+    
+    public long getStaleCount() {
+        return staleCount;
+    }
+    
+    public long getEvictionCount() {
+        return evictionCount;
+    }
+    
+    public long getRejectedCount() {
+        return rejectedCount;
+    }
+    
+    public double getHitRate() {
+        long requests = hitCount + missCount;
+        return requests == 0 ? 0.0 : (double) hitCount / requests;
+    }
+    
+    /**
+     * @param key query yang sudah dinormalisasi
+     * @param epoch epoch mutasi katalog saat ini
+     * @return hasil yang masih berlaku, atau null jika tidak ada/basi
+     */
+    public V get(String key, long epoch) {
+        sketch.increment(key);
+        Entry<V> entry = entries.get(key);
+        if (entry == null) {
+            missCount++;
+            return null;
+        }
+        if (entry.epoch != epoch) {
+            entries.remove(key);
+            staleCount++;
+            missCount++;
+            return null;
+        }
+        hitCount++;
+        return entry.value;
+    }
+    
+    // mutator
+    public void put(String key, long epoch, V value) {
+        if (entries.size() >= capacity && !entries.containsKey(key)) {
+            Iterator<Map.Entry<String, Entry<V>>> eldest = entries.entrySet().iterator();
+            Map.Entry<String, Entry<V>> victim = eldest.next();
+            // entri basi selalu boleh digusur; selain itu query baru harus lebih sering dari korban LRU
+            if (victim.getValue().epoch == epoch && sketch.frequency(key) <= sketch.frequency(victim.getKey())) {
+                rejectedCount++;
+                return;
+            }
+            eldest.remove();
+            evictionCount++;
+        }
+        entries.put(key, new Entry<>(epoch, value));
+    }
+    
+    public void clear() {
+        entries.clear();
+    }
+    
+    public void resetStatistics() {
+        hitCount = 0;
+        missCount = 0;
+        staleCount = 0;
+        evictionCount = 0;
+        rejectedCount = 0;
+    }
+    
+    @Override
+    public String toString() {
+        return "SearchCache{" +
+                "size=" + entries.size() +
+                ", capacity=" + capacity +
+                ", hits=" + hitCount +
+                ", misses=" + missCount +
+                ", stale=" + staleCount +
+                ", evictions=" + evictionCount +
+                ", rejected=" + rejectedCount +
+                ", hitRate=" + String.format("%.1f%%", getHitRate() * 100) +
+                '}';
+    }
+    
+    private static class Entry<V> {
+        private final long epoch;
+        private final V value;
+        
+        Entry(long epoch, V value) {
+            this.epoch = epoch;
+            this.value = value;
+        }
+    }
+    
+    /**
+     * Count-min sketch kecil untuk memperkirakan frekuensi query akhir-akhir ini.
+     * Semua counter dibagi dua secara berkala agar query lama tidak mendominasi.
+     */
+    private static class FrequencySketch {
+        private static final int DEPTH = 4;
+        private static final int MAX_COUNT = 15;
+        private static final int[] SEEDS = {0x9E3779B9, 0x85EBCA6B, 0xC2B2AE35, 0x27D4EB2F};
+        
+        private final int[] table;
+        private final int mask;
+        private final int sampleSize;
+        private int additions;
+        
+        FrequencySketch(int capacity) {
+            int width = Integer.highestOneBit(Math.max(capacity, 8) * 2 - 1) * 2;
+            this.table = new int[width * DEPTH];
+            this.mask = width - 1;
+            this.sampleSize = capacity * 10;
+        }
+        
+        void increment(String key) {
+            int hash = spread(key.hashCode());
+            boolean added = false;
+            for (int row = 0; row < DEPTH; row++) {
+                int index = indexOf(hash, row);
+                if (table[index] < MAX_COUNT) {
+                    table[index]++;
+                    added = true;
+                }
+            }
+            if (added && ++additions >= sampleSize) {
+                reset();
+            }
+        }
+        
+        int frequency(String key) {
+            int hash = spread(key.hashCode());
+            int min = MAX_COUNT;
+            for (int row = 0; row < DEPTH; row++) {
+                min = Math.min(min, table[indexOf(hash, row)]);
+            }
+            return min;
+        }
+        
+        private int indexOf(int hash, int row) {
+            int h = (hash ^ SEEDS[row]) * SEEDS[(row + 1) % DEPTH];
+            return row * (mask + 1) + ((h ^ (h >>> 16)) & mask);
+        }
+        
+        private void reset() {
+            for (int i = 0; i < table.length; i++) {
+                table[i] >>>= 1;
+            }
+            additions /= 2;
+        }
+        
+        private static int spread(int hash) {
+            hash ^= hash >>> 16;
+            hash *= 0x45D9F3B;
+            return hash ^ (hash >>> 16);
+        }
+    }
+}
\ No newline at end of file
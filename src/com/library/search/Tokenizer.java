@@ -0,0 +1,48 @@
+package com.library.search;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Utilitas normalisasi dan pemecahan teks menjadi token untuk indeks pencarian.
+ * Token adalah rangkaian huruf/angka berurutan dari teks yang sudah di-lowercase,
+ * sehingga hasilnya konsisten dengan pencocokan toLowerCase().contains().
+ */
+public class Tokenizer {
+    private Tokenizer() {
+    }
+    
+    public static String normalize(String text) {
+        return text == null ? "" : text.toLowerCase();
+    }
+    
+    public static boolean isTokenChar(char c) {
+        return Character.isLetterOrDigit(c);
+    }
+    
+    /**
+     * @param normalized teks yang sudah dinormalisasi
+     * @return daftar token sesuai urutan kemunculan
+     */
+    public static List<String> tokenize(String normalized) {
+        List<String> tokens = new ArrayList<>();
+        int start = -1;
+        
+        for (int i = 0; i < normalized.length(); i++) {
+            if (isTokenChar(normalized.charAt(i))) {
+                if (start < 0) {
+                    start = i;
+                }
+            } else if (start >= 0) {
+                tokens.add(normalized.substring(start, i));
+                start = -1;
+            }
+        }
+        
+        if (start >= 0) {
+            tokens.add(normalized.substring(start));
+        }
+        
+        return tokens;
+    }
+}
\ No newline at end of file
@@ -0,0 +1,185 @@
+package com.library.search;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Indeks trigram untuk pencarian substring ("contains") pada satu field teks.
+ * Setiap trigram dipetakan ke posting list ordinal buku, lalu kandidat hasil
+ * irisan diverifikasi dengan contains() sehingga semantiknya tetap persis sama.
+ *
+ * Unigram dan bigram ikut diindeks supaya query satu atau dua huruf (umum saat
+ * pengguna masih mengetik) cukup membaca satu posting list, bukan memindai semua teks.
+ */
+public class TrigramIndex {
+    private static final int GRAM_LENGTH = 3;
+    // penanda panjang di atas 48 bit karakter trigram, supaya kunci unigram/bigram tidak bentrok
+    private static final int LENGTH_SHIFT = 48;
+    
+    private Map<Long, PostingList> grams;
+    private List<String> texts;
+    
+    // konstruktor
+    public TrigramIndex() {
+        this.grams = new HashMap<>();
+        this.texts = new ArrayList<>();
+    }
+    
+    // getters
+    public int getGramCount() {
+        return grams.size();
+    }
+    
+    public String getText(int ordinal) {
+        return ordinal < texts.size() ? texts.get(ordinal) : null;
+    }
+    
+    // mutator
+    public void add(int ordinal, String normalizedText) {
+        while (texts.size() <= ordinal) {
+            texts.add(null);
+        }
+        texts.set(ordinal, normalizedText);
+        
+        for (long gram : indexedGrams(normalizedText)) {
+            grams.computeIfAbsent(gram, key -> new PostingList()).add(ordinal);
+        }
+    }
+    
+    public void remove(int ordinal, String normalizedText) {
+        if (ordinal < texts.size()) {
+            texts.set(ordinal, null);
+        }
+        
+        for (long gram : indexedGrams(normalizedText)) {
+            PostingList postings = grams.get(gram);
+            if (postings != null) {
+                postings.remove(ordinal);
+                if (postings.isEmpty()) {
+                    grams.remove(gram);
+                }
+            }
+        }
+    }
+    
+    public void clear() {
+        grams.clear();
+        texts.clear();
+    }
+    
+    /**
+     * @param normalizedQuery query yang sudah dinormalisasi
+     * @return ordinal yang teksnya memuat query, terurut naik
+     */
+    public PostingList search(String normalizedQuery) {
+        PostingList result = new PostingList();
+        PostingList candidates = candidates(normalizedQuery);
+        int total = candidates != null ? candidates.size() : texts.size();
+        for (int i = 0; i < total; i++) {
+            int ordinal = candidates != null ? candidates.get(i) : i;
+            if (matches(ordinal, normalizedQuery)) {
+                result.add(ordinal);
+            }
+        }
+        return result;
+    }
+    
+    /**
+     * Kandidat yang memuat semua trigram query; kandidat belum tentu cocok
+     * karena trigram yang sama belum tentu berurutan, verifikasi dengan matches().
+     *
+     * @return kandidat terurut naik, atau null jika query kosong
+     */
+    public PostingList candidates(String normalizedQuery) {
+        if (normalizedQuery.isEmpty()) {
+            return null;
+        }
+        if (normalizedQuery.length() < GRAM_LENGTH) {
+            PostingList postings = grams.get(shortGram(normalizedQuery, 0, normalizedQuery.length()));
+            return postings != null ? postings : new PostingList();
+        }
+        
+        List<PostingList> perGram = new ArrayList<>();
+        for (long gram : distinctGrams(normalizedQuery)) {
+            PostingList postings = grams.get(gram);
+            if (postings == null) {
+                return new PostingList();
+            }
+            perGram.add(postings);
+        }
+        
+        perGram.sort(Comparator.comparingInt(PostingList::size));
+        PostingList candidates = perGram.get(0);
+        for (int i = 1; i < perGram.size() && !candidates.isEmpty(); i++) {
+            candidates = candidates.intersect(perGram.get(i));
+        }
+        return candidates;
+    }
+    
+    public boolean matches(int ordinal, String normalizedQuery) {
+        String text = getText(ordinal);
+        return text != null && text.contains(normalizedQuery);
+    }
+    
+    /**
+     * Perkiraan jumlah hasil tanpa menjalankan pencarian: ukuran posting list
+     * trigram paling jarang dari query.
+     */
+    public int estimate(String normalizedQuery) {
+        if (normalizedQuery.isEmpty()) {
+            return texts.size();
+        }
+        if (normalizedQuery.length() < GRAM_LENGTH) {
+            PostingList postings = grams.get(shortGram(normalizedQuery, 0, normalizedQuery.length()));
+            return postings != null ? postings.size() : 0;
+        }
+        
+        int estimate = texts.size();
+        for (long gram : distinctGrams(normalizedQuery)) {
+            PostingList postings = grams.get(gram);
+            if (postings == null) {
+                return 0;
+            }
+            estimate = Math.min(estimate, postings.size());
+        }
+        return estimate;
+    }
+    
+    private static Set<Long> distinctGrams(String text) {
+        Set<Long> result = new HashSet<>();
+        for (int i = 0; i + GRAM_LENGTH <= text.length(); i++) {
+            result.add(((long) text.charAt(i) << 32) | ((long) text.charAt(i + 1) << 16) | text.charAt(i + 2));
+        }
+        return result;
+    }
+    
+    // trigram query ditambah semua unigram dan bigram teks
+    private static Set<Long> indexedGrams(String text) {
+        Set<Long> result = distinctGrams(text);
+        for (int i = 0; i < text.length(); i++) {
+            result.add(shortGram(text, i, 1));
+            if (i + 2 <= text.length()) {
+                result.add(shortGram(text, i, 2));
+            }
+        }
+        return result;
+    }
+    
+    private static long shortGram(String text, int start, int length) {
+        long chars = length == 1 ? text.charAt(start) : ((long) text.charAt(start) << 16) | text.charAt(start + 1);
+        return ((long) length << LENGTH_SHIFT) | chars;
+    }
+    
+    @Override
+    public String toString() {
+        return "TrigramIndex{" +
+                "grams=" + grams.size() +
+                ", texts=" + texts.size() +
+                '}';
+    }
+}
\ No newline at end of file
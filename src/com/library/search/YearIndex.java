@@ -0,0 +1,145 @@
+package com.library.search;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Indeks tahun terbit untuk pertanyaan rentang ("terbit 1990..2005") dan hitungan per dekade.
+ * Ordinal dikelompokkan per tahun; saat dibaca, kelompok tersebut disusun ulang secara
+ * counting sort menjadi satu array ordinal terurut menurut tahun beserta prefix count,
+ * sehingga rentang dijawab dengan dua binary search lalu potongan array (O(log n + k)).
+ * Susunan ulang hanya dilakukan sekali setelah ada perubahan.
+ */
+public class YearIndex {
+    private Map<Integer, PostingList> buckets;
+    private int size;
+    
+    // hasil counting sort, dibangun ulang jika dirty
+    private int[] years;
+    private int[] offsets;
+    private int[] sortedOrdinals;
+    private boolean dirty;
+    
+    // konstruktor
+    public YearIndex() {
+        this.buckets = new HashMap<>();
+        this.size = 0;
+        this.years = new int[0];
+        this.offsets = new int[] {0};
+        this.sortedOrdinals = new int[0];
+        this.dirty = false;
+    }
+    
+    // getters
+    public int size() {
+        return size;
+    }
+    
+    // mutator
+    public void add(int ordinal, int year) {
+        PostingList postings = buckets.computeIfAbsent(year, key -> new PostingList());
+        if (!postings.contains(ordinal)) {
+            postings.add(ordinal);
+            size++;
+            dirty = true;
+        }
+    }
+    
+    public void remove(int ordinal, int year) {
+        PostingList postings = buckets.get(year);
+        if (postings != null && postings.remove(ordinal)) {
+            if (postings.isEmpty()) {
+                buckets.remove(year);
+            }
+            size--;
+            dirty = true;
+        }
+    }
+    
+    public void clear() {
+        buckets.clear();
+        size = 0;
+        dirty = true;
+    }
+    
+    /**
+     * @return jumlah buku dengan tahun terbit dalam [from, to]
+     */
+    public int count(int from, int to) {
+        ensureSorted();
+        return Math.max(0, offsets[upperBound(to)] - offsets[lowerBound(from)]);
+    }
+    
+    /**
+     * @return ordinal buku dengan tahun terbit dalam [from, to], terurut menurut tahun lalu ordinal
+     */
+    public int[] range(int from, int to) {
+        ensureSorted();
+        int start = offsets[lowerBound(from)];
+        int end = offsets[upperBound(to)];
+        return start < end ? Arrays.copyOfRange(sortedOrdinals, start, end) : new int[0];
+    }
+    
+    /**
+     * @return jumlah buku per dekade (1980, 1990, ...), terurut naik
+     */
+    public Map<Integer, Integer> countsByDecade() {
+        ensureSorted();
+        Map<Integer, Integer> result = new LinkedHashMap<>();
+        for (int i = 0; i < years.length; i++) {
+            result.merge(Math.floorDiv(years[i], 10) * 10, offsets[i + 1] - offsets[i], Integer::sum);
+        }
+        return result;
+    }
+    
+    private void ensureSorted() {
+        if (!dirty) {
+            return;
+        }
+        
+        years = new int[buckets.size()];
+        int count = 0;
+        for (int year : buckets.keySet()) {
+            years[count++] = year;
+        }
+        Arrays.sort(years);
+        
+        // prefix count per tahun, lalu setiap kelompok disalin ke posisinya
+        offsets = new int[years.length + 1];
+        sortedOrdinals = new int[size];
+        for (int i = 0; i < years.length; i++) {
+            PostingList postings = buckets.get(years[i]);
+            offsets[i + 1] = offsets[i] + postings.size();
+            for (int j = 0; j < postings.size(); j++) {
+                sortedOrdinals[offsets[i] + j] = postings.get(j);
+            }
+        }
+        dirty = false;
+    }
+    
+    /**
+     * @return indeks tahun pertama yang >= year
+     */
+    private int lowerBound(int year) {
+        int position = Arrays.binarySearch(years, year);
+        return position >= 0 ? position : -position - 1;
+    }
+    
+    /**
+     * @return indeks tahun pertama yang > year
+     */
+    private int upperBound(int year) {
+        int position = Arrays.binarySearch(years, year);
+        return position >= 0 ? position + 1 : -position - 1;
+    }
+    
+    @Override
+    public String toString() {
+        return "YearIndex{" +
+                "books=" + size +
+                ", years=" + buckets.size() +
+                '}';
+    }
+}
\ No newline at end of file